@@ -1,6 +1,5 @@
 package io.kaoto.backend.api.resource.v1;
 
-import io.kaoto.backend.api.resource.v1.model.Capabilities;
 import io.kaoto.backend.api.service.language.LanguageService;
 import io.kaoto.backend.deployment.ClusterService;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -12,9 +11,11 @@ import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
@@ -55,6 +56,9 @@ public class CapabilitiesResource {
      * 🐱method getAll: Capabilities
      *
      * Returns information of all the supported capabilities.
+     *
+     * The response is precomputed and carries an ETag, so clients can
+     * revalidate with If-None-Match.
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
@@ -62,10 +66,12 @@ public class CapabilitiesResource {
     @Operation(summary = "Get Languages",
             description = "Returns a list of all potential supported "
                     + "languages.")
-    public Capabilities getAll() {
-        Capabilities capabilities = new Capabilities();
-        capabilities.setDsls(languageService.getAll());
-        return capabilities;
+    public Response getAll(
+            final @Parameter(hidden = true)
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            final @Parameter(hidden = true)
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        return languageService.getCapabilities().toResponse(ifNoneMatch, acceptEncoding);
     }
 
     @GET
@@ -92,9 +98,15 @@ public class CapabilitiesResource {
     @Path("/{dsl}/schema/")
     @Operation(summary = "Get validation schema for particular dsl",
             description = "Returns a validation schema of specified DSL if exists. If not empty string is returned.")
-    public String getValidationSchema(
-            @Parameter (description = "Target DSL for the validation schema") @PathParam("dsl") String dsl) {
-        return languageService.getValidationSchema(dsl);
+    public Response getValidationSchema(
+            @Parameter (description = "Target DSL for the validation schema") @PathParam("dsl") String dsl,
+            final @Parameter(hidden = true)
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            final @Parameter(hidden = true)
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        return languageService.getValidationSchemaResponse(dsl)
+                .map(schema -> schema.toResponse(ifNoneMatch, acceptEncoding))
+                .orElseGet(() -> Response.ok("", MediaType.APPLICATION_JSON_TYPE).build());
     }
 
 
@@ -1,13 +1,15 @@
 package io.kaoto.backend.api.resource.v1;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.CustomResource;
+import io.kaoto.backend.api.resource.v1.model.DeploymentSummary;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletRepresenter;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import io.kaoto.backend.deployment.ClusterService;
 import io.kaoto.backend.model.deployment.Deployment;
+import io.kaoto.backend.model.deployment.DeploymentEvent;
+import io.kaoto.backend.model.deployment.DeploymentResult;
 import io.smallrye.common.annotation.Blocking;
 import io.smallrye.mutiny.Multi;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -15,15 +17,17 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.jboss.logging.Logger;
 import org.jboss.resteasy.reactive.NoCache;
+import org.jboss.resteasy.reactive.RestMediaType;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import javax.ws.rs.ClientErrorException;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.POST;
@@ -33,6 +37,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -45,6 +50,9 @@ import java.util.List;
 @ApplicationScoped
 public class DeploymentsResource {
 
+    private static final String CONTINUE = "Continue";
+    private static final int DEFAULT_LIMIT = 100;
+
     private Logger log = Logger.getLogger(DeploymentsResource.class);
     private ClusterService clusterService;
     private Instance<DeploymentGeneratorService> parsers;
@@ -63,19 +71,67 @@ public class DeploymentsResource {
     /*
      * 🐱method all: String
      * 🐱param namespace: String
+     * 🐱param limit: Integer
+     * 🐱param continueToken: String
+     * 🐱param summary: boolean
      *
-     * Returns the list of all resources
+     * Returns the list of all resources, or a page of them if there is a
+     * limit. The token for the next page is on the Continue header.
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/")
     @Operation(summary = "Get all Resources",
-            description = "Returns all the resources on the cluster.")
-    public List<Deployment> all(
+            description = "Returns all the resources on the cluster. With a limit, returns a page of them and, if"
+                    + " there are more, the Continue header with the token to ask for the next page.")
+    public Response all(
             final @Parameter(description = "Namespace of the cluster where "
                     + "the resources are running.")
+            @QueryParam("namespace") String namespace,
+            final @Parameter(description = "Maximum number of resources to return.")
+            @QueryParam("limit") Integer limit,
+            final @Parameter(description = "Token of the page to return, from the Continue header of the previous"
+                    + " page.")
+            @QueryParam("continue") String continueToken,
+            final @Parameter(description = "Return only the name, type and status of each resource.")
+            @QueryParam("summary") boolean summary) {
+        final List<Deployment> deployments;
+        String next = null;
+        if (limit == null && (continueToken == null || continueToken.isBlank())) {
+            deployments = clusterService.getResources(namespace);
+        } else {
+            final var page = clusterService.getResources(namespace, limit == null ? DEFAULT_LIMIT : limit,
+                    continueToken);
+            deployments = page.items();
+            next = page.next();
+        }
+
+        final Object entity = summary ? deployments.stream().map(DeploymentSummary::of).toList() : deployments;
+        final var response = Response.ok(entity, MediaType.APPLICATION_JSON_TYPE);
+        if (next != null) {
+            response.header(CONTINUE, next);
+        }
+        return response.build();
+    }
+
+    /*
+     * 🐱method watch: DeploymentEvent[]
+     * 🐱param namespace: String
+     *
+     * Streams the changes on the status of the resources.
+     */
+    @GET
+    @NoCache
+    @Path("/watch")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Watch Resources",
+            description = "Sends an event each time a resource appears, changes its status or is removed. Starts"
+                    + " with one event for each of the resources already on the cluster.")
+    public Multi<DeploymentEvent> watch(
+            final @Parameter(description = "Namespace of the cluster where the resources are running.")
             @QueryParam("namespace") String namespace) {
-        return clusterService.getResources(namespace);
+        return clusterService.watch(namespace);
     }
 
     /*
@@ -102,39 +158,63 @@ public class DeploymentsResource {
                     + "we want to deploy it.")
             @QueryParam("namespace") String namespace) {
 
-        String securedcrd = securityCheck(crd);
-        clusterService.start(securedcrd, namespace);
-        return securedcrd;
+        CustomResource resource = securityCheck(crd);
+        if (!clusterService.deploy(resource, namespace)) {
+            throw new IllegalArgumentException("The provided CRD is invalid or not supported.");
+        }
+        return crd;
     }
 
-    private String securityCheck(final String crd) {
-
-        ObjectMapper yamlMapper =
-                new ObjectMapper(new YAMLFactory())
-                    .configure(
-                            DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
-                            false);
+    /*
+     * 🐱method startAll: DeploymentResult[]
+     * 🐱param crds: String
+     * 🐱param namespace: String
+     * 🐱param force: boolean
+     *
+     * Deploys all the CRDs provided, one per yaml document.
+     */
+    @POST
+    @Consumes("text/yaml")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Path("/")
+    @Operation(summary = "Start many",
+            description = "Deploy and start all the CRDs of the yaml, one per document, on the cluster. The ones"
+                    + " that already exist are updated. Results are streamed, one per line, as soon as each CRD is"
+                    + " applied, with the index of the document they answer.")
+    public Multi<DeploymentResult> startAll(
+            final @RequestBody String crds,
+            final @Parameter(description = "Namespace of the cluster where we want to deploy them.")
+            @QueryParam("namespace") String namespace,
+            final @Parameter(description = "Take over the fields other managers own on the existing resources,"
+                    + " instead of failing with a conflict.")
+            @QueryParam("force") @DefaultValue("false") boolean force) {
+        return clusterService.deployAll(crds, namespace, force);
+    }
 
-        boolean valid = false;
-        for (var parser : parsers) {
-            for (Class<? extends CustomResource> c
-                    : parser.supportedCustomResources()) {
-                try {
-                    yamlMapper.readValue(crd, c);
-                    valid = true;
-                } catch (Exception e) {
-                    log.trace("We tried to parse with " + c.getName() + " and"
-                            + " it didn't work.");
+    /*
+     * The apiVersion and kind of the resource tell us which of the supported
+     * custom resources it should be, so it is only converted once.
+     */
+    private CustomResource securityCheck(final String crd) {
+        try {
+            final var tree = Serialization.readYamlTree(crd);
+            final var apiVersion = tree.path("apiVersion").asText();
+            final var kind = tree.path("kind").asText();
+            for (var parser : parsers) {
+                for (Class<? extends CustomResource> c : parser.supportedCustomResources()) {
+                    if (kind.equals(HasMetadata.getKind(c)) && apiVersion.equals(HasMetadata.getApiVersion(c))) {
+                        return Serialization.readYaml(tree, c);
+                    }
                 }
             }
+            log.trace("There is no supported custom resource " + apiVersion + "/" + kind);
+        } catch (IOException e) {
+            log.trace("The custom resource sent is not valid.", e);
         }
 
-        if (!valid) {
-            throw new IllegalArgumentException("Couldn't understand the yaml "
-                    + "sent. Check the syntax and try again.");
-        }
-
-        return crd;
+        throw new IllegalArgumentException("Couldn't understand the yaml "
+                + "sent. Check the syntax and try again.");
     }
 
     /*
@@ -166,9 +246,7 @@ public class DeploymentsResource {
             for (Class<? extends CustomResource> c
                     : parser.supportedCustomResources()) {
                 try {
-                    Yaml yaml = new Yaml(new Constructor(c),
-                            new KameletRepresenter());
-                    return yaml.dumpAsMap(cr);
+                    return KameletRepresenter.getDumper().dumpAsMap(cr);
                 } catch (Exception e) {
                     log.trace("We tried to parse with " + c.getName() + " and"
                             + " it didn't work.");
@@ -203,6 +281,30 @@ public class DeploymentsResource {
     }
 
 
+    /*
+     * 🐱method stopAll: DeploymentResult[]
+     * 🐱param names: String[]
+     * 🐱param type: String
+     * 🐱param namespace: String
+     *
+     * Stops and deletes all the running resources with the given names
+     */
+    @DELETE
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Path("/")
+    @Operation(summary = "Stop/Remove many",
+            description = "Remove all the resources identified by the names. Results are streamed, one per line,"
+                    + " with the index of the name they answer.")
+    public Multi<DeploymentResult> stopAll(
+            final @Parameter(description = "Names of the resources to remove.") @QueryParam("name")
+            List<String> names,
+            final @Parameter(description = "Type of the resources to remove") @QueryParam("type") String type,
+            final @Parameter(description = "Namespace of the cluster where the resources are running.")
+            @QueryParam("namespace") String namespace) {
+        return clusterService.stopAll(names, namespace, type);
+    }
+
     /*
      * 🐱method logs: String
      * 🐱param name: String
@@ -241,6 +343,16 @@ public class DeploymentsResource {
                 .build();
     }
 
+    @ServerExceptionMapper
+    public Response mapException(final ClientErrorException x) {
+        log.warn("Error processing deployment: " + x.getMessage());
+
+        return Response.status(x.getResponse().getStatus())
+                .entity("Error processing deployment: " + x.getMessage())
+                .type(MediaType.TEXT_PLAIN_TYPE)
+                .build();
+    }
+
     @ServerExceptionMapper
     public Response mapException(final NotFoundException x) {
         log.error("Error processing deployment.", x);
@@ -1,15 +1,22 @@
 package io.kaoto.backend.api.resource.v1;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.kaoto.backend.api.resource.v1.model.BatchResult;
 import io.kaoto.backend.api.resource.v1.model.Integration;
 import io.kaoto.backend.api.service.deployment.DeploymentService;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 import io.kaoto.backend.api.service.language.LanguageService;
-import io.kaoto.backend.api.service.step.parser.StepParserService;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import io.kaoto.backend.model.step.Step;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.RestMediaType;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -22,6 +29,10 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -46,12 +57,6 @@ public class IntegrationsResource {
     }
     private DeploymentService deploymentService;
 
-    @Inject
-    public void setStepParserServices(final Instance<StepParserService<Step>> stepParserServices) {
-        this.stepParserServices = stepParserServices;
-    }
-    private Instance<StepParserService<Step>> stepParserServices;
-
     @Inject
     public void setParsers(final Instance<DeploymentGeneratorService> services) {
         this.deploymentGeneratorServices = services;
@@ -107,49 +112,73 @@ public class IntegrationsResource {
             final @Parameter(description = "DSL to use. For example: "
                     + "'Kamelet Binding'.")
             @QueryParam("dsl") String dsl) {
-        Integration integration = new Integration();
-
-        boolean found = false;
-        for (StepParserService<Step> stepParserService : stepParserServices) {
-            try {
-                if (stepParserService.identifier().equalsIgnoreCase(dsl) && stepParserService.appliesTo(crd)) {
-                    var parsed = stepParserService.deepParse(crd);
-                    integration.setSteps(parsed.getSteps());
-                    integration.setMetadata(parsed.getMetadata());
-                    integration.setParameters(parsed.getParameters());
-                    integration.setDsl(dsl);
-                    found = true;
-                    break;
-                }
-            } catch (Exception e) {
-                log.warn("Parser " + stepParserService.getClass() + "threw an unexpected error.", e);
-            }
-        }
-
-        if (!found) {
-            for (var stepParserService : stepParserServices) {
-                try {
-                    if (stepParserService.appliesTo(crd)) {
-                        var parsed = stepParserService.deepParse(crd);
-                        integration.setSteps(parsed.getSteps());
-                        integration.setMetadata(parsed.getMetadata());
-                        integration.setParameters(parsed.getParameters());
-                        integration.setDsl(stepParserService.identifier());
-                        log.warn("Gurl, the DSL you gave me is so wrong. This is a " + stepParserService.identifier()
-                                + " not a " + dsl);
-                        break;
-                    }
-                } catch (Exception e) {
-                    log.warn("Parser " + stepParserService.getClass()
-                            + "threw an unexpected error.", e);
-                }
-            }
+        //Read it only once, each parser just needs to check its shape
+        final JsonNode tree;
+        try {
+            tree = Serialization.readYamlTree(crd);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Couldn't understand the yaml sent. Check the syntax and try again.", e);
         }
 
-        return integration;
+        return deploymentService.integration(tree, dsl);
     }
 
+    /*
+     * 🐱method flows: Integration[]
+     * 🐱param dsl: String
+     * 🐱param id: String
+     * 🐱param input: InputStream
+     *
+     * Idempotent operation that, given a yaml with one or more flows, like a
+     * Camel Route, returns a stream with the integration of each flow, or
+     * only the one with the given id.
+     *
+     */
+    @POST
+    @Consumes("text/yaml")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Path("/flows")
+    @Operation(summary = "Get the Integration Object of each flow",
+            description = "Given a yaml with one or more flows, returns the JSON object of each one, one per line,"
+                    + " as the yaml is read. This is an idempotent operation.")
+    @Blocking
+    public Multi<Integration> flows(
+            final @RequestBody InputStream input,
+            final @Parameter(description = "DSL of the yaml. For example: 'Camel Route'.")
+            @QueryParam("dsl") String dsl,
+            final @Parameter(description = "Identifier of the only flow to return.")
+            @QueryParam("id") String id) {
+        return deploymentService.flows(new InputStreamReader(input, StandardCharsets.UTF_8), dsl, id);
+    }
 
+    /*
+     * 🐱method batch: BatchResult[]
+     * 🐱param dsl: String
+     * 🐱param input: InputStream
+     *
+     * Idempotent operation that, given a stream of integrations and CRDs,
+     * one per line, returns a stream with the result of each one of them.
+     *
+     */
+    @POST
+    @Consumes(RestMediaType.APPLICATION_NDJSON)
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Path("/batch")
+    @Operation(summary = "Batch of CRDs and Integration Objects",
+            description = "Each line of the request is either an integration, to get its custom resource definition,"
+                    + " or the custom resource definition as a JSON string, to get its integration. Results are"
+                    + " streamed, one per line, as soon as they are ready, with the index of the line they answer."
+                    + " This is an idempotent operation.")
+    @Blocking
+    public Multi<BatchResult> batch(
+            final @RequestBody InputStream input,
+            final @Parameter(description = "DSL to use when the integration doesn't say. For example: "
+                    + "'Kamelet Binding'.")
+            @QueryParam("dsl") String dsl) {
+        return deploymentService.batch(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), dsl);
+    }
 
     /*
      * 🐱method compatibleDSL: Map
@@ -1,15 +1,17 @@
 package io.kaoto.backend.api.resource.v1;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kaoto.backend.model.jsonviews.Views;
 import io.kaoto.backend.api.service.deployment.DeploymentService;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.step.StepResponseCache;
 import io.kaoto.backend.api.service.step.StepService;
 import io.kaoto.backend.model.Metadata;
 import io.kaoto.backend.model.step.Step;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.api.trace.Span;
-import io.quarkus.vertx.http.Compressed;
 import org.eclipse.microprofile.openapi.annotations.OpenAPIDefinition;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.info.Contact;
@@ -21,16 +23,23 @@ import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
  * 🐱class StepResource
@@ -76,6 +85,18 @@ public class StepResource {
     }
     private MeterRegistry registry;
 
+    @Inject
+    public void setResponseCache(final StepResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+    private StepResponseCache responseCache;
+
+    @Inject
+    public void setObjectMapper(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    private ObjectMapper objectMapper;
+
     /*
      * 🐱method allSteps : List[Step]
      * 🐱param type: String
@@ -85,15 +106,16 @@ public class StepResource {
      * Returns all the steps. If parameters are included in the query, it
      * will filter only those steps compatible with the constraints.
      *
+     * Responses are cached until the catalog changes and carry an ETag, so
+     * clients can revalidate with If-None-Match.
+     *
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    @JsonView(Views.Summary.class)
     @Operation(summary = "Get all steps",
             description = "Returns all the available steps that can be added"
                     + " to the integration.")
-    @Compressed
-    public Collection<Step> all(
+    public Response allSteps(
             final @Parameter(description = "Filter by Domain Specific Language (DSL). "
                     + "Examples: 'KameletBinding' 'KameletBinding,Kamelet'")
             @QueryParam("dsl") String dsl,
@@ -108,60 +130,106 @@ public class StepResource {
             final @Parameter(description = "Provides context: previous step, if exists.")
             @QueryParam("previous-step") String previousStep,
             final @Parameter(description = "Provides context: following step, if exists.")
-            @QueryParam("following-step") String followingStep) {
-        final var allSteps = stepService.allSteps();
-        var steps = allSteps.stream().sorted(Comparator.comparing(Metadata::getId));
+            @QueryParam("following-step") String followingStep,
+            final @Parameter(hidden = true)
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            final @Parameter(hidden = true)
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        final var key = new StepResponseCache.Key(normalizeFilter(dsl), normalizeFilter(type), normalizeFilter(kind),
+                start != null && start > 0 ? start : null, limit != null && limit > 0 ? limit : null,
+                previousStep, followingStep);
+
+        //Whatever the cache does, every request is traced with its filters
         Span span = Span.current();
-        if (span != null) {
-            span.setAttribute("steps.total", allSteps.size());
-            span.setAttribute("steps.dsl", dsl);
-            span.setAttribute("steps.type", type);
-            span.setAttribute("steps.kind", kind);
-            span.setAttribute("steps.limit", limit != null ? limit.toString() : "null");
-            span.setAttribute("steps.start", start != null ? start.toString() : "null");
-            registry.gauge("steps", allSteps.size());
-        }
+        span.setAttribute("steps.dsl", dsl);
+        span.setAttribute("steps.type", type);
+        span.setAttribute("steps.kind", kind);
+        span.setAttribute("steps.limit", limit != null ? limit.toString() : "null");
+        span.setAttribute("steps.start", start != null ? start.toString() : "null");
 
-        if (start != null && start > 0) {
-            steps = steps.skip(start);
-        }
+        final var built = new AtomicBoolean();
+        final var cached = responseCache.get(stepService::catalogGeneration, key, () -> {
+            built.set(true);
+            try {
+                return objectMapper.writerWithView(Views.Summary.class).writeValueAsBytes(
+                        all(dsl, type, kind, limit, start, previousStep, followingStep));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Couldn't serialize the steps.", e);
+            }
+        });
+        span.setAttribute("steps.cached", !built.get());
 
-        if (limit != null && limit > 0) {
-            steps = steps.limit(limit);
-        }
+        return cached.toResponse(ifNoneMatch, acceptEncoding);
+    }
 
-        steps = steps.parallel();
+    /*
+     * 🐱method all : List[Step]
+     * 🐱param type: String
+     * 🐱param dsl: String
+     * 🐱param kind: String
+     *
+     * Computes the list of steps compatible with the constraints, without
+     * going through the response cache.
+     *
+     */
+    public Collection<Step> all(final String dsl, final String type, final String kind, final Long limit,
+                                final Long start, final String previousStep, final String followingStep) {
+        final var types = splitFilter(type);
+        var kinds = splitFilter(kind);
 
         //DSL first because it is usually the parameter we will use
-        if (dsl != null && !dsl.isEmpty()) {
-            final var dgsStream = deploymentService.getParsers().stream().parallel()
-                    .filter(s ->
-                            Arrays.stream(dsl.split(",")).anyMatch(it -> it.equalsIgnoreCase(s.identifier())))
+        List<DeploymentGeneratorService> dgsList = Collections.emptyList();
+        final var dsls = splitFilter(dsl);
+        if (dsls != null) {
+            dgsList = deploymentService.getParsers().stream()
+                    .filter(s -> dsls.contains(s.identifier().toLowerCase(Locale.ROOT)))
                     .toList();
 
-            //First take all the kinds from the parameter list given
-            List<String> kinds =
-                    dgsStream.parallelStream()
-                            .map(DeploymentGeneratorService::getKinds).flatMap(Collection::stream).toList();
-            //And now we can filter by the kinds
-            steps = steps.filter(step -> kinds.stream().anyMatch(s -> s.equalsIgnoreCase(step.getKind())));
-
-            //And give context based on previous and following step, depending on the DSL
-            for (var dgs : dgsStream) {
-                steps = dgs.filterCatalog(previousStep, followingStep, steps);
+            //Take all the kinds from the DSL list given and combine them with the kind parameter
+            final Set<String> dslKinds = dgsList.stream()
+                    .map(DeploymentGeneratorService::getKinds).flatMap(Collection::stream)
+                    .map(k -> k.toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            if (kinds != null) {
+                dslKinds.retainAll(kinds);
             }
+            kinds = dslKinds;
+        }
+
+        //Start from the most restrictive index available
+        final Collection<Step> candidates;
+        if (kinds != null) {
+            candidates = stepService.stepsByKind(kinds);
+        } else if (types != null) {
+            candidates = stepService.stepsByType(types);
+        } else {
+            candidates = stepService.allSteps();
+        }
+
+        Span span = Span.current();
+        if (span != null) {
+            span.setAttribute("steps.total", candidates.size());
+            registry.gauge("steps", candidates.size());
         }
 
-        //This may remove one third of the options
-        if (type != null && !type.isEmpty()) {
-            steps = steps.filter(step -> Arrays.stream(type.split(","))
-                    .anyMatch(t -> t.equalsIgnoreCase(step.getType())));
+        var steps = candidates.stream();
+        if (kinds != null && types != null) {
+            steps = steps.filter(step -> step.getType() != null
+                    && types.contains(step.getType().toLowerCase(Locale.ROOT)));
         }
+        steps = steps.sorted(Comparator.comparing(Metadata::getId));
 
-        //kind is the less filtering parameter
-        if (kind != null && !kind.isEmpty()) {
-            steps = steps.filter(step -> Arrays.stream(kind.split(","))
-                    .anyMatch(k -> k.equalsIgnoreCase(step.getKind())));
+        //And give context based on previous and following step, depending on the DSL
+        for (var dgs : dgsList) {
+            steps = dgs.filterCatalog(previousStep, followingStep, steps);
+        }
+
+        if (start != null && start > 0) {
+            steps = steps.skip(start);
+        }
+
+        if (limit != null && limit > 0) {
+            steps = steps.limit(limit);
         }
 
         final var result = steps.toList();
@@ -171,6 +239,23 @@ public class StepResource {
         return result;
     }
 
+    private String normalizeFilter(final String filter) {
+        final var values = splitFilter(filter);
+        if (values == null) {
+            return null;
+        }
+        return values.stream().sorted().collect(Collectors.joining(","));
+    }
+
+    private Set<String> splitFilter(final String filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        return Arrays.stream(filter.split(","))
+                .map(f -> f.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
 
     /*
      * 🐱method stepById : Step
@@ -0,0 +1,29 @@
+package io.kaoto.backend.api.resource.v1.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 🐱miniclass BatchResult (IntegrationsResource)
+ *
+ * 🐱section
+ * Result of one of the documents of a batch. The index is the position of
+ * the document on the batch, as results are sent as soon as they are ready
+ * and may not keep the order of the batch.
+ *
+ * Only one of crd, integration or error is present.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult(long index, String crd, Integration integration, String error) {
+
+    public static BatchResult generated(final long index, final String crd) {
+        return new BatchResult(index, crd, null, null);
+    }
+
+    public static BatchResult parsed(final long index, final Integration integration) {
+        return new BatchResult(index, null, integration, null);
+    }
+
+    public static BatchResult failed(final long index, final String error) {
+        return new BatchResult(index, null, null, error);
+    }
+}
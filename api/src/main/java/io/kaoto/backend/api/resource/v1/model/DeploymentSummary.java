@@ -0,0 +1,16 @@
+package io.kaoto.backend.api.resource.v1.model;
+
+import io.kaoto.backend.model.deployment.Deployment;
+
+/**
+ * 🐱miniclass DeploymentSummary (DeploymentsResource)
+ *
+ * 🐱section
+ * Just what the list of deployments shows of each of them.
+ */
+public record DeploymentSummary(String name, String type, Object status) {
+
+    public static DeploymentSummary of(final Deployment deployment) {
+        return new DeploymentSummary(deployment.getName(), deployment.getType(), deployment.getStatus());
+    }
+}
@@ -1,6 +1,7 @@
 package io.kaoto.backend.api.resource.v1.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 
@@ -19,6 +20,8 @@ public class Integration {
     private Map<String, Object> metadata = Collections.emptyMap();
     private List<Parameter> parameters = Collections.emptyList();
     private String dsl = null;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String id = null;
 
     /*
      * 🐱property steps: Step[]
@@ -72,4 +75,17 @@ public class Integration {
     public void setDsl(final String dsl) {
         this.dsl = dsl;
     }
+
+    /*
+     * 🐱property id: String
+     *
+     *  Identifier of the flow, on languages that may have more than one.
+     */
+    public String getId() {
+        return id;
+    }
+
+    public void setId(final String id) {
+        this.id = id;
+    }
 }
@@ -1,20 +1,49 @@
 package io.kaoto.backend.api.service.deployment;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kaoto.backend.api.resource.v1.model.BatchResult;
 import io.kaoto.backend.api.resource.v1.model.Integration;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.deployment.generator.Generation;
+import io.kaoto.backend.api.service.serialization.Serialization;
+import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.step.Step;
+import io.micrometer.core.instrument.Metrics;
 import io.opentelemetry.extension.annotations.WithSpan;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 /**
  * 🐱miniclass DeploymentService (IntegrationsResource)
@@ -34,32 +63,75 @@ public class DeploymentService {
     @Inject
     private Instance<DeploymentGeneratorService> parsers;
 
+    private Instance<StepParserService<Step>> stepParsers;
+
+    private ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "integrations.batch.concurrency")
+    private Optional<Integer> batchConcurrency;
+
+    @ConfigProperty(name = "integrations.generation.concurrency")
+    private Optional<Integer> generationConcurrency;
+
+    //Where the documents of the batches are processed
+    private ExecutorService executor;
+    private int concurrency;
+
+    //Where the DSLs of the same steps are generated. Never waits on the batch executor, nor the other way around
+    private ExecutorService generators;
+
+    @PostConstruct
+    void createExecutor() {
+        concurrency = Math.max(1, batchConcurrency.orElse(Runtime.getRuntime().availableProcessors()));
+        //Batches never have more than concurrency documents waiting
+        executor = Executors.newFixedThreadPool(concurrency, threads("kaoto-batch-"));
+        //Nothing waits for a generator, when all of them are busy the caller generates on its own
+        final int generating = Math.max(1, generationConcurrency.orElse(Runtime.getRuntime().availableProcessors()));
+        generators = new ThreadPoolExecutor(generating, generating, 1, TimeUnit.MINUTES,
+                new SynchronousQueue<>(), threads("kaoto-generator-"));
+    }
+
+    private static ThreadFactory threads(final String prefix) {
+        final var counter = new AtomicInteger();
+        return runnable -> {
+            final var thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        executor.shutdownNow();
+        generators.shutdownNow();
+    }
+
     /*
      * 🐱method integration: Map
      * 🐱param name: String
      * 🐱param stepArray: List[Step]
      *
      * Based on the provided steps, returns a valid CRDs to deploy
+     *
+     * All the DSLs that apply are generated at the same time, sharing what
+     * they build from the steps. The time each DSL takes is published on
+     * the kaoto.generator.parse timer.
      */
     @WithSpan
     public List<Map<String, String>> crd(final String name,
                                          final Step[] stepArray) {
 
-        List<Step> steps = Arrays.asList(stepArray);
-        List<Map<String, String>> res = new LinkedList<>();
         Map<String, Object> metadata = new HashMap<>();
         if (name != null && !name.isBlank()) {
             metadata.put("name", name);
         }
+        final var generation = new Generation(Arrays.asList(stepArray), metadata, Collections.emptyList());
 
+        final List<DeploymentGeneratorService> applying = new LinkedList<>();
         for (DeploymentGeneratorService parser : getParsers()) {
             try {
-                if (parser.appliesTo(steps)) {
-                    Map<String, String> strings = new HashMap<>();
-                    strings.put("dsl", parser.identifier());
-                    strings.put("crd", parser.parse(steps,
-                            metadata, Collections.emptyList()));
-                    res.add(strings);
+                if (parser.appliesTo(generation)) {
+                    applying.add(parser);
                 }
             } catch (Exception e) {
                 log.warn("Parser " + parser.getClass()
@@ -68,8 +140,49 @@ public class DeploymentService {
             }
         }
 
+        //This thread generates the first DSL itself, and any other no generator is free to take
+        final List<CompletableFuture<Map<String, String>>> generated = new LinkedList<>();
+        for (DeploymentGeneratorService parser : applying.subList(Math.min(1, applying.size()), applying.size())) {
+            try {
+                generated.add(CompletableFuture.supplyAsync(() -> generate(parser, generation), generators));
+            } catch (RejectedExecutionException e) {
+                generated.add(CompletableFuture.completedFuture(generate(parser, generation)));
+            }
+        }
+        if (!applying.isEmpty()) {
+            generated.add(0, CompletableFuture.completedFuture(generate(applying.get(0), generation)));
+        }
+
+        List<Map<String, String>> res = new LinkedList<>();
+        for (var crd : generated) {
+            final var strings = crd.join();
+            if (strings != null) {
+                res.add(strings);
+            }
+        }
         return res;
     }
+
+    private Map<String, String> generate(final DeploymentGeneratorService parser, final Generation generation) {
+        final long start = System.nanoTime();
+        var outcome = "success";
+        try {
+            Map<String, String> strings = new HashMap<>();
+            strings.put("dsl", parser.identifier());
+            strings.put("crd", parser.parse(generation));
+            return strings;
+        } catch (Exception e) {
+            outcome = "error";
+            log.warn("Parser " + parser.getClass()
+                            + "threw an unexpected error. ",
+                    e);
+            return null;
+        } finally {
+            Metrics.timer("kaoto.generator.parse", "dsl", parser.identifier(), "outcome", outcome)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
     /*
      * 🐱method crd: String
      * 🐱param i: Integration
@@ -107,6 +220,184 @@ public class DeploymentService {
         return null;
     }
 
+    /*
+     * 🐱method integration: Integration
+     * 🐱param tree: JsonNode
+     * 🐱param dsl: String
+     *
+     * Based on the provided yaml, already read as a tree, returns the steps
+     * of the integration. If the yaml is not of the given dsl, any other
+     * dsl that understands it is used.
+     */
+    @WithSpan
+    public Integration integration(final JsonNode tree, final String dsl) {
+        final var integration = parse(tree, dsl, stepParsers);
+        return integration != null ? integration : new Integration();
+    }
+
+    /*
+     * 🐱method flows: Multi[Integration]
+     * 🐱param input: Reader
+     * 🐱param dsl: String
+     * 🐱param id: String
+     *
+     * Parses the yaml while it is read, one integration for each flow, like
+     * the routes of a Camel Route. Big documents with lots of flows are never
+     * held in memory. With an id, only that flow is returned. The dsl is
+     * mandatory: we can't look at the document before reading it.
+     */
+    @WithSpan
+    public Multi<Integration> flows(final Reader input, final String dsl, final String id) {
+        final var parser = stepParsers.stream()
+                .filter(candidate -> candidate.identifier().equalsIgnoreCase(dsl))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("There is no DSL called " + dsl));
+
+        final Multi<StepParserService.ParseResult<Step>> flows;
+        if (id != null) {
+            flows = Multi.createFrom().optional(() -> parser.deepParse(input, id));
+        } else {
+            flows = Multi.createFrom()
+                    .resource(() -> parser.streamParse(input), stream -> Multi.createFrom().items(() -> stream))
+                    .withFinalizer(Stream::close);
+        }
+        return flows
+                .map(flow -> integration(parser, flow))
+                //reading the input blocks, like on batches
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+
+    /*
+     * 🐱method batch: Multi[BatchResult]
+     * 🐱param input: BufferedReader
+     * 🐱param dsl: String
+     *
+     * Processes a batch of documents, one per line. Each line is either an
+     * integration as a JSON object, to return its yaml, or a yaml document
+     * as a JSON string, to return its integration. The dsl is used when the
+     * integration doesn't say which one it is.
+     *
+     * Lines are only read when there is room to process them, and results
+     * are emitted as soon as they are ready, so the batch is never held in
+     * memory. All the documents of the batch share the steps found on the
+     * catalog.
+     */
+    @WithSpan
+    public Multi<BatchResult> batch(final BufferedReader input, final String dsl) {
+        final List<StepParserService<Step>> batchParsers = stepParsers.stream()
+                .map(StepParserService::forBatch)
+                .toList();
+        final var index = new AtomicLong();
+
+        return Multi.createFrom().items(input::lines)
+                .map(line -> new Line(index.getAndIncrement(), line))
+                .filter(line -> !line.content().isBlank())
+                //reading the input blocks, never do it on the thread writing the results
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .onItem().transformToUni(line -> Uni.createFrom().item(() -> process(line, dsl, batchParsers))
+                        .runSubscriptionOn(executor))
+                .merge(concurrency)
+                .onTermination().invoke(() -> close(input));
+    }
+
+    private BatchResult process(final Line line, final String dsl,
+                                final List<StepParserService<Step>> batchParsers) {
+        try {
+            final var node = objectMapper.readTree(line.content());
+            if (node.isTextual()) {
+                final var tree = Serialization.readYamlTree(node.asText());
+                final var integration = parse(tree, dsl, batchParsers);
+                if (integration == null) {
+                    return BatchResult.failed(line.index(), "There is no DSL that understands this yaml.");
+                }
+                return BatchResult.parsed(line.index(), integration);
+            } else if (node.isObject()) {
+                final var integration = objectMapper.treeToValue(node, Integration.class);
+                final var crd = crd(integration, integration.getDsl() != null ? integration.getDsl() : dsl);
+                if (crd == null) {
+                    return BatchResult.failed(line.index(), "There is no DSL that can deploy these steps.");
+                }
+                return BatchResult.generated(line.index(), crd);
+            }
+            return BatchResult.failed(line.index(), "Each line must be an integration or a yaml document.");
+        } catch (Exception e) {
+            log.debug("Error processing document " + line.index() + " of the batch.", e);
+            return BatchResult.failed(line.index(), "Error processing document: " + e.getMessage());
+        }
+    }
+
+    /*
+     * The dsl asked for is tried first. If it doesn't understand the yaml,
+     * or fails parsing it, any other dsl that says it applies is tried.
+     */
+    private Integration parse(final JsonNode tree, final String dsl,
+                              final Iterable<StepParserService<Step>> candidates) {
+        for (StepParserService<Step> stepParserService : candidates) {
+            if (stepParserService.identifier().equalsIgnoreCase(dsl) && appliesTo(stepParserService, tree)) {
+                final var integration = tryParse(stepParserService, tree);
+                if (integration != null) {
+                    return integration;
+                }
+            }
+        }
+
+        for (var stepParserService : candidates) {
+            if (!stepParserService.identifier().equalsIgnoreCase(dsl) && appliesTo(stepParserService, tree)) {
+                final var integration = tryParse(stepParserService, tree);
+                if (integration != null) {
+                    log.warn("Gurl, the DSL you gave me is so wrong. This is a " + stepParserService.identifier()
+                            + " not a " + dsl);
+                    return integration;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Integration tryParse(final StepParserService<Step> parser, final JsonNode tree) {
+        try {
+            return parse(parser, tree);
+        } catch (Exception e) {
+            log.warn("Parser " + parser.getClass() + "threw an unexpected error.", e);
+        }
+        return null;
+    }
+
+    private Integration parse(final StepParserService<Step> parser, final JsonNode tree) {
+        return integration(parser, parser.deepParse(tree));
+    }
+
+    private Integration integration(final StepParserService<Step> parser,
+                                    final StepParserService.ParseResult<Step> parsed) {
+        final var integration = new Integration();
+        integration.setId(parsed.getId());
+        integration.setSteps(parsed.getSteps());
+        integration.setMetadata(parsed.getMetadata());
+        integration.setParameters(parsed.getParameters());
+        integration.setDsl(parser.identifier());
+        return integration;
+    }
+
+    private boolean appliesTo(final StepParserService<Step> parser, final JsonNode tree) {
+        try {
+            return parser.appliesTo(tree);
+        } catch (Exception e) {
+            log.warn("Parser " + parser.getClass() + "threw an unexpected error.", e);
+        }
+        return false;
+    }
+
+    private void close(final BufferedReader input) {
+        try {
+            input.close();
+        } catch (IOException e) {
+            log.trace("Error closing the batch.", e);
+        }
+    }
+
+    private record Line(long index, String content) {
+    }
+
     public Instance<DeploymentGeneratorService> getParsers() {
         return parsers;
     }
@@ -114,4 +405,14 @@ public class DeploymentService {
     public void setParsers(final Instance<DeploymentGeneratorService> parsers) {
         this.parsers = parsers;
     }
+
+    @Inject
+    public void setStepParsers(final Instance<StepParserService<Step>> stepParsers) {
+        this.stepParsers = stepParsers;
+    }
+
+    @Inject
+    public void setObjectMapper(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
 }
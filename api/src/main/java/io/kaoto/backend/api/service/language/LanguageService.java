@@ -1,18 +1,29 @@
 package io.kaoto.backend.api.service.language;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kaoto.backend.api.resource.v1.model.Capabilities;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.step.StepResponseCache;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.extension.annotations.WithSpan;
+import io.quarkus.runtime.Startup;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 🐱miniclass LanguageService (CapabilitiesResource)
@@ -22,7 +33,11 @@ import java.util.Optional;
  * 🐱section
  * Service to extract languages from all supported DSL. This is the utility
  * class the resource relies on to perform the operations.
+ *
+ * Languages and validation schemas are computed once on startup and kept
+ * serialized and compressed.
  */
+@Startup
 @ApplicationScoped
 public class LanguageService {
 
@@ -35,6 +50,22 @@ public class LanguageService {
     @Inject
     private Instance<StepParserService<Step>> stepParserServices;
 
+    private ObjectMapper objectMapper;
+
+    private final AtomicLong generations = new AtomicLong();
+
+    private volatile Languages languages;
+
+    /*
+     * 🐱method warmUp
+     *
+     * Computes the languages and their responses on startup.
+     */
+    @PostConstruct
+    public void warmUp() {
+        languages = compute();
+    }
+
     /*
      * 🐱method getAll: Map
      *
@@ -42,12 +73,67 @@ public class LanguageService {
      */
     @WithSpan
     public Collection<Map<String, String>> getAll() {
+        return languages().all();
+    }
+
+    /*
+     * 🐱method getCapabilities: CachedResponse
+     *
+     * Returns the supported languages, already serialized as Capabilities.
+     */
+    public StepResponseCache.CachedResponse getCapabilities() {
+        return languages().capabilities();
+    }
+
+    public String getValidationSchema(String dsl) {
+        final var schema = getValidationSchemaResponse(dsl);
+        return schema.map(r -> new String(r.json(), StandardCharsets.UTF_8)).orElse("");
+    }
+
+    /*
+     * 🐱method getValidationSchemaResponse: Optional[CachedResponse]
+     * 🐱param dsl: String
+     *
+     * Returns the validation schema of the DSL, if it has one.
+     */
+    public Optional<StepResponseCache.CachedResponse> getValidationSchemaResponse(final String dsl) {
+        if (dsl == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(languages().schemas().get(dsl.toLowerCase(Locale.ROOT)));
+    }
+
+    /*
+     * Generators and parsers are beans, they don't come and go while we run.
+     * Only replacing them through the setters makes us compute again.
+     */
+    private Languages languages() {
+        var current = languages;
+        if (current == null) {
+            synchronized (this) {
+                current = languages;
+                if (current == null) {
+                    current = compute();
+                    languages = current;
+                }
+            }
+        }
+        return current;
+    }
 
+    private Languages compute() {
+        final var generation = generations.incrementAndGet();
         Map<String, Map<String, String>> res = new HashMap<>();
+        Map<String, StepResponseCache.CachedResponse> schemas = new HashMap<>();
 
         for (DeploymentGeneratorService parser : getGeneratorServices()) {
-            String validationSchemaURI = parser.validationSchema()
-                    .equals("")?"":String.format("/v1/capabilities/%s/schema",parser.identifier());
+            final var schema = parser.validationSchema();
+            String validationSchemaURI = "";
+            if (schema != null && !schema.isEmpty()) {
+                validationSchemaURI = String.format("/v1/capabilities/%s/schema", parser.identifier());
+                schemas.putIfAbsent(parser.identifier().toLowerCase(Locale.ROOT),
+                        StepResponseCache.CachedResponse.of(generation, schema.getBytes(StandardCharsets.UTF_8)));
+            }
 
             addNewLanguage(res, parser.identifier(), parser.description());
             res.get(parser.identifier())
@@ -74,19 +160,18 @@ public class LanguageService {
             res.get(crdDefault).put("default", "true");
         }
 
-        return res.values();
-    }
-
-    public String getValidationSchema(String dsl) {
-        String schema = "";
-
-        Optional<DeploymentGeneratorService> found = getGeneratorServices().stream()
-                .filter( p -> p.identifier().equalsIgnoreCase(dsl))
-                .findFirst();
-        if (found.isPresent()) {
-            schema = found.get().validationSchema();
+        final List<Map<String, String>> all = res.values().stream()
+                .map(Collections::unmodifiableMap)
+                .toList();
+        final var capabilities = new Capabilities();
+        capabilities.setDsls(all);
+        try {
+            return new Languages(all,
+                    StepResponseCache.CachedResponse.of(generation, objectMapper.writeValueAsBytes(capabilities)),
+                    Map.copyOf(schemas));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Couldn't serialize the capabilities.", e);
         }
-        return  schema;
     }
 
     private String addNewLanguage(final Map<String, Map<String, String>> res,
@@ -108,6 +193,12 @@ public class LanguageService {
     public void setGeneratorServices(
             final Instance<DeploymentGeneratorService> parsers) {
         this.generatorServices = parsers;
+        this.languages = null;
+    }
+
+    @Inject
+    public void setObjectMapper(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
     }
 
     public Instance<StepParserService<Step>> getStepParserServices() {
@@ -117,5 +208,14 @@ public class LanguageService {
     public void setStepParserServices(
             final Instance<StepParserService<Step>> stepParserServices) {
         this.stepParserServices = stepParserServices;
+        this.languages = null;
+    }
+
+    /*
+     * Languages computed from the generators and parsers.
+     */
+    private record Languages(Collection<Map<String, String>> all,
+                             StepResponseCache.CachedResponse capabilities,
+                             Map<String, StepResponseCache.CachedResponse> schemas) {
     }
 }
@@ -0,0 +1,229 @@
+package io.kaoto.backend.api.service.step;
+
+import io.micrometer.core.instrument.Metrics;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 🐱miniclass StepResponseCache (StepResource)
+ *
+ * 🐱section
+ * Cache of already serialized step listings. Entries are bound to the
+ * generation of the catalog they were built from: as soon as the catalog
+ * changes, all the entries are discarded at once.
+ */
+@ApplicationScoped
+public class StepResponseCache {
+
+    private final Logger log = Logger.getLogger(StepResponseCache.class);
+
+    @ConfigProperty(name = "steps.cache.max-entries", defaultValue = "256")
+    private int maxEntries;
+
+    private final AtomicReference<Entries> entries = new AtomicReference<>(new Entries(-1, new ConcurrentHashMap<>()));
+
+    /*
+     * 🐱method get : CachedResponse
+     * 🐱param generations: LongSupplier
+     * 🐱param key: Key
+     * 🐱param content: Supplier
+     *
+     * Returns the cached response for this key on the current generation of
+     * the catalog. If there is none, the content is generated and cached,
+     * unless the catalog changed while generating it.
+     */
+    public CachedResponse get(final LongSupplier generations, final Key key, final Supplier<byte[]> content) {
+        final long generation = generations.getAsLong();
+        final var current = entries.updateAndGet(e ->
+                e.generation() >= generation ? e : new Entries(generation, new ConcurrentHashMap<>()));
+
+        if (current.generation() != generation) {
+            //We are serving an outdated request, don't pollute the cache with it
+            return record("outdated", build(generation, content.get()));
+        }
+
+        final var cached = current.responses().get(key);
+        if (cached != null) {
+            return record("hit", cached);
+        }
+
+        final var built = build(generation, content.get());
+        if (generations.getAsLong() != generation) {
+            //The content may come from the next generation, it can't be cached under this one
+            return record("outdated", built);
+        }
+
+        if (current.responses().size() >= maxEntries) {
+            log.trace("Step response cache is full, not caching " + key);
+            return record("full", built);
+        }
+
+        final var raced = current.responses().putIfAbsent(key, built);
+        return record("miss", raced != null ? raced : built);
+    }
+
+    private CachedResponse record(final String outcome, final CachedResponse response) {
+        Metrics.counter("kaoto.steps.cache", "outcome", outcome).increment();
+        return response;
+    }
+
+    /*
+     * 🐱method clear
+     *
+     * Discards all cached responses.
+     */
+    public void clear() {
+        entries.set(new Entries(-1, new ConcurrentHashMap<>()));
+    }
+
+    private CachedResponse build(final long generation, final byte[] json) {
+        return CachedResponse.of(generation, json);
+    }
+
+    /*
+     * All the responses cached for one generation of the catalog.
+     */
+    private record Entries(long generation, Map<Key, CachedResponse> responses) {
+    }
+
+    /*
+     * 🐱miniclass Key (StepResponseCache)
+     *
+     * Normalized filters of a step listing.
+     */
+    public record Key(String dsl, String type, String kind, Long start, Long limit,
+                      String previousStep, String followingStep) {
+    }
+
+    /*
+     * 🐱miniclass CachedResponse (StepResponseCache)
+     *
+     * Serialized response, plain and gzipped, with its strong ETag.
+     */
+    public record CachedResponse(byte[] json, byte[] gzip, String etag) {
+
+        /*
+         * 🐱method of : CachedResponse
+         * 🐱param generation: long
+         * 🐱param json: byte[]
+         *
+         * Compresses the response and calculates its ETag from the
+         * generation and the content.
+         */
+        public static CachedResponse of(final long generation, final byte[] json) {
+            final var crc = new CRC32();
+            crc.update(json);
+            final var etag = "\"" + Long.toHexString(generation) + "-" + Long.toHexString(crc.getValue()) + "\"";
+
+            final var out = new ByteArrayOutputStream(json.length / 4 + 16);
+            try (var gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Couldn't compress the response.", e);
+            }
+
+            return new CachedResponse(json, out.toByteArray(), etag);
+        }
+
+        /*
+         * 🐱method toResponse : Response
+         * 🐱param ifNoneMatch: String
+         * 🐱param acceptEncoding: String
+         *
+         * Not modified if the client already has this version, gzipped if
+         * the client accepts it.
+         */
+        public Response toResponse(final String ifNoneMatch, final String acceptEncoding) {
+            if (matches(ifNoneMatch)) {
+                return Response.notModified()
+                        .header(HttpHeaders.ETAG, etag)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+
+            final var response = Response.ok()
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .header(HttpHeaders.ETAG, etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(acceptEncoding)) {
+                response.entity(gzip).header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            } else {
+                response.entity(json);
+            }
+            return response.build();
+        }
+
+        /*
+         * If-None-Match is a list of entity tags, or *. It always uses the
+         * weak comparison, so W/"a" matches "a".
+         */
+        private boolean matches(final String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            return Arrays.stream(ifNoneMatch.split(","))
+                    .map(String::trim)
+                    .anyMatch(tag -> tag.equals("*") || opaque(tag).equals(opaque(etag)));
+        }
+
+        private static String opaque(final String tag) {
+            return tag.startsWith("W/") ? tag.substring(2) : tag;
+        }
+
+        /*
+         * Accept-Encoding is a list of codings with optional weights.
+         * gzip;q=0 means the client doesn't want it, and * stands for gzip
+         * if gzip is not listed.
+         */
+        private static boolean acceptsGzip(final String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            Double gzip = null;
+            Double any = null;
+            for (String coding : acceptEncoding.split(",")) {
+                final var parameters = coding.split(";");
+                final var name = parameters[0].trim().toLowerCase(Locale.ROOT);
+                final var weight = weight(parameters);
+                if (name.equals("gzip") || name.equals("x-gzip")) {
+                    gzip = gzip == null ? weight : Math.max(gzip, weight);
+                } else if (name.equals("*")) {
+                    any = weight;
+                }
+            }
+            final var chosen = gzip != null ? gzip : any;
+            return chosen != null && chosen > 0;
+        }
+
+        private static double weight(final String[] parameters) {
+            for (int i = 1; i < parameters.length; i++) {
+                final var parameter = parameters[i].trim();
+                if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+            return 1;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package io.kaoto.backend.api.service.step;
 
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.metadata.catalog.IndexedCatalog;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.extension.annotations.SpanAttribute;
 import io.opentelemetry.extension.annotations.WithSpan;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collection;
 /**
  *
@@ -52,6 +54,30 @@ public class StepService {
         return catalog.getReadOnlyCatalog().searchByName(name);
     }
 
+    /*
+     * 🐱method stepsByKind : List[Step]
+     * 🐱param kinds: List[String]
+     *
+     *  Returns all the steps of any of the kinds.
+     *
+     */
+    @WithSpan
+    public Collection<Step> stepsByKind(final Collection<String> kinds) {
+        return searchByIndex(StepCatalog.KIND, kinds);
+    }
+
+    /*
+     * 🐱method stepsByType : List[Step]
+     * 🐱param types: List[String]
+     *
+     *  Returns all the steps of any of the types.
+     *
+     */
+    @WithSpan
+    public Collection<Step> stepsByType(final Collection<String> types) {
+        return searchByIndex(IndexedCatalog.TYPE, types);
+    }
+
     /*
      * 🐱method allSteps : List[Step]
      *
@@ -62,4 +88,24 @@ public class StepService {
     public Collection<Step> allSteps() {
         return catalog.getReadOnlyCatalog().getAll();
     }
+
+    /*
+     * 🐱method catalogGeneration : long
+     *
+     *  Returns the current generation of the step catalog. It changes every
+     *  time the catalog is modified.
+     *
+     */
+    public long catalogGeneration() {
+        return catalog.getGeneration();
+    }
+
+    private Collection<Step> searchByIndex(final String index, final Collection<String> values) {
+        final var readOnlyCatalog = catalog.getReadOnlyCatalog();
+        Collection<Step> steps = new ArrayList<>();
+        for (var value : values) {
+            steps.addAll(readOnlyCatalog.searchByIndex(index, value));
+        }
+        return steps;
+    }
 }
@@ -0,0 +1,327 @@
+package io.kaoto.backend.api.service.viewdefinition.parser;
+
+import io.kaoto.backend.model.step.Branch;
+import io.kaoto.backend.model.step.Step;
+import io.kaoto.backend.model.view.ViewDefinition;
+import io.kaoto.backend.model.view.ViewDefinitionConstraint;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 🐱miniclass ViewDefinitionIndex (GenericViewDefinitionParserService)
+ *
+ * 🐱section
+ * View definitions of one generation of the catalog, compiled for matching.
+ * Size constraints are parsed once and views are indexed by the step
+ * identifiers, names and types their constraints look for.
+ *
+ * Matching walks the steps once and only evaluates the views that may
+ * apply: the ones indexed under something found on the steps and the ones
+ * that don't depend on the content of the steps.
+ */
+final class ViewDefinitionIndex {
+
+    private static final Logger LOG = Logger.getLogger(ViewDefinitionIndex.class);
+
+    private static final String GENERIC = "generic";
+    private static final String STEP = "step";
+
+    private final long generation;
+    private final List<CompiledView> views = new ArrayList<>();
+    private final Map<String, List<CompiledView>> anchored = new HashMap<>();
+    private final List<CompiledView> unanchored = new ArrayList<>();
+
+    private ViewDefinitionIndex(final long generation) {
+        this.generation = generation;
+    }
+
+    /*
+     * 🐱method compile : ViewDefinitionIndex
+     * 🐱param generation: long
+     * 🐱param viewDefinitions: Collection[ViewDefinition]
+     *
+     * Indexes the views that are generic or per step, keeping their order.
+     */
+    static ViewDefinitionIndex compile(final long generation, final Collection<ViewDefinition> viewDefinitions) {
+        final var index = new ViewDefinitionIndex(generation);
+        for (ViewDefinition v : viewDefinitions) {
+            if (v.getType() == null) {
+                continue;
+            }
+            final var type = v.getType().toLowerCase(Locale.ROOT);
+            if (!GENERIC.equals(type) && !STEP.equals(type)) {
+                continue;
+            }
+
+            final var view = CompiledView.of(index.views.size(), v, STEP.equals(type));
+            if (view.impossible()) {
+                LOG.trace("View " + v.getId() + " can never apply, ignoring it.");
+                continue;
+            }
+            index.views.add(view);
+            final var anchors = view.anchors();
+            if (anchors.isEmpty()) {
+                index.unanchored.add(view);
+            } else {
+                anchors.forEach(a -> index.anchored.computeIfAbsent(a, k -> new ArrayList<>()).add(view));
+            }
+        }
+        return index;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    /*
+     * 🐱method match : List[ViewDefinition]
+     * 🐱param steps: List[Step]
+     *
+     * Copies of the views that apply to the steps: generic views once, per
+     * step views once for each step they apply to.
+     */
+    List<ViewDefinition> match(final List<Step> steps) {
+        final var walked = Walk.of(steps);
+
+        final var applicable = new BitSet(views.size());
+        final var candidates = candidates(walked.tokens());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (views.get(i).matches(walked.size(), walked.tokens())) {
+                applicable.set(i);
+            }
+        }
+
+        //Steps each per step view applies to, in the order they were found
+        final Map<Integer, List<String>> perStep = new HashMap<>();
+        for (StepTokens step : walked.steps()) {
+            final var stepCandidates = candidates(step.tokens());
+            stepCandidates.and(applicable);
+            for (int i = stepCandidates.nextSetBit(0); i >= 0; i = stepCandidates.nextSetBit(i + 1)) {
+                final var view = views.get(i);
+                if (view.perStep() && view.matches(1, step.tokens())) {
+                    perStep.computeIfAbsent(i, k -> new ArrayList<>()).add(step.step().getUUID());
+                }
+            }
+        }
+
+        final List<ViewDefinition> res = new ArrayList<>();
+        for (int i = applicable.nextSetBit(0); i >= 0; i = applicable.nextSetBit(i + 1)) {
+            final var view = views.get(i);
+            if (!view.perStep()) {
+                res.add(new ViewDefinition(view.view()));
+            } else {
+                for (String uuid : perStep.getOrDefault(i, List.of())) {
+                    final var v = new ViewDefinition(view.view());
+                    v.setStep(uuid);
+                    res.add(v);
+                }
+            }
+        }
+        return res;
+    }
+
+    private BitSet candidates(final Set<String> tokens) {
+        final var candidates = new BitSet(views.size());
+        unanchored.forEach(v -> candidates.set(v.ordinal()));
+        for (String token : tokens) {
+            final var found = anchored.get(token);
+            if (found != null) {
+                found.forEach(v -> candidates.set(v.ordinal()));
+            }
+        }
+        return candidates;
+    }
+
+    /*
+     * 🐱method tokensOf : Set[String]
+     * 🐱param step: Step
+     *
+     * What constraints can look for on this step, without its branches.
+     */
+    static Set<String> tokensOf(final Step step) {
+        final Set<String> tokens = new HashSet<>(4);
+        addToken(tokens, Check.IDENTIFIER, step.getId());
+        addToken(tokens, Check.NAME, step.getName());
+        addToken(tokens, Check.TYPE, step.getType());
+        addToken(tokens, Check.TYPE, step.getKind());
+        return tokens;
+    }
+
+    private static void addToken(final Set<String> tokens, final char prefix, final String value) {
+        if (value != null) {
+            tokens.add(prefix + value.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /*
+     * Steps found walking the list with their branches, depth first.
+     */
+    record Walk(int size, Set<String> tokens, List<StepTokens> steps) {
+        //there is no list at all, not even an empty one, so no size to check
+        static final int NO_STEPS = -1;
+
+        static Walk of(final List<Step> steps) {
+            final var walk = new Walk(steps == null ? NO_STEPS : steps.size(), new HashSet<>(), new ArrayList<>());
+            walk.add(steps);
+            return walk;
+        }
+
+        private void add(final List<Step> list) {
+            if (list == null) {
+                return;
+            }
+            for (Step step : list) {
+                if (step == null) {
+                    continue;
+                }
+                final var stepTokens = tokensOf(step);
+                tokens.addAll(stepTokens);
+                steps.add(new StepTokens(step, stepTokens));
+                if (step.getBranches() != null) {
+                    for (Branch b : step.getBranches()) {
+                        add(b.getSteps());
+                    }
+                }
+            }
+        }
+    }
+
+    record StepTokens(Step step, Set<String> tokens) {
+    }
+
+    /*
+     * 🐱miniclass CompiledView (ViewDefinitionIndex)
+     *
+     * A view with its constraints already parsed.
+     */
+    record CompiledView(int ordinal, ViewDefinition view, boolean perStep,
+                        List<Check> mandatory, List<Check> optional) {
+
+        static CompiledView of(final int ordinal, final ViewDefinition view, final boolean perStep) {
+            final List<Check> mandatory = new ArrayList<>();
+            final List<Check> optional = new ArrayList<>();
+            if (view.getConstraints() != null) {
+                for (ViewDefinitionConstraint c : view.getConstraints()) {
+                    (c.isMandatory() ? mandatory : optional).add(Check.of(c));
+                }
+            }
+            return new CompiledView(ordinal, view, perStep, mandatory, optional);
+        }
+
+        /*
+         * A mandatory constraint that never passes.
+         */
+        boolean impossible() {
+            return mandatory.stream().anyMatch(Check::never);
+        }
+
+        /*
+         * Tokens this view is indexed by. One of them must be on the steps
+         * for the view to apply. Empty if the view may apply to any step.
+         */
+        Set<String> anchors() {
+            for (Check c : mandatory) {
+                if (c.token() != null) {
+                    return Set.of(c.token());
+                }
+            }
+            final Set<String> anchors = new HashSet<>();
+            for (Check c : optional) {
+                if (c.token() == null && !c.never()) {
+                    return Set.of();
+                }
+                if (c.token() != null) {
+                    anchors.add(c.token());
+                }
+            }
+            return anchors;
+        }
+
+        boolean matches(final int size, final Set<String> tokens) {
+            for (Check c : mandatory) {
+                if (!c.test(size, tokens)) {
+                    return false;
+                }
+            }
+            if (optional.isEmpty()) {
+                return true;
+            }
+            for (Check c : optional) {
+                if (c.test(size, tokens)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /*
+     * 🐱miniclass Check (ViewDefinitionIndex)
+     *
+     * A constraint ready to be evaluated: either a token the steps must
+     * contain or bounds on the number of steps.
+     */
+    record Check(String token, int min, int max) {
+        static final char IDENTIFIER = 'i';
+        static final char NAME = 'n';
+        static final char TYPE = 't';
+
+        private static final Check NEVER = new Check(null, 1, 0);
+
+        static Check of(final ViewDefinitionConstraint c) {
+            if (c.getOperation() == null || c.getParameter() == null) {
+                return NEVER;
+            }
+            final var parameter = c.getParameter().toLowerCase(Locale.ROOT);
+            switch (c.getOperation()) {
+                case CONTAINS_STEP_IDENTIFIER:
+                    return new Check(IDENTIFIER + parameter, 0, Integer.MAX_VALUE);
+                case CONTAINS_STEP_NAME:
+                    return new Check(NAME + parameter, 0, Integer.MAX_VALUE);
+                case CONTAINS_STEP_TYPE:
+                    return new Check(TYPE + parameter, 0, Integer.MAX_VALUE);
+                default:
+                    break;
+            }
+
+            final int size;
+            try {
+                size = Integer.parseInt(c.getParameter().trim());
+            } catch (NumberFormatException e) {
+                LOG.warn("Wrong size on view definition constraint: " + c.getParameter());
+                return NEVER;
+            }
+            switch (c.getOperation()) {
+                case SIZE_EQUALS:
+                    return new Check(null, size, size);
+                case SIZE_GREATER_THAN:
+                    return size == Integer.MAX_VALUE ? NEVER : new Check(null, size + 1, Integer.MAX_VALUE);
+                case SIZE_SMALLER_THAN:
+                    return size == Integer.MIN_VALUE ? NEVER : new Check(null, Integer.MIN_VALUE, size - 1);
+                default:
+                    //Unsupported operation
+                    return NEVER;
+            }
+        }
+
+        boolean never() {
+            return min > max;
+        }
+
+        boolean test(final int size, final Set<String> tokens) {
+            if (token != null) {
+                return tokens.contains(token);
+            }
+            return size != Walk.NO_STEPS && size >= min && size <= max;
+        }
+    }
+}
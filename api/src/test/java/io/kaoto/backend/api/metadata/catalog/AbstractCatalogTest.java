@@ -0,0 +1,152 @@
+package io.kaoto.backend.api.metadata.catalog;
+
+import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.WatchedParseCatalog;
+import io.kaoto.backend.metadata.parser.ProcessFile;
+import io.kaoto.backend.model.step.Step;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+class AbstractCatalogTest {
+
+    @Test
+    void failingWatchedSource() throws Exception {
+        final var catalog = catalog(List.of(
+                new Watched("no-crd", () -> CompletableFuture.failedFuture(
+                        new IllegalStateException("There is no Kamelet CRD on the cluster"))),
+                new Parsed("bundled", () -> "1", () -> List.of(step("a")))));
+
+        catalog.warmUpCatalog();
+        catalog.waitForWarmUp().get(10, TimeUnit.SECONDS);
+
+        Assertions.assertNotNull(catalog.getReadOnlyCatalog().searchByID("a"));
+    }
+
+    @Test
+    void failingRefreshKeepsWhatWeHad() throws Exception {
+        final var failing = new Parsed("failing", () -> "1", () -> List.of(step("a")));
+        final var growing = new Parsed("growing", () -> "1", () -> List.of(step("b")));
+        final var catalog = catalog(List.of(failing, growing));
+        catalog.warmUpCatalog();
+        catalog.waitForWarmUp().get(10, TimeUnit.SECONDS);
+
+        failing.fingerprint = () -> "2";
+        failing.parse = () -> {
+            throw new IllegalStateException("Can't reach the repository");
+        };
+        growing.fingerprint = () -> "2";
+        growing.parse = () -> List.of(step("b"), step("c"));
+        catalog.refresh();
+
+        eventually(() -> catalog.getReadOnlyCatalog().searchByID("c") != null);
+        Assertions.assertNotNull(catalog.getReadOnlyCatalog().searchByID("a"));
+        Assertions.assertNotNull(catalog.getReadOnlyCatalog().searchByID("b"));
+    }
+
+    @Test
+    void sameElementOnTwoWatchedSources() throws Exception {
+        final var one = new Watched("namespace-1", () -> CompletableFuture.completedFuture(List.of(step("a"))));
+        final var two = new Watched("namespace-2", () -> CompletableFuture.completedFuture(List.of(step("a"))));
+        final var catalog = catalog(List.of(one, two));
+        catalog.warmUpCatalog();
+        catalog.waitForWarmUp().get(10, TimeUnit.SECONDS);
+
+        one.listeners.forEach(l -> l.changed(Set.of("a"), List.of()));
+        Assertions.assertNotNull(catalog.getReadOnlyCatalog().searchByID("a"));
+
+        two.listeners.forEach(l -> l.changed(Set.of("a"), List.of()));
+        Assertions.assertNull(catalog.getReadOnlyCatalog().searchByID("a"));
+    }
+
+    private static StepCatalog catalog(final List<ParseCatalog<Step>> parsers) {
+        return new StepCatalog() {
+            @Override
+            protected List<ParseCatalog<Step>> loadParsers() {
+                return parsers;
+            }
+        };
+    }
+
+    private static Step step(final String id) {
+        return new Step(id, id, "icon", new LinkedList<>());
+    }
+
+    private static void eventually(final Supplier<Boolean> condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.get(); i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertTrue(condition.get());
+    }
+
+    private static final class Parsed implements ParseCatalog<Step> {
+        private final String source;
+        private volatile Supplier<String> fingerprint;
+        private volatile Supplier<List<Step>> parse;
+
+        Parsed(final String source, final Supplier<String> fingerprint, final Supplier<List<Step>> parse) {
+            this.source = source;
+            this.fingerprint = fingerprint;
+            this.parse = parse;
+        }
+
+        @Override
+        public CompletableFuture<List<Step>> parse() {
+            return CompletableFuture.supplyAsync(() -> parse.get());
+        }
+
+        @Override
+        public void setFileVisitor(final ProcessFile<Step> fileVisitor) {
+            //nothing to visit
+        }
+
+        @Override
+        public String fingerprint() {
+            return fingerprint.get();
+        }
+
+        @Override
+        public String source() {
+            return source;
+        }
+    }
+
+    private static final class Watched implements WatchedParseCatalog<Step> {
+        private final String source;
+        private final Supplier<CompletableFuture<List<Step>>> parse;
+        private final List<Listener<Step>> listeners = new ArrayList<>();
+
+        Watched(final String source, final Supplier<CompletableFuture<List<Step>>> parse) {
+            this.source = source;
+            this.parse = parse;
+        }
+
+        @Override
+        public CompletableFuture<List<Step>> parse() {
+            return parse.get();
+        }
+
+        @Override
+        public void setFileVisitor(final ProcessFile<Step> fileVisitor) {
+            //nothing to visit
+        }
+
+        @Override
+        public String source() {
+            return source;
+        }
+
+        @Override
+        public void addListener(final Listener<Step> listener) {
+            listeners.add(listener);
+            parse.get().thenAccept(elements -> listener.changed(Set.of(), elements));
+        }
+    }
+}
@@ -2,11 +2,13 @@ package io.kaoto.backend.api.resource.v1;
 
 import io.quarkus.test.common.http.TestHTTPEndpoint;
 import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import javax.ws.rs.core.Response;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
 
 @QuarkusTest
 @TestHTTPEndpoint(CapabilitiesResource.class)
@@ -22,4 +24,20 @@ class CapabilitiesResourceTest {
                 .then()
                 .statusCode(Response.Status.OK.getStatusCode());
     }
+
+    @Test
+    void revalidate() {
+        var etag = given().get().then().statusCode(200).extract().header("ETag");
+        Assertions.assertNotNull(etag);
+        Assertions.assertEquals(etag, given().get().then().statusCode(200).extract().header("ETag"));
+        given().header("If-None-Match", etag).get().then().statusCode(304);
+
+        var schema = given().get("/Kamelet/schema").then().statusCode(200).extract();
+        Assertions.assertNotNull(schema.header("ETag"));
+        Assertions.assertNotEquals(etag, schema.header("ETag"));
+        Assertions.assertFalse(schema.asString().isEmpty());
+        given().header("If-None-Match", schema.header("ETag")).get("/Kamelet/schema").then().statusCode(304);
+
+        given().get("/Unknown/schema").then().statusCode(200).body(is(""));
+    }
 }
@@ -1,5 +1,7 @@
 package io.kaoto.backend.api.resource.v1;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
 import io.quarkus.test.junit.QuarkusTest;
@@ -12,9 +14,15 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -103,6 +111,126 @@ class DeploymentsResourceTest {
         assertEquals("[]", res.extract().response().asString());
     }
 
+    @Test
+    void pages() throws URISyntaxException, IOException {
+        catalog.waitForWarmUp().join();
+
+        String yamlBinding = Files.readString(Path.of(
+                DeploymentsResourceTest.class.getResource(
+                                "../twitter-search-source-binding.yaml")
+                        .toURI()));
+        for (int i = 0; i < 3; i++) {
+            given()
+                    .when().body(yamlBinding)
+                    .contentType("text/yaml")
+                    .post("/{name}", "paged")
+                    .then()
+                    .statusCode(Response.Status.OK.getStatusCode());
+        }
+
+        final List<String> names = new ArrayList<>();
+        String next = "";
+        int pages = 0;
+        while (next != null && pages++ < 10) {
+            final var res = given()
+                    .when()
+                    .queryParam("limit", 2)
+                    .queryParam("continue", next)
+                    .queryParam("summary", true)
+                    .get()
+                    .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .extract().response();
+            final List<Map<String, Object>> items = res.jsonPath().getList("$");
+            for (var item : items) {
+                assertEquals("KameletBinding", item.get("type"));
+                assertNotNull(item.get("status"));
+                assertFalse(item.containsKey("date"));
+                assertFalse(item.containsKey("namespace"));
+                names.add((String) item.get("name"));
+            }
+            next = res.header("Continue");
+        }
+        assertEquals(3, names.size());
+        assertEquals(3, names.stream().distinct().count());
+
+        given()
+                .when()
+                .queryParam("continue", "not a token")
+                .get()
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+
+        for (var name : names) {
+            given()
+                    .when()
+                    .delete("/{name}", name)
+                    .then()
+                    .statusCode(Response.Status.OK.getStatusCode());
+        }
+    }
+
+    @Test
+    void bulk() throws URISyntaxException, IOException {
+        catalog.waitForWarmUp().join();
+
+        String yamlBinding = Files.readString(Path.of(
+                DeploymentsResourceTest.class.getResource(
+                                "../twitter-search-source-binding.yaml")
+                        .toURI()));
+        final var one = yamlBinding.replace("name: integration-4", "name: bulk-one");
+        final var two = yamlBinding.replace("name: integration-4", "name: Bulk-Two");
+        final var mapper = new ObjectMapper();
+
+        var results = results(mapper, given()
+                .when().body(one + "\n---\n" + two + "\n---\n" + one + "\n---\nkind: Unknown\n")
+                .contentType("text/yaml")
+                .accept("application/x-ndjson")
+                .post());
+        assertEquals(Set.of(0L, 1L, 2L, 3L), results.keySet());
+        assertEquals("CREATED", results.get(0L).get("outcome").asText());
+        assertEquals("bulk-one", results.get(0L).get("name").asText());
+        assertEquals("CREATED", results.get(1L).get("outcome").asText());
+        assertEquals("bulk-two", results.get(1L).get("name").asText());
+        assertEquals("FAILED", results.get(2L).get("outcome").asText());
+        assertTrue(results.get(2L).has("error"));
+        assertEquals("FAILED", results.get(3L).get("outcome").asText());
+
+        //applying it again updates it
+        results = results(mapper, given()
+                .when().body(one)
+                .queryParam("force", true)
+                .contentType("text/yaml")
+                .accept("application/x-ndjson")
+                .post());
+        assertEquals("UPDATED", results.get(0L).get("outcome").asText());
+
+        results = results(mapper, given()
+                .when()
+                .queryParam("name", "bulk-one", "bulk-two", "missing")
+                .accept("application/x-ndjson")
+                .delete());
+        assertEquals("DELETED", results.get(0L).get("outcome").asText());
+        assertEquals("DELETED", results.get(1L).get("outcome").asText());
+        assertEquals("FAILED", results.get(2L).get("outcome").asText());
+    }
+
+    private Map<Long, JsonNode> results(final ObjectMapper mapper, final io.restassured.response.Response response)
+            throws IOException {
+        final var body = response.then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().body().asString();
+
+        Map<Long, JsonNode> results = new HashMap<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                JsonNode result = mapper.readTree(line);
+                results.put(result.get("index").asLong(), result);
+            }
+        }
+        return results;
+    }
+
     @Inject
     public void setCatalog(final StepCatalog catalog) {
         this.catalog = catalog;
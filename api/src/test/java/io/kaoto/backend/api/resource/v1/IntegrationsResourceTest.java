@@ -11,8 +11,11 @@ import java.io.InputStreamReader;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.ws.rs.core.Response;
 
@@ -20,6 +23,9 @@ import org.junit.jupiter.api.Test;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.kaoto.backend.api.resource.v1.model.Integration;
 import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletRepresenter;
 import io.kaoto.backend.model.deployment.kamelet.KameletBinding;
@@ -362,4 +368,88 @@ class IntegrationsResourceTest {
         var to = (Map<String, Object>) ((Map<String, Object>) steps.get(0)).get("to");
         assertEquals("log:", to.get("uri"));
     }
+
+    @Test
+    void batch() throws Exception {
+        String yaml = Files.readString(Path.of(
+                DeploymentsResourceTest.class.getResource("../eip.kamelet.yaml").toURI()));
+        ObjectMapper mapper = new ObjectMapper();
+
+        String body = mapper.writeValueAsString(yaml) + "\n\n42\n" + mapper.writeValueAsString("- not: [valid") + "\n";
+        Map<Long, JsonNode> results = batch(mapper, body);
+        assertEquals(Set.of(0L, 2L, 3L), results.keySet());
+        assertTrue(results.get(2L).has("error"));
+        assertTrue(results.get(3L).has("error"));
+        JsonNode integration = results.get(0L).get("integration");
+        assertEquals("Kamelet", integration.get("dsl").asText());
+
+        //and back, twice, to make sure results are not mixed up
+        body = mapper.writeValueAsString(integration) + "\n" + mapper.writeValueAsString(integration) + "\n";
+        results = batch(mapper, body);
+        assertEquals(Set.of(0L, 1L), results.keySet());
+        for (JsonNode result : results.values()) {
+            assertThat(result.get("crd").asText()).isEqualToNormalizingNewlines(yaml);
+        }
+    }
+
+    @Test
+    void flows() throws Exception {
+        String route = "- from:\n    id: first\n    uri: timer:first\n    steps:\n    - to: log:first\n"
+                + "- from:\n    id: second\n    uri: timer:second\n    steps:\n    - to: log:second\n";
+        ObjectMapper mapper = new ObjectMapper();
+
+        List<JsonNode> integrations = flows(mapper, route, "");
+        assertEquals(List.of("first", "second"), integrations.stream().map(i -> i.get("id").asText()).toList());
+        for (JsonNode integration : integrations) {
+            assertEquals("Camel Route", integration.get("dsl").asText());
+            assertTrue(integration.get("steps").size() > 0);
+        }
+
+        integrations = flows(mapper, route, "&id=second");
+        assertEquals(1, integrations.size());
+        assertEquals("second", integrations.get(0).get("id").asText());
+        assertTrue(flows(mapper, route, "&id=third").isEmpty());
+    }
+
+    private List<JsonNode> flows(final ObjectMapper mapper, final String route, final String query)
+            throws IOException {
+        String response = given()
+                .when()
+                .contentType("text/yaml")
+                .accept("application/x-ndjson")
+                .body(route)
+                .post("/flows?dsl=Camel Route" + query)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().body().asString();
+
+        List<JsonNode> integrations = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            if (!line.isBlank()) {
+                integrations.add(mapper.readTree(line));
+            }
+        }
+        return integrations;
+    }
+
+    private Map<Long, JsonNode> batch(final ObjectMapper mapper, final String body) throws IOException {
+        String response = given()
+                .when()
+                .contentType("application/x-ndjson")
+                .accept("application/x-ndjson")
+                .body(body)
+                .post("/batch?dsl=Kamelet")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().body().asString();
+
+        Map<Long, JsonNode> results = new HashMap<>();
+        for (String line : response.split("\n")) {
+            if (!line.isBlank()) {
+                JsonNode result = mapper.readTree(line);
+                results.put(result.get("index").asLong(), result);
+            }
+        }
+        return results;
+    }
 }
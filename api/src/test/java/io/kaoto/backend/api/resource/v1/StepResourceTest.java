@@ -4,6 +4,8 @@ import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,8 @@ import javax.inject.Inject;
 import java.util.Collection;
 import java.util.List;
 
+import static io.restassured.RestAssured.given;
+
 @QuarkusTest
 @TestHTTPEndpoint(StepResource.class)
 class StepResourceTest {
@@ -98,6 +102,30 @@ class StepResourceTest {
         }
     }
 
+    @Test
+    void cachedResponses() {
+        var etag = given().get().then().statusCode(200).extract().header("ETag");
+        Assertions.assertNotNull(etag);
+        Assertions.assertEquals(etag, given().get().then().statusCode(200).extract().header("ETag"));
+
+        given().header("If-None-Match", etag).get().then().statusCode(304);
+        given().queryParam("kind", "Kamelet").header("If-None-Match", etag).get().then().statusCode(200);
+        given().header("If-None-Match", "\"outdated\"").get().then().statusCode(200);
+        given().header("If-None-Match", "W/" + etag).get().then().statusCode(304);
+        given().header("If-None-Match", "\"outdated\", " + etag).get().then().statusCode(304);
+    }
+
+    @Test
+    void compressedResponses() {
+        final var raw = RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+        Assertions.assertEquals("gzip", given().config(raw).header("Accept-Encoding", "gzip, deflate")
+                .get().then().statusCode(200).extract().header("Content-Encoding"));
+        Assertions.assertNull(given().config(raw).header("Accept-Encoding", "gzip;q=0, identity")
+                .get().then().statusCode(200).extract().header("Content-Encoding"));
+        Assertions.assertNull(given().config(raw).header("Accept-Encoding", "identity")
+                .get().then().statusCode(200).extract().header("Content-Encoding"));
+    }
+
     @Test
     void allSteps() {
         Collection<Step> steps = stepResource.all(null, null, null, null, null, null, null);
@@ -27,6 +27,7 @@ import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -195,4 +196,19 @@ class DeploymentServiceTest {
         var yaml2 = deploymentService.crd(parsed, "Camel Route");
         assertThat(yaml).isEqualToNormalizingNewlines(yaml2);
     }
+
+    @Test
+    void allDslsAtOnce() throws IOException {
+        var json = new String(this.getClass().getResourceAsStream("route-choice-null-condition.json").readAllBytes(),
+                StandardCharsets.UTF_8);
+        Integration parsed = new ObjectMapper().readValue(json, new TypeReference<>() {});
+        parsed.setMetadata(Map.of("name", "choice"));
+
+        var res = deploymentService.crd("choice", parsed.getSteps().toArray(new Step[0]));
+        Assertions.assertTrue(res.size() > 1);
+        for (var crd : res) {
+            //the same each dsl generates on its own
+            assertThat(crd.get("crd")).isEqualTo(deploymentService.crd(parsed, crd.get("dsl")));
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package io.kaoto.backend.api.service.viewdefinition.parser;
+
+import io.kaoto.backend.model.step.Branch;
+import io.kaoto.backend.model.step.Step;
+import io.kaoto.backend.model.view.ConstraintOperation;
+import io.kaoto.backend.model.view.ViewDefinition;
+import io.kaoto.backend.model.view.ViewDefinitionConstraint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ViewDefinitionIndexTest {
+
+    @Test
+    void matchInCatalogOrder() {
+        final var index = ViewDefinitionIndex.compile(1, List.of(
+                view("any", "generic"),
+                view("choice", "step", constraint(ConstraintOperation.CONTAINS_STEP_NAME, "CHOICE", true)),
+                view("unknown", "other"),
+                view("big", "generic", constraint(ConstraintOperation.SIZE_GREATER_THAN, "2", true)),
+                view("log", "generic",
+                        constraint(ConstraintOperation.CONTAINS_STEP_TYPE, "kamelet", false),
+                        constraint(ConstraintOperation.CONTAINS_STEP_IDENTIFIER, "log-1", false)),
+                view("wrong", "generic", constraint(ConstraintOperation.SIZE_EQUALS, "one", true)),
+                view("each", "step")));
+
+        final var choice = step("choice-1", "choice", "EIP", "a");
+        final var log = step("log-1", "log", "Kamelet", "b");
+        choice.setBranches(new ArrayList<>());
+        final var branch = new Branch();
+        branch.getSteps().add(log);
+        choice.getBranches().add(branch);
+        final var end = step("end-1", "end", "Kamelet", "c");
+
+        Assertions.assertEquals(List.of("any", "choice@a", "log", "each@a", "each@b", "each@c"),
+                names(index.match(List.of(choice, end))));
+        Assertions.assertEquals(List.of("any", "big", "log", "each@c", "each@c", "each@c"),
+                names(index.match(List.of(end, end, end))));
+        Assertions.assertEquals(List.of("any"), names(index.match(List.of())));
+    }
+
+    @Test
+    void noStepsPassNoConstraint() {
+        final var index = ViewDefinitionIndex.compile(1, List.of(
+                view("any", "generic"),
+                view("empty", "generic", constraint(ConstraintOperation.SIZE_EQUALS, "0", true)),
+                view("small", "generic", constraint(ConstraintOperation.SIZE_SMALLER_THAN, "3", true)),
+                view("either", "generic",
+                        constraint(ConstraintOperation.SIZE_SMALLER_THAN, "3", false),
+                        constraint(ConstraintOperation.CONTAINS_STEP_NAME, "log", false)),
+                view("each", "step")));
+
+        Assertions.assertEquals(List.of("any"), names(index.match(null)));
+        Assertions.assertEquals(List.of("any", "empty", "small", "either"), names(index.match(List.of())));
+    }
+
+    private static List<String> names(final List<ViewDefinition> views) {
+        return views.stream().map(v -> v.getStep() == null ? v.getName() : v.getName() + "@" + v.getStep()).toList();
+    }
+
+    private static ViewDefinition view(final String name, final String type,
+                                       final ViewDefinitionConstraint... constraints) {
+        final var view = new ViewDefinition();
+        view.setName(name);
+        view.setType(type);
+        view.setConstraints(List.of(constraints));
+        return view;
+    }
+
+    private static ViewDefinitionConstraint constraint(final ConstraintOperation operation, final String parameter,
+                                                       final boolean mandatory) {
+        final var constraint = new ViewDefinitionConstraint();
+        constraint.setOperation(operation);
+        constraint.setParameter(parameter);
+        constraint.setMandatory(mandatory);
+        return constraint;
+    }
+
+    private static Step step(final String id, final String name, final String kind, final String uuid) {
+        final var step = new Step();
+        step.setId(id);
+        step.setName(name);
+        step.setKind(kind);
+        step.setType(Step.MIDDLE);
+        step.setUUID(uuid);
+        return step;
+    }
+}
@@ -0,0 +1,86 @@
+package io.kaoto.backend.benchmarks;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.metadata.MetadataCatalog;
+import io.kaoto.backend.metadata.catalog.IndexedCatalog;
+import io.kaoto.backend.metadata.catalog.ReadOnlyCatalog;
+import io.kaoto.backend.model.step.Step;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🐱class CatalogBenchmark
+ *
+ * Queries on a catalog of the size given, filled with copies of the steps of
+ * the bundled catalog. It is built as StepCatalog builds its own: indexed
+ * by kind and read through a ReadOnlyCatalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private MetadataCatalog<Step> catalog;
+
+    private String id;
+    private String name;
+    private String kind;
+
+    @Setup
+    public void setUp() {
+        final var bundled = new ArrayList<>(Fixtures.stepCatalog().getReadOnlyCatalog().getAll());
+        final List<Step> steps = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final var step = bundled.get(i % bundled.size()).clone();
+            step.setId(step.getId() + "-" + i);
+            steps.add(step);
+        }
+        final var indexed = new IndexedCatalog<Step>(Map.of(StepCatalog.KIND, Step::getKind));
+        indexed.store(steps);
+        catalog = new ReadOnlyCatalog<>(indexed);
+        id = steps.get(size / 2).getId();
+        name = steps.get(size / 2).getName();
+        kind = steps.get(size / 2).getKind();
+    }
+
+    @Benchmark
+    public Step searchByID() {
+        return catalog.searchByID(id);
+    }
+
+    @Benchmark
+    public Collection<Step> searchByName() {
+        return catalog.searchByName(name);
+    }
+
+    @Benchmark
+    public Collection<Step> searchByKind() {
+        return catalog.searchByIndex(StepCatalog.KIND, kind);
+    }
+
+    @Benchmark
+    public Collection<Step> getAll() {
+        return catalog.getAll();
+    }
+}
@@ -0,0 +1,38 @@
+package io.kaoto.backend.benchmarks;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🐱class CatalogWarmUpBenchmark
+ *
+ * Full warm up of the step catalog from the bundled sources, parsing them
+ * or using the catalog precompiled at build time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CatalogWarmUpBenchmark {
+
+    @Param({"false", "true"})
+    public boolean precompiled;
+
+    @Benchmark
+    public StepCatalog warmUp() {
+        return Fixtures.warmUpStepCatalog(precompiled);
+    }
+}
@@ -0,0 +1,198 @@
+package io.kaoto.backend.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.metadata.catalog.ViewDefinitionCatalog;
+import io.kaoto.backend.api.service.serialization.Serialization;
+import io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService;
+import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.parser.PrecompiledCatalog;
+import io.kaoto.backend.metadata.parser.step.camelroute.CamelRouteParseCatalog;
+import io.kaoto.backend.metadata.parser.step.kamelet.KameletParseCatalog;
+import io.kaoto.backend.metadata.parser.view.ViewDefinitionParseCatalog;
+import io.kaoto.backend.model.step.Step;
+import io.kaoto.backend.model.view.ViewDefinition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 🐱class Fixtures
+ *
+ * Inputs for the benchmarks. Integrations are the ones used on the tests of
+ * each module, scaled to the size each benchmark asks for. Catalogs are
+ * loaded from the same bundled sources the application uses on production.
+ */
+public final class Fixtures {
+
+    private static final Properties PROPERTIES = properties();
+
+    public static final String KAMELETS = property("catalog.kamelets");
+    public static final String COMPONENTS = property("catalog.components");
+    public static final String CONNECTORS = property("catalog.connectors");
+    public static final String VIEWS = property("catalog.views");
+
+    private static final String ALL = StepCatalog.ALL;
+
+    private static StepCatalog stepCatalog;
+    private static ViewDefinitionCatalog viewCatalog;
+
+    private Fixtures() {
+    }
+
+    private static Properties properties() {
+        final var properties = new Properties();
+        try (InputStream in = Fixtures.class.getResourceAsStream("/benchmarks.properties")) {
+            if (in == null) {
+                throw new IllegalStateException("There is no benchmarks.properties, was the module built with maven?");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return properties;
+    }
+
+    /*
+     * Value of the pom property, unless it is overridden on the command line.
+     */
+    private static String property(final String name) {
+        return System.getProperty(name, PROPERTIES.getProperty(name));
+    }
+
+    /*
+     * 🐱method read : String
+     * 🐱param name: String
+     *
+     * Content of a fixture, like "kamelet/eip.kamelet.yaml".
+     */
+    public static String read(final String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("There is no fixture " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * 🐱method scale : String
+     * 🐱param yaml: String
+     * 🐱param times: int
+     * 🐱param path: String[]
+     *
+     * Repeats the list of steps on the path of the yaml the given times.
+     * Numbers on the path are positions on lists.
+     */
+    public static String scale(final String yaml, final int times, final String... path) {
+        try {
+            final var tree = Serialization.readYamlTree(yaml);
+            var node = tree;
+            for (String p : path) {
+                node = node.isArray() ? node.get(Integer.parseInt(p)) : node.get(p);
+            }
+            if (!(node instanceof ArrayNode steps)) {
+                throw new IllegalArgumentException("There are no steps on " + String.join(".", path));
+            }
+            final List<JsonNode> original = new ArrayList<>();
+            steps.forEach(original::add);
+            for (int i = 1; i < times; i++) {
+                original.forEach(step -> steps.add(step.deepCopy()));
+            }
+            return Serialization.yaml().writeValueAsString(tree);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Wrong fixture.", e);
+        }
+    }
+
+    /*
+     * 🐱method stepCatalog : StepCatalog
+     *
+     * Step catalog warmed up from the bundled sources. It is only loaded
+     * once for each benchmark process.
+     */
+    public static synchronized StepCatalog stepCatalog() {
+        if (stepCatalog == null) {
+            stepCatalog = warmUpStepCatalog(false);
+        }
+        return stepCatalog;
+    }
+
+    /*
+     * 🐱method kameletParser : KameletStepParserService
+     * 🐱param catalog: StepCatalog
+     * 🐱param threads: int
+     *
+     * Kamelet parser resolving steps on a pool of the given threads, as
+     * the container would leave it. With no threads it resolves them one
+     * after the other.
+     */
+    public static KameletStepParserService kameletParser(final StepCatalog catalog, final int threads) {
+        final var parser = new KameletStepParserService();
+        parser.setCatalog(catalog);
+        parser.setResolverThreads(threads);
+        return parser;
+    }
+
+    /*
+     * 🐱method viewCatalog : ViewDefinitionCatalog
+     *
+     * View definition catalog warmed up from the bundled source.
+     */
+    public static synchronized ViewDefinitionCatalog viewCatalog() {
+        if (viewCatalog == null) {
+            viewCatalog = new ViewDefinitionCatalog() {
+                @Override
+                protected List<ParseCatalog<ViewDefinition>> loadParsers() {
+                    return List.of(ViewDefinitionParseCatalog.getParser(VIEWS));
+                }
+            };
+            viewCatalog.warmUpCatalog();
+            viewCatalog.waitForWarmUp().join();
+        }
+        return viewCatalog;
+    }
+
+    /*
+     * 🐱method warmUpStepCatalog : StepCatalog
+     * 🐱param precompiled: boolean
+     *
+     * Warms up a new step catalog from the bundled sources, parsing them or
+     * using what was precompiled at build time.
+     */
+    public static StepCatalog warmUpStepCatalog(final boolean precompiled) {
+        final var catalog = new StepCatalog() {
+            @Override
+            protected List<ParseCatalog<Step>> loadParsers() {
+                final var kamelets = new KameletParseCatalog();
+                final var routes = new CamelRouteParseCatalog();
+                if (precompiled) {
+                    final var compiled = PrecompiledCatalog.load(Step.class);
+                    return List.of(
+                            orElse(compiled.getParser("Kamelet", KAMELETS), kamelets.getParser(KAMELETS)),
+                            orElse(compiled.getParser(ALL, COMPONENTS), routes.getParser(COMPONENTS)),
+                            orElse(compiled.getParser("Camel-Connector", CONNECTORS), routes.getParser(CONNECTORS)));
+                }
+                //Same sources and kinds as the production configuration
+                return List.of(kamelets.getParser(KAMELETS), kamelets.getParser(COMPONENTS),
+                        routes.getParser(COMPONENTS), routes.getParser(CONNECTORS));
+            }
+        };
+        catalog.warmUpCatalog();
+        catalog.waitForWarmUp().join();
+        return catalog;
+    }
+
+    private static ParseCatalog<Step> orElse(final ParseCatalog<Step> parser, final ParseCatalog<Step> fallback) {
+        return parser != null ? parser : fallback;
+    }
+}
@@ -0,0 +1,65 @@
+package io.kaoto.backend.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.kaoto.backend.api.service.serialization.Serialization;
+import io.kaoto.backend.model.deployment.kamelet.FlowStep;
+import io.kaoto.backend.model.deployment.kamelet.step.FlowStepDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🐱class FlowStepDeserializerBenchmark
+ *
+ * Cost of deserializing a single step of a flow, already read as a tree.
+ * The step is the first one of the eip kamelet fixture with the given EIP,
+ * nested steps included: loop, choice and do-try have steps of their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlowStepDeserializerBenchmark {
+
+    @Param({"to", "transacted", "filter", "loop", "choice", "do-try"})
+    public String eip;
+
+    private final FlowStepDeserializer deserializer = new FlowStepDeserializer();
+
+    private JsonNode step;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        final var kamelet = Serialization.readYamlTree(Fixtures.read("kamelet/eip.kamelet.yaml"));
+        for (JsonNode candidate : kamelet.path("spec").path("template").path("from").path("steps")) {
+            if (candidate.has(eip)) {
+                step = candidate;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("There is no " + eip + " step on the fixture.");
+    }
+
+    @Benchmark
+    public FlowStep deserialize() throws JsonProcessingException {
+        return deserializer.deserializeFlowStep(step);
+    }
+
+    @Benchmark
+    public FlowStep readValue() throws JsonProcessingException {
+        return Serialization.json().treeToValue(step, FlowStep.class);
+    }
+}
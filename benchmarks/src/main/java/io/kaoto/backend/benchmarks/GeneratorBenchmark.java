@@ -0,0 +1,82 @@
+package io.kaoto.backend.benchmarks;
+
+import io.kaoto.backend.KamelPopulator;
+import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletDeploymentGeneratorService;
+import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletRepresenter;
+import io.kaoto.backend.model.deployment.kamelet.Kamelet;
+import io.kaoto.backend.model.parameter.Parameter;
+import io.kaoto.backend.model.step.Step;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🐱class GeneratorBenchmark
+ *
+ * Generation of a Kamelet from the steps of the EIP fixture, split on its
+ * phases: populating the resource and dumping it to YAML.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int size;
+
+    private KameletDeploymentGeneratorService generator;
+    private KamelPopulator populator;
+
+    private List<Step> steps;
+    private Map<String, Object> metadata;
+    private List<Parameter> parameters;
+    private Kamelet kamelet;
+
+    @Setup
+    public void setUp() {
+        final var catalog = Fixtures.stepCatalog();
+        final var parser = Fixtures.kameletParser(catalog, Runtime.getRuntime().availableProcessors());
+        generator = new KameletDeploymentGeneratorService();
+        generator.setStepParserService(parser, catalog);
+        populator = new KamelPopulator(catalog);
+
+        final var parsed = parser.deepParse(Fixtures.scale(Fixtures.read("kamelet/eip.kamelet.yaml"), size,
+                "spec", "template", "from", "steps"));
+        steps = parsed.getSteps();
+        metadata = parsed.getMetadata();
+        parameters = parsed.getParameters();
+        kamelet = new Kamelet(steps, metadata, parameters, catalog);
+    }
+
+    @Benchmark
+    public String parse() {
+        return generator.parse(steps, metadata, parameters);
+    }
+
+    @Benchmark
+    public String getYAML() {
+        return generator.getYAML(kamelet, KameletRepresenter.getDumper());
+    }
+
+    @Benchmark
+    public Kamelet populateKamelet() {
+        final var res = new Kamelet();
+        populator.populateKamelet(res, metadata, steps, parameters);
+        return res;
+    }
+}
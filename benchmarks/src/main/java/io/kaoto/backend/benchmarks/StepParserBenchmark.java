@@ -0,0 +1,88 @@
+package io.kaoto.backend.benchmarks;
+
+import io.kaoto.backend.api.service.step.parser.StepParserService;
+import io.kaoto.backend.api.service.step.parser.camelroute.CamelRouteStepParserService;
+import io.kaoto.backend.api.service.step.parser.kamelet.KameletBindingStepParserService;
+import io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService;
+import io.kaoto.backend.model.step.Step;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🐱class StepParserBenchmark
+ *
+ * Parsing of each DSL into steps. The size is how many times the steps of
+ * the fixture are repeated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepParserBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int size;
+
+    //0 resolves the steps one after the other, to compare with the pool
+    @Param({"0", "4"})
+    public int resolverThreads;
+
+    private KameletStepParserService kameletParser;
+    private KameletBindingStepParserService bindingParser;
+    private CamelRouteStepParserService routeParser;
+
+    private String kamelet;
+    private String binding;
+    private String route;
+
+    @Setup
+    public void setUp() {
+        final var catalog = Fixtures.stepCatalog();
+        kameletParser = Fixtures.kameletParser(catalog, resolverThreads);
+        bindingParser = new KameletBindingStepParserService();
+        bindingParser.setCatalog(catalog);
+        routeParser = new CamelRouteStepParserService();
+        routeParser.setKsps(kameletParser);
+
+        kamelet = Fixtures.scale(Fixtures.read("kamelet/eip.kamelet.yaml"), size,
+                "spec", "template", "from", "steps");
+        binding = Fixtures.scale(Fixtures.read("kamelet/twitter-search-source-binding.yaml"), size,
+                "spec", "steps");
+        route = Fixtures.scale(Fixtures.read("camelroute/route.yaml"), size,
+                "0", "from", "steps");
+    }
+
+    @TearDown
+    public void tearDown() {
+        kameletParser.setResolverThreads(0);
+    }
+
+    @Benchmark
+    public StepParserService.ParseResult<Step> kamelet() {
+        return kameletParser.deepParse(kamelet);
+    }
+
+    @Benchmark
+    public StepParserService.ParseResult<Step> kameletBinding() {
+        return bindingParser.deepParse(binding);
+    }
+
+    @Benchmark
+    public StepParserService.ParseResult<Step> camelRoute() {
+        return routeParser.deepParse(route);
+    }
+}
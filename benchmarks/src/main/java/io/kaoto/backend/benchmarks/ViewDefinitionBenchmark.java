@@ -0,0 +1,56 @@
+package io.kaoto.backend.benchmarks;
+
+import io.kaoto.backend.api.service.viewdefinition.parser.GenericViewDefinitionParserService;
+import io.kaoto.backend.model.step.Step;
+import io.kaoto.backend.model.view.ViewDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🐱class ViewDefinitionBenchmark
+ *
+ * Views offered for the steps of the EIP fixture, against the bundled view
+ * definition catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ViewDefinitionBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int size;
+
+    private GenericViewDefinitionParserService viewParser;
+
+    private List<Step> steps;
+
+    @Setup
+    public void setUp() {
+        viewParser = new GenericViewDefinitionParserService();
+        viewParser.setCatalog(Fixtures.viewCatalog());
+
+        final var parser = Fixtures.kameletParser(Fixtures.stepCatalog(), 0);
+        steps = parser.deepParse(Fixtures.scale(Fixtures.read("kamelet/eip.kamelet.yaml"), size,
+                "spec", "template", "from", "steps")).getSteps();
+    }
+
+    @Benchmark
+    public List<ViewDefinition> parse() {
+        return viewParser.parse(steps);
+    }
+}
@@ -3,8 +3,10 @@ package io.kaoto.backend.api.service.deployment.generator.camelroute;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.kaoto.backend.KamelPopulator;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.deployment.generator.Generation;
 import io.kaoto.backend.model.deployment.Deployment;
 import io.kaoto.backend.model.deployment.camelroute.CamelRoute;
 import io.kaoto.backend.model.parameter.Parameter;
@@ -12,13 +14,12 @@ import io.kaoto.backend.model.step.Step;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import org.jboss.logging.Logger;
 import org.yaml.snakeyaml.DumperOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.nodes.Tag;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -41,6 +42,8 @@ public class CamelRouteDeploymentGeneratorService implements DeploymentGenerator
 
     private Logger log = Logger.getLogger(CamelRouteDeploymentGeneratorService.class);
 
+    private String schema;
+
     private StepCatalog catalog;
 
     public CamelRouteDeploymentGeneratorService() {
@@ -62,22 +65,34 @@ public class CamelRouteDeploymentGeneratorService implements DeploymentGenerator
 
     @Override
     public String validationSchema() {
-        try {
-            String schema = new String(CamelRouteDeploymentGeneratorService.class
-                    .getResourceAsStream("camel-yaml-dsl.json").readAllBytes());
-            return schema;
+        if (schema == null) {
+            schema = loadSchema();
+        }
+        return schema;
+    }
+
+    private String loadSchema() {
+        try (var in = CamelRouteDeploymentGeneratorService.class.getResourceAsStream("camel-yaml-dsl.json")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
             log.error("Can't load Camel YAML DSL schema", e);
         }
-        return  "";
+        return "";
     }
 
     @Override
     public String parse(final List<Step> steps,
                         final Map<String, Object> metadata,
                         final List<Parameter> parameters) {
-        Yaml yaml = new Yaml(new Constructor(CamelRoute.class), new CamelRouteRepresenter());
-        return yaml.dumpAs(new CamelRoute(steps, catalog), Tag.SEQ, DumperOptions.FlowStyle.BLOCK);
+        return CamelRouteRepresenter.getDumper()
+                .dumpAs(new CamelRoute(steps, catalog), Tag.SEQ, DumperOptions.FlowStyle.BLOCK);
+    }
+
+    @Override
+    public String parse(final Generation generation) {
+        return CamelRouteRepresenter.getDumper().dumpAs(
+                new CamelRoute(new KamelPopulator(catalog).getFlow(generation)),
+                Tag.SEQ, DumperOptions.FlowStyle.BLOCK);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package io.kaoto.backend.api.service.deployment.generator.camelroute;
 
+import io.kaoto.backend.api.service.serialization.YamlDumper;
 import io.kaoto.backend.model.deployment.camelroute.CamelRoute;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.nodes.Node;
@@ -7,6 +8,7 @@ import org.yaml.snakeyaml.nodes.Tag;
 
 public class CamelRouteRepresenter extends IntegrationRepresenter {
 
+    private static final YamlDumper DUMPER = new YamlDumper(CamelRouteRepresenter::new);
 
     public CamelRouteRepresenter() {
         super();
@@ -20,4 +22,13 @@ public class CamelRouteRepresenter extends IntegrationRepresenter {
                     }
                 });
     }
+
+    /*
+     * 🐱method getDumper : YamlDumper
+     *
+     * Shared dumper that writes YAML with this representer.
+     */
+    public static YamlDumper getDumper() {
+        return DUMPER;
+    }
 }
@@ -1,14 +1,14 @@
 package io.kaoto.backend.api.service.deployment.generator.camelroute;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.kaoto.backend.KamelPopulator;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.deployment.generator.Generation;
 import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletDeploymentGeneratorService;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import io.kaoto.backend.api.service.step.parser.camelroute.IntegrationStepParserService;
 import io.kaoto.backend.model.deployment.Deployment;
 import io.kaoto.backend.model.deployment.camelroute.Integration;
@@ -21,6 +21,7 @@ import org.jboss.logging.Logger;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
@@ -38,9 +39,12 @@ public class IntegrationDeploymentGeneratorService implements DeploymentGenerato
     private static final String EIP = "EIP";
     private static final String EIP_BRANCHES = "EIP-BRANCH";
     private static final List<String> KINDS = Arrays.asList(CAMEL_CONNECTOR, EIP, EIP_BRANCHES);
+    private static final String CREATED_BY_KIND = "camel.apache.org/created.by.kind";
 
     private Logger log = Logger.getLogger(IntegrationDeploymentGeneratorService.class);
 
+    private String schema;
+
     private IntegrationStepParserService stepParserService;
 
     private KameletDeploymentGeneratorService kdgs;
@@ -65,10 +69,15 @@ public class IntegrationDeploymentGeneratorService implements DeploymentGenerato
 
     @Override
     public String validationSchema() {
-        try {
-            String schema = new String(CamelRouteDeploymentGeneratorService.class
-                    .getResourceAsStream("integration.json").readAllBytes());
-            return schema;
+        if (schema == null) {
+            schema = loadSchema();
+        }
+        return schema;
+    }
+
+    private String loadSchema() {
+        try (var in = CamelRouteDeploymentGeneratorService.class.getResourceAsStream("integration.json")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
             log.error("Can't load Integration DSL schema", e);
         }
@@ -77,20 +86,20 @@ public class IntegrationDeploymentGeneratorService implements DeploymentGenerato
 
     @Override
     public String parse(final List<Step> steps, final Map<String, Object> metadata, final List<Parameter> parameters) {
-        return kdgs.getYAML(new Integration(steps, metadata, catalog), new IntegrationRepresenter());
+        return kdgs.getYAML(new Integration(steps, metadata, catalog), IntegrationRepresenter.getDumper());
+    }
+
+    @Override
+    public String parse(final Generation generation) {
+        return kdgs.getYAML(new Integration(generation.getMetadata(), new KamelPopulator(catalog).getFlow(generation)),
+                IntegrationRepresenter.getDumper());
     }
 
     @Override
     public CustomResource parse(final String input) {
         if (stepParserService.appliesTo(input)) {
             try {
-                ObjectMapper yamlMapper =
-                        new ObjectMapper(new YAMLFactory())
-                                .configure(
-                                        DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
-                                        false);
-
-                return yamlMapper.readValue(input, Integration.class);
+                return Serialization.readYaml(input, Integration.class);
             } catch (Exception e) {
                 log.trace("Tried creating an integration and it didn't work.");
             }
@@ -132,27 +141,30 @@ public class IntegrationDeploymentGeneratorService implements DeploymentGenerato
         return Arrays.asList(new Class[]{Integration.class});
     }
 
+    /*
+     * Integrations created by a KameletBinding are listed as the binding.
+     */
+    @Override
+    public boolean isDeployment(final CustomResource cr) {
+        return cr.getMetadata() == null
+                || cr.getMetadata().getLabels() == null
+                || !cr.getMetadata().getLabels().containsKey(CREATED_BY_KIND);
+    }
+
     @Override
     public Collection<? extends Deployment> getResources(final String namespace, final KubernetesClient kclient) {
         List<Deployment> res = new LinkedList<>();
         try {
-            String createdLabel = "camel.apache.org/created.by.kind";
             final var resources = kclient.resources(Integration.class).inNamespace(namespace).list();
             for (CustomResource customResource : resources.getItems()) {
-                if (customResource.getMetadata() == null
-                        || customResource.getMetadata().getLabels() == null
-                        || !customResource.getMetadata().getLabels().containsKey(createdLabel)) {
+                if (isDeployment(customResource)) {
                     res.add(new Deployment(customResource, getStatus(customResource)));
-
-                    if (Span.current() != null) {
-                        Span.current().setAttribute("CustomResource[" + res.size() + "]",
-                                res.get(res.size() - 1).toString());
-                    }
                 }
             }
         } catch (Exception e) {
             log.warn("Error extracting the list of integrations.", e);
         }
+        Span.current().setAttribute("Integration.count", res.size());
 
         return res;
     }
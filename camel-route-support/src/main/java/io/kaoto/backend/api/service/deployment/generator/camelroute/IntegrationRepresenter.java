@@ -1,6 +1,7 @@
 package io.kaoto.backend.api.service.deployment.generator.camelroute;
 
 import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletRepresenter;
+import io.kaoto.backend.api.service.serialization.YamlDumper;
 import io.kaoto.backend.model.deployment.camelroute.IntegrationSpec;
 import io.kaoto.backend.model.deployment.kamelet.Flow;
 import org.yaml.snakeyaml.DumperOptions;
@@ -12,12 +13,22 @@ import java.util.Map;
 
 public class IntegrationRepresenter extends KameletRepresenter {
 
+    private static final YamlDumper DUMPER = new YamlDumper(IntegrationRepresenter::new);
 
     public IntegrationRepresenter() {
         super();
         spec();
     }
 
+    /*
+     * 🐱method getDumper : YamlDumper
+     *
+     * Shared dumper that writes YAML with this representer.
+     */
+    public static YamlDumper getDumper() {
+        return DUMPER;
+    }
+
     private void spec() {
         this.multiRepresenters.put(IntegrationSpec.class,
                 new RepresentMap() {
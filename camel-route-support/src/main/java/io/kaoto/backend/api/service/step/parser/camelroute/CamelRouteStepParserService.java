@@ -1,31 +1,44 @@
 package io.kaoto.backend.api.service.step.parser.camelroute;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService;
-import io.kaoto.backend.model.deployment.camelroute.CamelRoute;
 import io.kaoto.backend.model.deployment.kamelet.Flow;
-import io.kaoto.backend.model.deployment.kamelet.FlowStep;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import org.jboss.logging.Logger;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 🐱miniclass CamelRouteStepParserService (StepParserService)
+ *
+ * Camel routes are read as a stream of flows, so big files with lots of
+ * flows don't need to be loaded in memory.
  */
 @ApplicationScoped
 @RegisterForReflection
 public class CamelRouteStepParserService implements StepParserService<Step> {
+    private static final ObjectReader FLOW_READER = Serialization.yamlReader(Flow.class);
+
     private Logger log = Logger.getLogger(CamelRouteStepParserService.class);
 
     private KameletStepParserService ksps;
@@ -38,35 +51,106 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
         return "A camel route is a non deployable in cluster workflow of actions and steps.";
     }
 
+    /*
+     * Right now we discard any flow that is not the first, so we don't even
+     * read them.
+     */
     @Override
     public ParseResult<Step> deepParse(final String input) {
+        try (var flows = streamParse(new StringReader(input))) {
+            return flows.findFirst().orElseGet(this::empty);
+        }
+    }
+
+    @Override
+    public ParseResult<Step> deepParse(final JsonNode input) {
         if (!appliesTo(input)) {
             throw new IllegalArgumentException(
                     "Wrong format provided. This is not parseable by us.");
         }
 
-        ParseResult<Step> res = new ParseResult<>();
+        try (var flows = flows(input.traverse(Serialization.yaml()))) {
+            return flows.findFirst().map(flow -> processFlow(ksps.forParse(), flow)).orElseGet(this::empty);
+        }
+    }
+
+    /*
+     * All the flows share what we find on the catalog.
+     */
+    @Override
+    public Stream<ParseResult<Step>> streamParse(final Reader input) {
+        final var parser = ksps.forParse();
+        return flows(input).map(flow -> processFlow(parser, flow));
+    }
+
+    /*
+     * Only the flow with the given id is converted to steps.
+     */
+    @Override
+    public Optional<ParseResult<Step>> deepParse(final Reader input, final String id) {
+        try (var flows = flows(input)) {
+            return flows.filter(flow -> flow.getFrom() != null && Objects.equals(id, flow.getFrom().getId()))
+                    .findFirst()
+                    .map(flow -> processFlow(ksps.forParse(), flow));
+        }
+    }
 
-        List<Step> steps = new ArrayList<>();
+    private Stream<Flow> flows(final Reader input) {
         try {
-            CamelRoute route = getCamelRoute(input);
-            var flows = route.getFlows();
-            for (var flow : flows) {
-                var from = flow.getFrom();
-                steps.add(ksps.processStep(from, true, false));
-                if (from.getSteps() != null) {
-                    int i = 0;
-                    for (FlowStep step : from.getSteps()) {
-                        steps.add(ksps.processStep(step, false, i++ == from.getSteps().size() - 1));
-                    }
-                }
+            return flows(Serialization.yaml().createParser(input));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Wrong format provided. This is not parseable by us.", e);
+        }
+    }
+
+    /*
+     * Reads the flows of the list one by one, when the stream asks for them.
+     */
+    private Stream<Flow> flows(final JsonParser parser) {
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException(
+                        "Wrong format provided. This is not parseable by us.");
+            }
+        } catch (IOException e) {
+            close(parser);
+            throw new IllegalArgumentException("Wrong format provided. This is not parseable by us.", e);
+        } catch (IllegalArgumentException e) {
+            close(parser);
+            throw e;
+        }
 
-                //Right now we discard any flow that is not the first
-                if (!steps.isEmpty()) {
-                    break;
+        final var flows = new Spliterators.AbstractSpliterator<Flow>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super Flow> action) {
+                try {
+                    for (var token = parser.nextToken(); token != null && token != JsonToken.END_ARRAY;
+                         token = parser.nextToken()) {
+                        if (token == JsonToken.START_OBJECT) {
+                            action.accept(FLOW_READER.readValue(parser));
+                            return true;
+                        } else if (token != JsonToken.VALUE_NULL) {
+                            throw new IllegalArgumentException(
+                                    "Wrong format provided. This is not parseable by us.");
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Error trying to parse.", e);
                 }
+                return false;
             }
+        };
+        return StreamSupport.stream(flows, false).onClose(() -> close(parser));
+    }
+
+    private ParseResult<Step> processFlow(final KameletStepParserService parser, final Flow flow) {
+        ParseResult<Step> res = new ParseResult<>();
 
+        List<Step> steps;
+        try {
+            steps = parser.processFlow(flow.getFrom());
+            res.setId(flow.getFrom().getId());
         } catch (Exception e) {
             throw new IllegalArgumentException("Error trying to parse.", e);
         }
@@ -75,27 +159,61 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
         return res;
     }
 
+    private ParseResult<Step> empty() {
+        ParseResult<Step> res = new ParseResult<>();
+        res.setSteps(List.of());
+        return res;
+    }
 
-    @Override
-    public boolean appliesTo(final String input) {
-        return getCamelRoute(input) != null;
+    private void close(final JsonParser parser) {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    private CamelRoute getCamelRoute(final String input) {
+    @Override
+    public boolean appliesTo(final String input) {
         try {
-            ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory())
-                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            TypeReference<List<Flow>> mapType = new TypeReference<>() {
-            };
-            List<Flow> flowList = yamlMapper.readValue(input, mapType);
-            var route = new CamelRoute();
-            route.setFlows(flowList);
-            return route;
+            return appliesTo(Serialization.readYamlTree(input));
         } catch (JsonProcessingException e) {
             //We don't care what happened, it is wrongly formatted and that's it
             log.trace("Error trying to parse camel route.", e);
         }
-        return null;
+        return false;
+    }
+
+    /*
+     * A camel route is a list of flows, each one starting with a from or a
+     * route. We don't need to convert it to know.
+     */
+    @Override
+    public boolean appliesTo(final JsonNode input) {
+        if (!input.isArray()) {
+            return false;
+        }
+        boolean found = false;
+        for (JsonNode flow : input) {
+            if (flow.isNull()) {
+                continue;
+            }
+            if (!flow.isObject() || !(flow.has("from") || flow.has("route"))) {
+                return false;
+            }
+            found = true;
+        }
+        return found;
+    }
+
+    /*
+     * All the documents of the batch share what we find on the catalog.
+     */
+    @Override
+    public CamelRouteStepParserService forBatch() {
+        final var batch = new CamelRouteStepParserService();
+        batch.setKsps(ksps.forBatch());
+        return batch;
     }
 
     @Inject
@@ -1,13 +1,12 @@
 package io.kaoto.backend.api.service.step.parser.camelroute;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService;
 import io.kaoto.backend.model.deployment.camelroute.Integration;
 import io.kaoto.backend.model.deployment.kamelet.Flow;
-import io.kaoto.backend.model.deployment.kamelet.FlowStep;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 
@@ -40,6 +39,15 @@ public class IntegrationStepParserService
 
     @Override
     public ParseResult<Step> deepParse(final String input) {
+        try {
+            return deepParse(Serialization.readYamlTree(input));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Wrong format provided. This is not parseable by us.", e);
+        }
+    }
+
+    @Override
+    public ParseResult<Step> deepParse(final JsonNode input) {
         if (!appliesTo(input)) {
             throw new IllegalArgumentException(
                     "Wrong format provided. This is not parseable by us.");
@@ -49,25 +57,14 @@ public class IntegrationStepParserService
 
         List<Step> steps = new ArrayList<>();
         try {
-            ObjectMapper yamlMapper =
-                new ObjectMapper(new YAMLFactory())
-                        .configure(
-                            DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
-                            false);
-            Integration integration = yamlMapper.readValue(input,
-                    Integration.class);
+            Integration integration = Serialization.readYaml(input, Integration.class);
 
             ksps.processMetadata(res, integration.getMetadata());
             res.setParameters(new ArrayList<>());
 
+            final var parser = ksps.forParse();
             for (Flow flow : integration.getSpec().getFlows()) {
-                steps.add(ksps.processStep(flow.getFrom(), true, false));
-                if (flow.getFrom().getSteps() != null) {
-                    int i = 0;
-                    for (FlowStep step : flow.getFrom().getSteps()) {
-                        steps.add(ksps.processStep(step, false, i++ == flow.getFrom().getSteps().size() - 1));
-                    }
-                }
+                steps.addAll(parser.processFlow(flow.getFrom()));
             }
 
 
@@ -97,6 +94,22 @@ public class IntegrationStepParserService
         return false;
     }
 
+    @Override
+    public boolean appliesTo(final JsonNode yaml) {
+        return "Integration".equalsIgnoreCase(yaml.path("kind").asText());
+    }
+
+    /*
+     * Integrations parsed by this instance look up each step on the catalog
+     * only once.
+     */
+    @Override
+    public IntegrationStepParserService forBatch() {
+        final var batch = new IntegrationStepParserService();
+        batch.setKsps(ksps.forBatch());
+        return batch;
+    }
+
     @Inject
     public void setKsps(
             final KameletStepParserService ksps) {
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.kaoto.backend.KamelPopulator;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.model.deployment.kamelet.Flow;
+import io.kaoto.backend.model.deployment.kamelet.step.From;
 import io.kaoto.backend.model.step.Step;
 
 import java.util.LinkedList;
@@ -22,9 +23,13 @@ public class CamelRoute {
     }
 
     public CamelRoute(final List<Step> steps, final StepCatalog catalog) {
+        this(new KamelPopulator(catalog).getFlow(steps));
+    }
+
+    public CamelRoute(final From from) {
         setFlows(new LinkedList<>());
         var flow = new Flow();
-        flow.setFrom(new KamelPopulator(catalog).getFlow(steps));
+        flow.setFrom(from);
         getFlows().add(flow);
     }
 
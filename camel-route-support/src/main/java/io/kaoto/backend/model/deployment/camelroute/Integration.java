@@ -11,6 +11,7 @@ import io.kaoto.backend.KamelPopulator;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.model.deployment.kamelet.Flow;
 import io.kaoto.backend.model.deployment.kamelet.KameletBindingStatus;
+import io.kaoto.backend.model.deployment.kamelet.step.From;
 import io.kaoto.backend.model.step.Step;
 
 import java.io.Serial;
@@ -49,6 +50,10 @@ public final class Integration
     }
 
     public Integration(final List<Step> steps, final Map<String, Object> metadata, final StepCatalog catalog) {
+        this(metadata, new KamelPopulator(catalog).getFlow(steps));
+    }
+
+    public Integration(final Map<String, Object> metadata, final From from) {
 
         this.setMetadata(new ObjectMeta());
         this.getMetadata().setName(
@@ -69,7 +74,7 @@ public final class Integration
         this.setSpec(new IntegrationSpec());
         this.getSpec().setFlows(new ArrayList<>());
         var flow = new Flow();
-        flow.setFrom(new KamelPopulator(catalog).getFlow(steps));
+        flow.setFrom(from);
         this.getSpec().getFlows().add(flow);
     }
 
@@ -2,6 +2,8 @@ package io.kaoto.backend.api.service.step.parser.camelroute;
 
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.api.service.deployment.generator.camelroute.CamelRouteDeploymentGeneratorService;
+import io.kaoto.backend.api.service.serialization.Serialization;
+import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.quarkus.test.junit.QuarkusTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -11,7 +13,9 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -70,6 +74,42 @@ class CamelRouteStepParserServiceTest {
         assertTrue(camelRouteDeploymentGeneratorService.supportedCustomResources().isEmpty());
     }
 
+    @Test
+    void appliesToTree() throws IOException {
+        var route = new String(this.getClass().getResourceAsStream("route.yaml").readAllBytes(),
+                StandardCharsets.UTF_8);
+        var tree = Serialization.readYamlTree(route);
+        assertTrue(camelRouteStepParserService.appliesTo(tree));
+        assertEquals(camelRouteStepParserService.deepParse(route), camelRouteStepParserService.deepParse(tree));
+
+        assertFalse(camelRouteStepParserService.appliesTo(Serialization.readYamlTree("kind: Integration")));
+        assertFalse(camelRouteStepParserService.appliesTo(Serialization.readYamlTree("- just\n- strings")));
+        assertFalse(camelRouteStepParserService.appliesTo(Serialization.readYamlTree("")));
+        assertFalse(camelRouteStepParserService.appliesTo(Serialization.readYamlTree("[]")));
+        assertFalse(camelRouteStepParserService.appliesTo(Serialization.readYamlTree("- name: not a flow")));
+    }
+
+    @Test
+    void streamParse() {
+        var route = "- from:\n    id: first\n    uri: timer:first\n    steps:\n    - to: log:first\n"
+                + "- from:\n    id: second\n    uri: timer:second\n    steps:\n    - to: log:second\n";
+
+        try (var flows = camelRouteStepParserService.streamParse(new StringReader(route))) {
+            assertEquals(List.of("first", "second"), flows.map(StepParserService.ParseResult::getId).toList());
+        }
+
+        var second = camelRouteStepParserService.deepParse(new StringReader(route), "second");
+        assertTrue(second.isPresent());
+        assertEquals("second", second.get().getId());
+        assertFalse(second.get().getSteps().isEmpty());
+        assertFalse(camelRouteStepParserService.deepParse(new StringReader(route), "third").isPresent());
+
+        //the rest of the document is not read if we don't need it
+        try (var flows = camelRouteStepParserService.streamParse(new StringReader(route + "- from: [ not, valid"))) {
+            assertEquals("first", flows.findFirst().orElseThrow().getId());
+        }
+        assertEquals("first", camelRouteStepParserService.deepParse(route + "- from: [ not, valid").getId());
+    }
 
     @ParameterizedTest
     @ValueSource(strings = {"route.yaml", "route2-complex-expressions.yaml",
@@ -0,0 +1,105 @@
+package io.kaoto.backend.api.metadata.catalog;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.parser.PrecompiledCatalog;
+import io.kaoto.backend.metadata.parser.step.camelroute.CamelRouteParseCatalog;
+import io.kaoto.backend.metadata.parser.step.kamelet.KameletParseCatalog;
+import io.kaoto.backend.metadata.parser.view.ViewDefinitionParseCatalog;
+import io.kaoto.backend.model.Metadata;
+import io.kaoto.backend.model.step.Step;
+import io.kaoto.backend.model.view.ViewDefinition;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 🐱class CatalogPrecompiler
+ *
+ * Build step that parses the sources bundled with the application
+ * (the `resource://` jars of the chosen profile) and stores the result as a
+ * precompiled catalog on the classpath. StepCatalog and
+ * ViewDefinitionCatalog load those instead of parsing the sources again on
+ * startup.
+ *
+ * Usage: CatalogPrecompiler application.yaml outputDirectory [profile]
+ */
+public final class CatalogPrecompiler {
+
+    private static final Logger LOG = Logger.getLogger(CatalogPrecompiler.class);
+    private static final String RESOURCE = "resource://";
+
+    private final JsonNode repository;
+
+    private CatalogPrecompiler(final JsonNode repository) {
+        this.repository = repository;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException(
+                    "Usage: CatalogPrecompiler application.yaml outputDirectory [profile]");
+        }
+        final var time = System.currentTimeMillis();
+        final var config = new ObjectMapper(new YAMLFactory()).readTree(Path.of(args[0]).toFile());
+        final var profile = args.length > 2 ? config.path("%" + args[2]) : config;
+        final var precompiler = new CatalogPrecompiler(profile.path("repository"));
+        final var output = Path.of(args[1]);
+
+        final List<StepCatalogParser> stepParsers = List.of(new KameletParseCatalog(), new CamelRouteParseCatalog());
+        precompiler.precompile(output, Step.class, "step", (kind, url) -> stepParsers.stream()
+                .filter(parser -> StepCatalog.ALL.equalsIgnoreCase(kind) || parser.generatesKind(kind))
+                .map(parser -> parser.getParser(url))
+                .toList());
+        precompiler.precompile(output, ViewDefinition.class, "viewdefinition",
+                (kind, url) -> List.of(ViewDefinitionParseCatalog.getParser(url)));
+
+        LOG.info("Catalog precompiled in " + (System.currentTimeMillis() - time) + "ms.");
+    }
+
+    private <T extends Metadata> void precompile(final Path output, final Class<T> type, final String name,
+                                                 final SourceParsers<T> parsers) throws IOException {
+        final Map<String, List<T>> sources = new LinkedHashMap<>();
+        for (var jar : repository.path(name).path("jar")) {
+            final var url = jar.path("url").asText();
+            final var kind = jar.path("kind").asText(StepCatalog.ALL);
+            if (!url.startsWith(RESOURCE)) {
+                //Remote sources may change after the build, keep parsing them on startup
+                continue;
+            }
+
+            final List<T> elements = new ArrayList<>();
+            parsers.get(kind, url).stream()
+                    .map(ParseCatalog::parse)
+                    .map(CompletableFuture::join)
+                    .forEach(elements::addAll);
+
+            if (elements.isEmpty()) {
+                LOG.warn("Nothing found on " + url + ", it will be parsed on startup.");
+            } else {
+                sources.put(PrecompiledCatalog.key(kind, url), elements);
+                LOG.info("Precompiled " + elements.size() + " " + name + " elements from " + url);
+            }
+        }
+
+        if (!sources.isEmpty()) {
+            LOG.info("Stored precompiled catalog " + PrecompiledCatalog.write(output, type, sources));
+        }
+    }
+
+    /*
+     * Parsers that apply to a source, depending on the kind requested.
+     */
+    @FunctionalInterface
+    private interface SourceParsers<T extends Metadata> {
+        List<ParseCatalog<T>> get(String kind, String url);
+    }
+}
@@ -2,16 +2,33 @@ package io.kaoto.backend.api.metadata.catalog;
 
 import io.kaoto.backend.metadata.MetadataCatalog;
 import io.kaoto.backend.metadata.ParseCatalog;
-import io.kaoto.backend.metadata.catalog.InMemoryCatalog;
+import io.kaoto.backend.metadata.WatchedParseCatalog;
+import io.kaoto.backend.metadata.catalog.IndexedCatalog;
 import io.kaoto.backend.metadata.catalog.ReadOnlyCatalog;
+import io.kaoto.backend.metadata.parser.PrecompiledCatalog;
+import io.kaoto.backend.metadata.parser.SnapshotParseCatalog;
 import io.kaoto.backend.model.Metadata;
 import io.opentelemetry.extension.annotations.WithSpan;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.graalvm.nativeimage.ImageInfo;
 import org.jboss.logging.Logger;
 
 import javax.annotation.PostConstruct;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 🐱class AbstractCatalog
@@ -22,13 +39,45 @@ import java.util.concurrent.CompletableFuture;
  */
 public abstract class AbstractCatalog<T extends Metadata> {
 
-    private InMemoryCatalog<T> c = new InMemoryCatalog<>();
-    private final MetadataCatalog<T> readOnlyCatalog = new ReadOnlyCatalog<>(c);
+    private final IndexedCatalog<T> c;
+    private final MetadataCatalog<T> readOnlyCatalog;
+    private static final String RESOURCE = "resource://";
     private static Logger log = Logger.getLogger(AbstractCatalog.class);
     private CompletableFuture<Void> waitingForWarmUp;
     private CompletableFuture<Void> initializing = new CompletableFuture<>();
 
+    @ConfigProperty(name = "catalog.snapshot.directory")
+    Optional<String> snapshotDirectory = Optional.empty();
+
+    @ConfigProperty(name = "quarkus.application.version", defaultValue = "unknown")
+    String applicationVersion = "unknown";
+
+    @ConfigProperty(name = "catalog.precompiled.enabled", defaultValue = "true")
+    boolean precompiledEnabled = true;
+
+    //By default only native images, they don't carry the bundled sources to parse them again
+    @ConfigProperty(name = "catalog.precompiled.required")
+    Optional<Boolean> precompiledRequired = Optional.empty();
+
+    private PrecompiledCatalog<T> precompiled;
+
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+    private final Set<String> watched = ConcurrentHashMap.newKeySet();
+
     protected AbstractCatalog() {
+        this(Collections.emptyMap());
+    }
+
+    /*
+     * 🐱constructor AbstractCatalog
+     * 🐱param indexes: Map[String, Function]
+     *
+     * Additional indexes the underlying catalog will maintain, besides the
+     * default ones on name and type.
+     */
+    protected AbstractCatalog(final Map<String, Function<T, String>> indexes) {
+        this.c = new IndexedCatalog<>(indexes);
+        this.readOnlyCatalog = new ReadOnlyCatalog<>(c);
         this.waitingForWarmUp = initializing;
     }
 
@@ -40,6 +89,15 @@ public abstract class AbstractCatalog<T extends Metadata> {
         }
     }
 
+    /*
+     * 🐱method getGeneration : long
+     *
+     * Number that changes every time the content of the catalog changes.
+     */
+    public long getGeneration() {
+        return c.getGeneration();
+    }
+
     /*
      * 🐱method waitForWarmUp : CompletableFuture
      *
@@ -57,6 +115,45 @@ public abstract class AbstractCatalog<T extends Metadata> {
      */
     abstract List<ParseCatalog<T>> loadParsers();
 
+    /*
+     * 🐱method getMetadataType : Class
+     *
+     * Type of elements this catalog contains.
+     */
+    abstract Class<T> getMetadataType();
+
+    /*
+     * 🐱method getPrecompiled : PrecompiledCatalog
+     *
+     * Elements parsed at build time from the bundled sources. Implementations
+     * should use them instead of parsing the same source again.
+     */
+    synchronized PrecompiledCatalog<T> getPrecompiled() {
+        if (precompiled == null) {
+            precompiled = precompiledEnabled ? PrecompiledCatalog.load(getMetadataType()) : PrecompiledCatalog.empty();
+        }
+        return precompiled;
+    }
+
+    /*
+     * 🐱method getPrecompiled : ParseCatalog
+     * 🐱param kind: String
+     * 🐱param url: String
+     *
+     * Parser with the elements of this source parsed at build time, or null
+     * if the source has to be parsed now. When the precompiled catalog is
+     * required, a bundled source missing from it is an error.
+     */
+    ParseCatalog<T> getPrecompiled(final String kind, final String url) {
+        final var parser = getPrecompiled().getParser(kind, url);
+        if (parser == null && url != null && url.startsWith(RESOURCE)
+                && precompiledEnabled && precompiledRequired.orElseGet(ImageInfo::inImageRuntimeCode)) {
+            throw new IllegalStateException("The bundled source " + url + " (" + kind
+                    + ") is not on the precompiled catalog. Don't skip catalog.precompile when building.");
+        }
+        return parser;
+    }
+
     /*
      * 🐱method warmUpCatalog
      *
@@ -69,46 +166,236 @@ public abstract class AbstractCatalog<T extends Metadata> {
         log.debug("Warming up catalog.");
         final var time = System.currentTimeMillis();
         final List<CompletableFuture<Boolean>> futureSteps = new ArrayList<>();
-        loadParsers().stream().parallel().forEach(parser -> futureSteps.add(addCatalog(parser)));
+        final var parsers = withSnapshots(loadParsers());
+        parsers.stream().parallel().forEach(parser -> futureSteps.add(addCatalog(parser)));
 
         waitingForWarmUp = CompletableFuture.allOf(futureSteps.toArray(new CompletableFuture[0]));
         waitingForWarmUp
                 .thenAccept(complete -> initializing.complete(null))
+                .thenRun(() -> cleanUpSnapshots(parsers))
                 .thenRun(() ->
                         log.info("Catalog " + this.getClass() + " warmed up in "
                                 + (System.currentTimeMillis() - time) + "ms."));
     }
 
+    /*
+     * If there is a snapshot directory configured, parsed sources are stored
+     * there so next time we don't have to parse them again.
+     */
+    private List<ParseCatalog<T>> withSnapshots(final List<ParseCatalog<T>> parsers) {
+        if (snapshotDirectory.isEmpty()) {
+            return parsers;
+        }
+        final var directory = Path.of(snapshotDirectory.get());
+        return parsers.stream()
+                .map(parser -> PrecompiledCatalog.isPrecompiled(parser) || parser instanceof WatchedParseCatalog
+                        ? parser
+                        : (ParseCatalog<T>) new SnapshotParseCatalog<>(parser, getMetadataType(), directory,
+                        applicationVersion))
+                .toList();
+    }
+
+    private void cleanUpSnapshots(final List<ParseCatalog<T>> parsers) {
+        if (snapshotDirectory.isEmpty()) {
+            return;
+        }
+        SnapshotParseCatalog.cleanUp(Path.of(snapshotDirectory.get()), getMetadataType(),
+                parsers.stream()
+                        .filter(SnapshotParseCatalog.class::isInstance)
+                        .map(parser -> ((SnapshotParseCatalog<T>) parser).getSnapshot())
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+
     private CompletableFuture<Boolean> addCatalog(final ParseCatalog<T> catalog) {
-        CompletableFuture<Boolean> res = new CompletableFuture<>();
         final var time = System.currentTimeMillis();
-        catalog.parse()
-                .thenApply(md -> c.store(md))
-                .thenRun(() -> log.info("Parser " + catalog.getClass() + " processed in "
-                        + (System.currentTimeMillis() - time) + "ms."))
-                .thenAccept(md -> res.complete(true));
-        return res;
+        final CompletableFuture<Void> parsed;
+        if (catalog instanceof WatchedParseCatalog<T> watchedCatalog) {
+            parsed = watch(watchedCatalog);
+        } else {
+            parsed = CompletableFuture.supplyAsync(catalog::fingerprint)
+                    .thenCompose(fingerprint -> catalog.parse()
+                            .thenAccept(md -> {
+                                if (catalog.source() != null) {
+                                    sources.put(catalog.source(), new Source(fingerprint, ids(md)));
+                                }
+                                c.store(md);
+                            }));
+        }
+
+        //a source that fails is left out, the catalog still warms up with the rest
+        return parsed.handle((ignored, e) -> {
+            if (e != null) {
+                log.error("Parser " + catalog.getClass() + " failed, its elements won't be on the catalog.", e);
+                return false;
+            }
+            log.info("Parser " + catalog.getClass() + " processed in "
+                    + (System.currentTimeMillis() - time) + "ms.");
+            return true;
+        });
     }
 
     /*
      * 🐱method refresh
      *
      * Function to be called periodically that refreshes the elements of the
-     * catalog, considering the catalog is dynamic. It prevents any
-     * synchronization error that would show an empty catalog during the
-     * refreshing.
+     * catalog, considering the catalog is dynamic.
+     *
+     * Only sources whose fingerprint changed since the last time are parsed
+     * again. All the changes, including the elements that disappeared from
+     * their sources, are applied at once as a new generation of the catalog,
+     * so there is never an empty or half-updated catalog.
      *
      */
     public void refresh() {
-        List<CompletableFuture<Boolean>> futureSteps = new ArrayList<>();
-        for (var catalog : loadParsers()) {
-            futureSteps.add(addCatalog(catalog));
+        if (!waitingForWarmUp.isDone()) {
+            log.debug("Catalog still warming up, skipping refresh.");
+            return;
+        }
+        final var time = System.currentTimeMillis();
+        final List<CompletableFuture<SourceUpdate<T>>> updates = loadParsers().stream()
+                .map(this::update)
+                .toList();
+
+        CompletableFuture.allOf(updates.toArray(new CompletableFuture[0]))
+                .thenAccept(complete -> apply(updates.stream().map(CompletableFuture::join).toList()))
+                .thenRun(() -> log.info("Catalog " + this.getClass() + " refreshed in "
+                        + (System.currentTimeMillis() - time) + "ms."))
+                .exceptionally(e -> {
+                    log.error("Error refreshing catalog " + this.getClass(), e);
+                    return null;
+                });
+    }
+
+    /*
+     * Watched sources keep the catalog updated themselves through a
+     * listener, once they are parsed.
+     */
+    private CompletableFuture<Void> watch(final WatchedParseCatalog<T> catalog) {
+        final CompletableFuture<List<T>> parsed;
+        try {
+            parsed = catalog.parse();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return parsed.thenAccept(md -> {
+            if (watched.add(catalog.source())) {
+                catalog.addListener((removed, elements) -> changed(catalog, removed, elements));
+            }
+        });
+    }
+
+    private synchronized void changed(final WatchedParseCatalog<T> catalog, final Collection<String> removed,
+                                      final List<T> elements) {
+        //the same element may come from other sources, like the same Kamelet on another namespace
+        final Set<String> gone = new HashSet<>(removed);
+        sources.forEach((source, state) -> {
+            if (!source.equals(catalog.source())) {
+                gone.removeAll(state.ids());
+            }
+        });
+        c.update(gone, elements);
+
+        final var previous = sources.get(catalog.source());
+        final Set<String> provided = new HashSet<>(previous != null ? previous.ids() : Set.of());
+        provided.removeAll(removed);
+        provided.addAll(ids(elements));
+        sources.put(catalog.source(), new Source(catalog.fingerprint(), Set.copyOf(provided)));
+        log.trace("Source " + catalog.source() + " changed: " + removed.size() + " elements removed, "
+                + elements.size() + " added or replaced.");
+    }
+
+    /*
+     * If the source can't be read this time, whatever we had from it is
+     * kept, so one failing source doesn't stop the whole refresh.
+     */
+    private CompletableFuture<SourceUpdate<T>> update(final ParseCatalog<T> catalog) {
+        final CompletableFuture<SourceUpdate<T>> update;
+        try {
+            update = parseIfChanged(catalog);
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(keep(catalog, e));
         }
+        return update.exceptionally(e -> keep(catalog, e));
+    }
+
+    private SourceUpdate<T> keep(final ParseCatalog<T> catalog, final Throwable e) {
+        log.warn("Couldn't refresh " + catalog.getClass() + ", keeping what we had from it.", e);
+        return new SourceUpdate<>(catalog.source(), null, null);
+    }
+
+    private CompletableFuture<SourceUpdate<T>> parseIfChanged(final ParseCatalog<T> catalog) {
+        if (catalog instanceof WatchedParseCatalog<T> watchedCatalog) {
+            //its listener applies the changes, we just have to make sure it is listened to
+            final var watching = watched.contains(catalog.source())
+                    ? CompletableFuture.<Void>completedFuture(null) : watch(watchedCatalog);
+            return watching.thenApply(ignored -> new SourceUpdate<T>(catalog.source(), null, null));
+        }
+        return CompletableFuture.supplyAsync(catalog::fingerprint)
+                .thenCompose(fingerprint -> {
+                    final var source = catalog.source();
+                    final var previous = source != null ? sources.get(source) : null;
+                    if (fingerprint != null && previous != null && fingerprint.equals(previous.fingerprint())) {
+                        log.trace("Source " + source + " didn't change.");
+                        return CompletableFuture.completedFuture(new SourceUpdate<T>(source, previous, null));
+                    }
+                    return catalog.parse()
+                            .thenApply(md -> new SourceUpdate<>(source, new Source(fingerprint, ids(md)), md));
+                });
+    }
+
+    private synchronized void apply(final List<SourceUpdate<T>> updates) {
+        final Map<String, Source> current = new HashMap<>();
+        final Set<String> provided = new HashSet<>();
+        final List<T> changed = new ArrayList<>();
+        for (var update : updates) {
+            //watched sources have always their latest state already stored
+            final var state = update.state() != null || update.source() == null
+                    ? update.state() : sources.get(update.source());
+            if (state == null) {
+                continue;
+            }
+            if (update.source() != null) {
+                current.put(update.source(), state);
+            }
+            provided.addAll(state.ids());
+            if (update.elements() != null) {
+                changed.addAll(update.elements());
+            }
+        }
+
+        //Elements no source provides anymore
+        final Set<String> removed = new HashSet<>();
+        sources.values().forEach(source -> removed.addAll(source.ids()));
+        removed.removeAll(provided);
+
+        sources.clear();
+        sources.putAll(current);
+        if (c.update(removed, changed)) {
+            log.debug("Catalog updated to generation " + c.getGeneration() + ": " + removed.size()
+                    + " elements removed, " + changed.size() + " added or replaced.");
+        }
+    }
+
+    private static Set<String> ids(final List<? extends Metadata> md) {
+        return md.stream()
+                .filter(Objects::nonNull)
+                .map(Metadata::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /*
+     * What we know of a source from the last time it was parsed.
+     */
+    private record Source(String fingerprint, Set<String> ids) {
+    }
 
-        var waitingForWarmUp = CompletableFuture.allOf(
-                futureSteps.toArray(new CompletableFuture[0]));
-        waitingForWarmUp.thenAccept(complete ->
-                ((ReadOnlyCatalog) getReadOnlyCatalog()).addCatalog(c))
-                .thenRun(() -> log.info("Catalog refreshed."));
+    /*
+     * Result of refreshing a source. Elements are null if the source didn't
+     * change. State is null if the source is watched or couldn't be read,
+     * then the one we already have is kept.
+     */
+    private record SourceUpdate<T>(String source, Source state, List<T> elements) {
     }
 }
@@ -3,6 +3,7 @@ package io.kaoto.backend.api.metadata.catalog;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.catalog.IndexedCatalog;
 import io.kaoto.backend.model.configuration.Repository;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.runtime.Startup;
@@ -16,6 +17,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -30,12 +32,27 @@ import java.util.concurrent.TimeUnit;
 public class StepCatalog extends AbstractCatalog<Step> {
 
     public static final String ALL = "all";
+    public static final String KIND = "kind";
+    public static final String GROUP = "group";
+    public static final String NAME_KIND = "name-kind";
     private StepRepository repository;
 
     private Instance<StepCatalogParser> stepCatalogParsers;
 
     private KubernetesClient kclient;
 
+    public StepCatalog() {
+        super(Map.of(
+                KIND, Step::getKind,
+                GROUP, Step::getGroup,
+                NAME_KIND, step -> IndexedCatalog.key(step.getName(), step.getKind())));
+    }
+
+    @Override
+    protected Class<Step> getMetadataType() {
+        return Step.class;
+    }
+
     @Override
     protected List<ParseCatalog<Step>> loadParsers() {
         List<ParseCatalog<Step>> catalogs = new ArrayList<>();
@@ -77,7 +94,8 @@ public class StepCatalog extends AbstractCatalog<Step> {
                 .forEach(git -> stepCatalogParsers.stream().parallel()
                         .forEach(parser -> {
                             if (ALL.equalsIgnoreCase(git.kind()) || parser.generatesKind(git.kind())) {
-                                catalogs.add(parser.getParser(git.url(), git.tag()));
+                                catalogs.add(parser.getParser(git.url(), git.tag(),
+                                        git.paths().orElse(Collections.emptyList())));
                             }
                         }));
 
@@ -103,13 +121,21 @@ public class StepCatalog extends AbstractCatalog<Step> {
         repository.jar().orElse(Collections.emptyList()).stream().parallel()
                 //Filter depending on the cluster
                 .filter(jar -> !jar.ifNoCluster() || !clusterAvailable)
-                //And call only the parsers that apply
-                .forEach(jar -> stepCatalogParsers.stream().parallel()
+                .forEach(jar -> {
+                    //If it was already parsed at build time, we don't need the parsers
+                    final var precompiled = getPrecompiled(jar.kind(), jar.url());
+                    if (precompiled != null) {
+                        catalogs.add(precompiled);
+                        return;
+                    }
+                    //And call only the parsers that apply
+                    stepCatalogParsers.stream().parallel()
                         .forEach(parser -> {
                             if (ALL.equalsIgnoreCase(jar.kind()) || parser.generatesKind(jar.kind())) {
                                 catalogs.add(parser.getParser(jar.url()));
                             }
-                        }));
+                        });
+                });
     }
 
     @Inject
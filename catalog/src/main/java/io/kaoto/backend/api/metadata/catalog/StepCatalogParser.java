@@ -5,6 +5,7 @@ import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.extension.annotations.WithSpan;
 
 import java.nio.file.Path;
+import java.util.List;
 
 /**
  * 🐱class StepCatalogParser
@@ -35,6 +36,21 @@ public interface StepCatalogParser {
     @WithSpan
     ParseCatalog<Step> getParser(String url, String tag);
 
+    /*
+     * 🐱method getParser : ParseCatalog
+     * 🐱param url : String
+     * 🐱param tag : String
+     * 🐱param paths : List[String]
+     *
+     * Loads the elements on the given paths of the git repository, or all of
+     * them if there are no paths.
+     *
+     */
+    @WithSpan
+    default ParseCatalog<Step> getParser(String url, String tag, List<String> paths) {
+        return getParser(url, tag);
+    }
+
     /*
      * 🐱method getParserFromCluster : ParseCatalog
      *
@@ -27,17 +27,26 @@ public class ViewDefinitionCatalog extends AbstractCatalog<ViewDefinition> {
 
     private ViewDefinitionCatalog.ViewDefinitionRepository repository;
 
+    @Override
+    protected Class<ViewDefinition> getMetadataType() {
+        return ViewDefinition.class;
+    }
+
     @Override
     protected List<ParseCatalog<ViewDefinition>> loadParsers() {
         List<ParseCatalog<ViewDefinition>> catalogs = new ArrayList<>();
 
         //For all jars in the configuration
         repository.jar().orElse(Collections.emptyList()).stream().parallel()
-                .forEach(jar -> catalogs.add(ViewDefinitionParseCatalog.getParser(jar.url())));
+                .forEach(jar -> {
+                    final var precompiled = getPrecompiled(jar.kind(), jar.url());
+                    catalogs.add(precompiled != null ? precompiled : ViewDefinitionParseCatalog.getParser(jar.url()));
+                });
 
         //For all git in the configuration
         repository.git().orElse(Collections.emptyList()).stream().parallel()
-                .forEach(git -> catalogs.add(ViewDefinitionParseCatalog.getParser(git.url(), git.tag())));
+                .forEach(git -> catalogs.add(ViewDefinitionParseCatalog.getParser(git.url(), git.tag(),
+                        git.paths().orElse(Collections.emptyList()))));
 
         //For all folders in the configuration
         repository.localFolder().orElse(Collections.emptyList()).stream().parallel()
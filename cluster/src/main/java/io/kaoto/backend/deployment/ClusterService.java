@@ -1,38 +1,45 @@
 package io.kaoto.backend.deployment;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.base.Strings;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
-import io.fabric8.kubernetes.client.dsl.LogWatch;
 import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletRepresenter;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import io.kaoto.backend.model.deployment.Deployment;
+import io.kaoto.backend.model.deployment.DeploymentEvent;
+import io.kaoto.backend.model.deployment.DeploymentPage;
+import io.kaoto.backend.model.deployment.DeploymentResult;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.extension.annotations.WithSpan;
 import io.smallrye.common.annotation.Blocking;
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.logging.Logger;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.ws.rs.NotFoundException;
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * 🐱miniclass ClusterService (DeploymentsResource)
@@ -49,6 +56,13 @@ public class ClusterService {
     private KubernetesClient kubernetesClient;
     private Instance<DeploymentGeneratorService> parsers;
     private ManagedExecutor managedExecutor;
+    private DeploymentCache cache;
+    private LogStreams logStreams;
+
+    private static final String FIELD_MANAGER = "kaoto";
+
+    @ConfigProperty(name = "kaoto.cluster.bulk.concurrency", defaultValue = "8")
+    private int bulkConcurrency;
 
     @ConfigProperty(name = "kaoto.openshift.namespace",
             defaultValue = "default")
@@ -65,6 +79,16 @@ public class ClusterService {
     }
 
 
+    @Inject
+    public void setDeploymentCache(final DeploymentCache cache) {
+        this.cache = cache;
+    }
+
+    @Inject
+    public void setLogStreams(final LogStreams logStreams) {
+        this.logStreams = logStreams;
+    }
+
     @Inject
     public void setManagedExecutor(
             final ManagedExecutor managedExecutor) {
@@ -82,12 +106,137 @@ public class ClusterService {
         List<Deployment> res = new ArrayList<>();
 
         for (var parser : parsers) {
-            res.addAll(parser.getResources(getNamespace(namespace), kubernetesClient));
+            res.addAll(parser.getResources(getNamespace(namespace), cache));
         }
 
         return res;
     }
 
+    /*
+     * 🐱method getResources: DeploymentPage
+     * 🐱param namespace: String
+     * 🐱param limit: int
+     * 🐱param continueToken: String
+     *
+     * Returns up to limit resources in a given namespace, starting where the
+     * page the token was returned with ended. Types are listed one after the
+     * other and each of them is paginated on its own, by the cache or the
+     * cluster, so the token is the type we were on and its own token.
+     */
+    @WithSpan
+    public DeploymentPage getResources(final String namespace, final int limit, final String continueToken) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("The limit of a page must be positive.");
+        }
+
+        final var ns = getNamespace(namespace);
+        final List<Source> sources = new ArrayList<>();
+        for (var parser : parsers) {
+            for (var type : parser.supportedCustomResources()) {
+                sources.add(new Source(parser, type));
+            }
+        }
+
+        List<Deployment> res = new ArrayList<>();
+        int current = 0;
+        String token = null;
+        if (continueToken != null && !continueToken.isBlank()) {
+            final var decoded = decodeContinue(continueToken);
+            current = Integer.parseInt(decoded[0]);
+            token = decoded[1].isEmpty() ? null : decoded[1];
+        }
+
+        while (current < sources.size() && res.size() < limit) {
+            final var source = sources.get(current);
+            final var page = cache.page(source.type(), ns, (long) limit - res.size(), token);
+            for (CustomResource cr : page.items()) {
+                if (source.parser().isDeployment(cr)) {
+                    res.add(new Deployment(cr, source.parser().getStatus(cr)));
+                }
+            }
+            token = page.next();
+            if (token == null) {
+                current++;
+                token = null;
+            }
+        }
+
+        Span.current().setAttribute("deployments", res.size());
+        final var next = current < sources.size() ? encodeContinue(current, token) : null;
+        return new DeploymentPage(res, next);
+    }
+
+    private static String encodeContinue(final int source, final String token) {
+        final var raw = source + ":" + (token == null ? "" : token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeContinue(final String continueToken) {
+        try {
+            final var raw = new String(Base64.getUrlDecoder().decode(continueToken), StandardCharsets.UTF_8);
+            final var decoded = raw.split(":", 2);
+            if (decoded.length == 2 && Integer.parseInt(decoded[0]) >= 0) {
+                return decoded;
+            }
+        } catch (IllegalArgumentException e) {
+            //NumberFormatException too, handled below
+        }
+        throw new IllegalArgumentException("The continue token is not valid: " + continueToken);
+    }
+
+    private record Source(DeploymentGeneratorService parser, Class<? extends CustomResource> type) {
+    }
+
+    /*
+     * 🐱method watch: DeploymentEvent[]
+     * 🐱param namespace: String
+     *
+     * Changes on the deployments of a given namespace, starting with all the
+     * deployments there are. Changes that don't affect the status of a
+     * deployment are not sent. Types that can't be watched are left out,
+     * so one missing CRD doesn't break the whole stream.
+     */
+    public Multi<DeploymentEvent> watch(final String namespace) {
+        final var ns = getNamespace(namespace);
+        final List<Multi<DeploymentEvent>> events = new ArrayList<>();
+        for (var parser : parsers) {
+            for (var type : parser.supportedCustomResources()) {
+                events.add(cache.changes(type, ns)
+                        .map(change -> event(parser, change))
+                        .filter(Objects::nonNull)
+                        .onFailure().invoke(e -> log.warn("Can't watch " + type.getSimpleName()
+                                + " resources of namespace " + ns + ": " + e.getMessage()))
+                        .onFailure().recoverWithCompletion());
+            }
+        }
+        if (events.isEmpty()) {
+            return Multi.createFrom().nothing();
+        }
+        //starting the informers may take a while
+        return Multi.createBy().merging().streams(events).runSubscriptionOn(managedExecutor);
+    }
+
+    private DeploymentEvent event(final DeploymentGeneratorService parser,
+                                  final DeploymentCache.Change<? extends CustomResource> change) {
+        final var previous = change.previous();
+        final var current = change.current();
+        if (current == null) {
+            return parser.isDeployment(previous) ? new DeploymentEvent(DeploymentEvent.Action.DELETED,
+                    new Deployment(previous, parser.getStatus(previous))) : null;
+        }
+        if (!parser.isDeployment(current)) {
+            return null;
+        }
+        final var status = parser.getStatus(current);
+        if (previous == null) {
+            return new DeploymentEvent(DeploymentEvent.Action.ADDED, new Deployment(current, status));
+        }
+        if (Objects.equals(status, parser.getStatus(previous))) {
+            return null;
+        }
+        return new DeploymentEvent(DeploymentEvent.Action.MODIFIED, new Deployment(current, status));
+    }
+
     /*
      * 🐱method start
      * 🐱param namespace: String
@@ -105,18 +254,8 @@ public class ClusterService {
             CustomResource binding = parser.parse(input);
             if (binding != null) {
                 log.trace("This is a " + binding.getKind());
-                setName(binding, namespace);
-                try {
-                    start(binding, namespace);
-
-                    Span span = Span.current();
-                    if (span != null && binding != null) {
-                        span.setAttribute("integration", binding.toString());
-                    }
+                if (deploy(binding, namespace)) {
                     return;
-                } catch (KubernetesClientException e) {
-                    log.debug("Either the binding is not right or the CRD"
-                            + " is not valid: " + e.getMessage());
                 }
             }
         }
@@ -125,6 +264,32 @@ public class ClusterService {
                 + "not supported.");
     }
 
+    /*
+     * 🐱method deploy: boolean
+     * 🐱param binding: CustomResource
+     * 🐱param namespace: String
+     *
+     * Names and starts the given resource. Returns false if the cluster
+     * didn't accept it.
+     */
+    @WithSpan
+    public boolean deploy(final CustomResource binding, final String namespace) {
+        setName(binding, namespace);
+        try {
+            start(binding, namespace);
+
+            Span span = Span.current();
+            if (span != null) {
+                span.setAttribute("integration", binding.toString());
+            }
+            return true;
+        } catch (KubernetesClientException e) {
+            log.debug("Either the binding is not right or the CRD"
+                    + " is not valid: " + e.getMessage());
+        }
+        return false;
+    }
+
     private void setName(final CustomResource binding, final String namespace)
             throws IllegalArgumentException {
         if (binding.getMetadata() == null) {
@@ -149,14 +314,11 @@ public class ClusterService {
         }
 
         //check no other deployment has the same name already
-        for (Deployment i : getResources(getNamespace(namespace))) {
-            if (i.getName().equalsIgnoreCase(binding.getMetadata().getName())) {
-                log.warn("There is an existing deployment with the same name: " + binding.getMetadata().getName());
-                binding.getMetadata().setName(binding.getMetadata().getName() + System.currentTimeMillis());
-                log.warn("Renaming to: " + binding.getMetadata().getName());
-                checkNoDuplicatedNames(namespace, binding, iterations + 1);
-                break;
-            }
+        if (get(namespace, binding.getMetadata().getName(), null) != null) {
+            log.warn("There is an existing deployment with the same name: " + binding.getMetadata().getName());
+            binding.getMetadata().setName(binding.getMetadata().getName() + System.currentTimeMillis());
+            log.warn("Renaming to: " + binding.getMetadata().getName());
+            checkNoDuplicatedNames(namespace, binding, iterations + 1);
         }
     }
 
@@ -169,21 +331,252 @@ public class ClusterService {
      */
     @WithSpan
     public void start(final CustomResource binding, final String namespace) {
-        ResourceDefinitionContext context =
-                new ResourceDefinitionContext.Builder()
-                        .withNamespaced(true)
-                        .withGroup(binding.getGroup())
-                        .withKind(binding.getKind())
-                        .withPlural(binding.getPlural())
-                        .withVersion(binding.getVersion())
-                        .build();
-
-        var constructor = new Constructor(binding.getClass());
-        Yaml yaml = new Yaml(constructor, new KameletRepresenter());
-        kubernetesClient.genericKubernetesResources(context)
+        final var created = kubernetesClient.genericKubernetesResources(context(binding))
                 .inNamespace(getNamespace(namespace))
-                .load(new ByteArrayInputStream(yaml.dumpAsMap(binding).getBytes(StandardCharsets.UTF_8)))
+                .resource(toGeneric(binding))
                 .create();
+        //so it is listed right away, without waiting for the watch
+        if (created != null) {
+            cache.created(Serialization.json().convertValue(created, binding.getClass()));
+        }
+    }
+
+    private static ResourceDefinitionContext context(final CustomResource binding) {
+        return new ResourceDefinitionContext.Builder()
+                .withNamespaced(true)
+                .withGroup(binding.getGroup())
+                .withKind(binding.getKind())
+                .withPlural(binding.getPlural())
+                .withVersion(binding.getVersion())
+                .build();
+    }
+
+    /*
+     * What we send to the cluster: the spec is what the representer would
+     * write, built in memory. The metadata is copied whole, except for what
+     * belongs to the server or to the namespace we deploy to.
+     */
+    static GenericKubernetesResource toGeneric(final CustomResource binding) {
+        final var metadata = binding.getMetadata() != null
+                ? Serialization.json().convertValue(binding.getMetadata(), ObjectMeta.class)
+                : new ObjectMeta();
+        metadata.setNamespace(null);
+        metadata.setUid(null);
+        metadata.setResourceVersion(null);
+        metadata.setGeneration(null);
+        metadata.setCreationTimestamp(null);
+        metadata.setDeletionTimestamp(null);
+        metadata.setDeletionGracePeriodSeconds(null);
+        metadata.setSelfLink(null);
+        metadata.setManagedFields(null);
+        if (metadata.getLabels() != null && metadata.getLabels().isEmpty()) {
+            metadata.setLabels(null);
+        }
+        if (metadata.getAnnotations() != null && metadata.getAnnotations().isEmpty()) {
+            metadata.setAnnotations(null);
+        }
+
+        //status is never sent, only the spec
+        final var resource = new GenericKubernetesResource();
+        resource.setApiVersion(binding.getApiVersion());
+        resource.setKind(binding.getKind());
+        resource.setMetadata(metadata);
+        if (binding.getSpec() != null) {
+            resource.setAdditionalProperty("spec", KameletRepresenter.getDumper().asTree(binding.getSpec()));
+        }
+        return resource;
+    }
+
+    /*
+     * 🐱method deployAll: DeploymentResult[]
+     * 🐱param input: String
+     * 🐱param namespace: String
+     * 🐱param force: boolean
+     *
+     * Deploys the custom resources of the yaml, one per document, with
+     * server side apply: the ones that already exist are updated. They are
+     * checked and named first and then applied concurrently. Results are
+     * sent as soon as each one is applied.
+     *
+     * Fields of an existing resource that someone else manages, like the
+     * operator, are a conflict and that resource fails, unless force is set:
+     * then we take them over.
+     */
+    @WithSpan
+    public Multi<DeploymentResult> deployAll(final String input, final String namespace, final boolean force) {
+        final var ns = getNamespace(namespace);
+        final List<JsonNode> documents = new ArrayList<>();
+        try (var it = Serialization.yaml().readerFor(JsonNode.class).<JsonNode>readValues(input)) {
+            while (it.hasNext()) {
+                final var document = it.next();
+                if (document != null && !document.isNull() && !document.isMissingNode()) {
+                    documents.add(document);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Couldn't understand the yaml sent. Check the syntax and try again.",
+                    e);
+        }
+
+        final Set<String> named = new HashSet<>();
+        final List<Bulk> bulk = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            bulk.add(prepare(i, documents.get(i), ns, named));
+        }
+
+        return Multi.createFrom().iterable(bulk)
+                .onItem().transformToUni(item -> Uni.createFrom().item(() -> apply(item, ns, force))
+                        .runSubscriptionOn(managedExecutor))
+                .merge(Math.max(1, bulkConcurrency));
+    }
+
+    /*
+     * The resource of the document, named, or why it can't be deployed.
+     */
+    private Bulk prepare(final long index, final JsonNode document, final String namespace,
+                         final Set<String> named) {
+        final var kind = document.path("kind").asText();
+        final var apiVersion = document.path("apiVersion").asText();
+        final var type = supportedType(apiVersion, kind);
+        if (type == null) {
+            return Bulk.failed(index, document.path("metadata").path("name").asText(null), kind,
+                    "The kind " + kind + " of " + apiVersion + " is not supported.");
+        }
+
+        final CustomResource resource;
+        try {
+            resource = Serialization.readYaml(document, type);
+        } catch (IOException | RuntimeException e) {
+            log.trace("The custom resource sent is not valid.", e);
+            return Bulk.failed(index, document.path("metadata").path("name").asText(null), kind,
+                    "The custom resource is not valid: " + e.getMessage());
+        }
+        if (resource.getMetadata() == null) {
+            resource.setMetadata(new ObjectMeta());
+        }
+
+        var name = resource.getMetadata().getName();
+        if (name == null || name.isBlank()) {
+            final var base = "integration-" + System.currentTimeMillis();
+            name = base;
+            for (int i = 1; named.contains(kind + "/" + name) || exists(type, namespace, name); i++) {
+                name = base + "-" + i;
+            }
+        }
+        name = name.toLowerCase(Locale.ROOT);
+        resource.getMetadata().setName(name);
+
+        if (!named.add(kind + "/" + name)) {
+            return Bulk.failed(index, name, kind, "There is another " + kind + " with the same name on the request.");
+        }
+        return new Bulk(index, resource, null);
+    }
+
+    /*
+     * Looked up by name, whatever created it: Integrations created by a
+     * KameletBinding are not on the list of deployments.
+     */
+    private boolean exists(final Class<? extends CustomResource> type, final String namespace, final String name) {
+        return cache.get(type, namespace, name).isPresent();
+    }
+
+    private Class<? extends CustomResource> supportedType(final String apiVersion, final String kind) {
+        for (var parser : parsers) {
+            for (Class<? extends CustomResource> c : parser.supportedCustomResources()) {
+                if (kind.equals(HasMetadata.getKind(c)) && apiVersion.equals(HasMetadata.getApiVersion(c))) {
+                    return c;
+                }
+            }
+        }
+        return null;
+    }
+
+    private DeploymentResult apply(final Bulk item, final String namespace, final boolean force) {
+        if (item.result() != null) {
+            return item.result();
+        }
+        final var resource = item.resource();
+        final var name = resource.getMetadata().getName();
+        try {
+            final var existed = exists(resource.getClass(), namespace, name);
+            final var applied = serverSideApply(resource, namespace, force);
+            cache.created(Serialization.json().convertValue(applied, resource.getClass()));
+            return new DeploymentResult(item.index(), name, resource.getKind(),
+                    existed ? DeploymentResult.Outcome.UPDATED : DeploymentResult.Outcome.CREATED, null);
+        } catch (KubernetesClientException e) {
+            log.debug("Couldn't apply " + name + ": " + e.getMessage());
+            final var error = e.getCode() == HttpURLConnection.HTTP_CONFLICT
+                    ? "Some fields are managed by someone else, apply with force to take them over: "
+                    + e.getMessage()
+                    : e.getMessage();
+            return DeploymentResult.failed(item.index(), name, resource.getKind(), error);
+        }
+    }
+
+    private GenericKubernetesResource serverSideApply(final CustomResource resource, final String namespace,
+                                                      final boolean force) {
+        final var apply = kubernetesClient.genericKubernetesResources(context(resource))
+                .inNamespace(namespace)
+                .resource(toGeneric(resource))
+                .fieldManager(FIELD_MANAGER);
+        return force ? apply.forceConflicts().serverSideApply() : apply.serverSideApply();
+    }
+
+    /*
+     * 🐱method stopAll: DeploymentResult[]
+     * 🐱param names: String[]
+     * 🐱param namespace: String
+     * 🐱param type: String
+     *
+     * Stops all the resources with the given names, concurrently. Results
+     * are sent as soon as each one is deleted.
+     */
+    @WithSpan
+    public Multi<DeploymentResult> stopAll(final List<String> names, final String namespace, final String type) {
+        final var ns = getNamespace(namespace);
+        final List<Bulk> bulk = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            final var cr = get(ns, names.get(i), type);
+            bulk.add(cr == null
+                    ? Bulk.failed(i, names.get(i), type, "Resource with name " + names.get(i) + " not found.")
+                    : new Bulk(i, cr, true, null));
+        }
+
+        return Multi.createFrom().iterable(bulk)
+                .onItem().transformToUni(item -> Uni.createFrom().item(() -> delete(item, ns))
+                        .runSubscriptionOn(managedExecutor))
+                .merge(Math.max(1, bulkConcurrency));
+    }
+
+    private DeploymentResult delete(final Bulk item, final String namespace) {
+        if (item.result() != null) {
+            return item.result();
+        }
+        final var cr = item.resource();
+        try {
+            final var deleted = !kubernetesClient.resources(cr.getClass()).inNamespace(namespace)
+                    .withName(cr.getMetadata().getName()).delete().isEmpty();
+            if (deleted) {
+                cache.deleted(cr);
+                return new DeploymentResult(item.index(), cr.getMetadata().getName(), cr.getKind(),
+                        DeploymentResult.Outcome.DELETED, null);
+            }
+            return DeploymentResult.failed(item.index(), cr.getMetadata().getName(), cr.getKind(),
+                    "It was already gone.");
+        } catch (KubernetesClientException e) {
+            return DeploymentResult.failed(item.index(), cr.getMetadata().getName(), cr.getKind(), e.getMessage());
+        }
+    }
+
+    /*
+     * One of the resources of a bulk operation, ready to go, or the result
+     * if it already failed.
+     */
+    private record Bulk(long index, CustomResource resource, DeploymentResult result) {
+
+        static Bulk failed(final long index, final String name, final String type, final String error) {
+            return new Bulk(index, null, DeploymentResult.failed(index, name, type, error));
+        }
     }
 
     /*
@@ -203,8 +596,12 @@ public class ClusterService {
 
         log.trace("Going to delete a " + cr.getClass() + " in " + getNamespace(namespace) + " with name " + name);
 
-        return !kubernetesClient.resources(cr.getClass()).inNamespace(getNamespace(namespace))
-                .withName(name).delete().isEmpty();
+        final var deleted = !kubernetesClient.resources(cr.getClass()).inNamespace(getNamespace(namespace))
+                .withName(cr.getMetadata().getName()).delete().isEmpty();
+        if (deleted) {
+            cache.deleted(cr);
+        }
+        return deleted;
     }
 
     /*
@@ -217,18 +614,17 @@ public class ClusterService {
     @WithSpan
     public CustomResource get(final String namespace, final String name, final String type) {
 
-        CustomResource cr = null;
-        var crs = getResources(namespace);
-
-        for (var resource : crs) {
-            if (resource.getName().equalsIgnoreCase(name)
-                    && (type == null || resource.getType().equalsIgnoreCase(type))) {
-                cr = resource.getResource();
-                break;
+        //names on the cluster are always lowercase
+        final var lowercase = name.toLowerCase(Locale.ROOT);
+        for (var parser : parsers) {
+            final var resource = parser.getResource(getNamespace(namespace), lowercase, cache);
+            if (resource.isPresent()
+                    && (type == null || resource.get().getType().equalsIgnoreCase(type))) {
+                return resource.get().getResource();
             }
         }
 
-        return cr;
+        return null;
     }
 
     /*
@@ -238,8 +634,7 @@ public class ClusterService {
      * 🐱param lines: Integer
      *
      * Streams the log of the given pod, starting with said number of lines.
-     *
-     *
+     * Everyone streaming the log of the same pod shares the same watch.
      */
     @WithSpan
     @Blocking
@@ -252,7 +647,7 @@ public class ClusterService {
         //When we find a pod, that's the one.
         for (var parser : parsers) {
             if (Strings.isNullOrEmpty(dsl) || dsl.equalsIgnoreCase(parser.identifier())) {
-                pod = parser.getPod(namespace, name, kubernetesClient);
+                pod = parser.getPod(getNamespace(namespace), name, cache);
                 if (pod != null) {
                     break;
                 }
@@ -263,52 +658,7 @@ public class ClusterService {
             throw new IllegalArgumentException("No running resource found in " + namespace + " with name " + name);
         }
 
-        final var podResource = kubernetesClient.pods().inNamespace(getNamespace(namespace))
-                .withName(pod.getMetadata().getName());
-        LogWatch watch = podResource.tailingLines(lines).watchLog();
-        BufferedReader reader = new BufferedReader(new InputStreamReader(watch.getOutput()));
-        AtomicBoolean closed = new AtomicBoolean(false);
-        try {
-            Multi<String> logs = Multi.createFrom().generator(
-                    () -> 0, (n, emitter) -> {
-                        try {
-                            String line = reader.readLine();
-                            if (line == null) {
-                                // The stream has reached EOF without reading any characters.
-                                // This can happen when the pod has been deleted.
-                                // A better solution would be to watch the pod resource,
-                                // while streaming the logs, and propagate the error up to
-                                // the client.
-                                emitter.complete();
-                                return n;
-                            }
-                            emitter.emit(line + "\n");
-                            return ++n;
-                        } catch (Exception e) {
-                            if (!closed.get()) {
-                                log.error("Error reading log stream", e);
-                                emitter.fail(e);
-                            } else {
-                                emitter.complete();
-                            }
-                        }
-                        return n;
-                    }
-            );
-            return logs.runSubscriptionOn(managedExecutor)
-                    .onTermination().invoke(() -> {
-                        closed.set(true);
-                        watch.close();
-                        try {
-                            reader.close();
-                        } catch (Exception e) {
-                            log.error("Error closing log stream", e);
-                        }
-                    });
-        } catch (Exception e) {
-            log.error("Error watching log stream", e);
-        }
-        return Multi.createFrom().nothing();
+        return logStreams.stream(getNamespace(namespace), pod.getMetadata().getName(), lines == null ? 0 : lines);
     }
 
     private String getNamespace(final String namespace) {
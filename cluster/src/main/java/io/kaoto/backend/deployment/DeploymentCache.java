@@ -0,0 +1,551 @@
+package io.kaoto.backend.deployment;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.kaoto.backend.api.service.deployment.generator.ClusterResources;
+import io.kaoto.backend.api.service.serialization.Serialization;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 🐱miniclass DeploymentCache (ClusterService)
+ *
+ * 🐱section
+ * Local copy of the resources on the cluster, so listing deployments and
+ * looking for them doesn't hit the API server each time.
+ *
+ * There is one informer for each type of resource and namespace, started
+ * the first time they are read. Only the namespaces on
+ * kaoto.cluster.cache.namespaces are cached, by default the one the
+ * backend works on; any other namespace is always read from the API
+ * server, so requests can't make us watch the whole cluster. Resources
+ * are indexed by name and by the camel.apache.org/integration label. What
+ * we create or delete ourselves is seen right away, even before the
+ * informer gets the change. What it still hasn't seen a minute later,
+ * because someone deleted it in between, is forgotten.
+ *
+ * Informers are started in the background. Until they are synced, or if
+ * they can't be started (no permission to watch, for example), reads go
+ * to the API server as they used to. The cache can be disabled with
+ * kaoto.cluster.cache.enabled.
+ *
+ * What the informers have is never handed out: callers get copies, so
+ * they can change them without breaking the cache.
+ *
+ * Pages are cut from the informer when it is synced, sorted by name, and
+ * the continue token is the last name of the page. Otherwise they are
+ * asked to the API server, and a list started there keeps going there:
+ * only it can resume from its own tokens.
+ */
+@ApplicationScoped
+public class DeploymentCache implements ClusterResources {
+
+    public static final String INTEGRATION_LABEL = "camel.apache.org/integration";
+
+    private static final String BY_INTEGRATION = "integration";
+    //API server continue tokens are base64, so they never start like this
+    private static final String CACHED_CONTINUE = "cached:";
+    //Don't try to start a failed informer again on every read
+    private static final long RETRY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    //The informer sees what we create in seconds, if it hasn't by now it never will
+    private static final long CREATED_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Logger log = Logger.getLogger(DeploymentCache.class);
+
+    private final Map<Key, CompletableFuture<Informed<?>>> informers = new ConcurrentHashMap<>();
+
+    private KubernetesClient kubernetesClient;
+
+    private long createdMillis = CREATED_MILLIS;
+
+    @ConfigProperty(name = "kaoto.cluster.cache.enabled", defaultValue = "true")
+    private boolean enabled;
+
+    @ConfigProperty(name = "kaoto.cluster.cache.sync-timeout", defaultValue = "30")
+    private long syncTimeout;
+
+    @ConfigProperty(name = "kaoto.cluster.cache.namespaces")
+    private Optional<List<String>> namespaces;
+
+    @ConfigProperty(name = "kaoto.openshift.namespace", defaultValue = "default")
+    private String defaultNamespace;
+
+    @Override
+    public <T extends CustomResource> Collection<T> list(final Class<T> type, final String namespace) {
+        final var informed = informed(type, namespace);
+        if (informed == null) {
+            return kubernetesClient.resources(type).inNamespace(namespace).list().getItems();
+        }
+        return informed.list();
+    }
+
+    @Override
+    public <T extends CustomResource> Optional<T> get(final Class<T> type, final String namespace,
+                                                      final String name) {
+        final var informed = informed(type, namespace);
+        if (informed == null) {
+            return Optional.ofNullable(kubernetesClient.resources(type).inNamespace(namespace).withName(name).get());
+        }
+        return informed.get(namespace, name);
+    }
+
+    @Override
+    public Collection<Pod> pods(final String namespace, final String integration) {
+        final var informed = informed(Pod.class, namespace);
+        if (informed == null) {
+            return kubernetesClient.pods().inNamespace(namespace)
+                    .withLabel(INTEGRATION_LABEL, integration)
+                    .list().getItems();
+        }
+        return informed.byIntegration(integration);
+    }
+
+    /*
+     * 🐱method page: KubernetesResourceList
+     * 🐱param type: Class
+     * 🐱param namespace: String
+     * 🐱param limit: long
+     * 🐱param continueToken: String
+     *
+     * At most limit resources of this type, after the ones of the page the
+     * token was returned with, and the token of the next page, if any.
+     */
+    public <T extends CustomResource> Page<T> page(final Class<T> type, final String namespace,
+                                                   final long limit, final String continueToken) {
+        final var fromCache = continueToken != null && continueToken.startsWith(CACHED_CONTINUE);
+        final var informed = continueToken == null || fromCache ? informed(type, namespace) : null;
+        if (informed == null && !fromCache) {
+            final var page = kubernetesClient.resources(type).inNamespace(namespace)
+                    .list(new ListOptionsBuilder()
+                            .withLimit(limit)
+                            .withContinue(continueToken)
+                            .build());
+            final var next = page.getMetadata() == null ? null : page.getMetadata().getContinue();
+            return new Page<>(page.getItems(), next == null || next.isEmpty() ? null : next);
+        }
+
+        final var after = fromCache ? continueToken.substring(CACHED_CONTINUE.length()) : null;
+        //the informer may be gone since the previous page, then the whole list is asked for
+        final Collection<T> all = informed != null ? informed.visible()
+                : kubernetesClient.resources(type).inNamespace(namespace).list().getItems();
+        final List<T> sorted = all.stream()
+                .filter(resource -> after == null || resource.getMetadata().getName().compareTo(after) > 0)
+                .sorted(Comparator.comparing(resource -> resource.getMetadata().getName()))
+                .toList();
+        final var items = sorted.stream().limit(limit).map(DeploymentCache::copy).toList();
+        final var next = sorted.size() > items.size()
+                ? CACHED_CONTINUE + items.get(items.size() - 1).getMetadata().getName() : null;
+        return new Page<>(items, next);
+    }
+
+    /*
+     * 🐱method changes: Change[]
+     * 🐱param type: Class
+     * 🐱param namespace: String
+     *
+     * Changes on the resources of this type, as the informer sees them.
+     * It starts with all the resources there are, as if they were just
+     * created. If the namespace is not cached, or its informer couldn't be
+     * started, the cluster is watched just for this subscriber. Fails if
+     * the resources can't be watched at all.
+     */
+    public <T extends HasMetadata> Multi<Change<T>> changes(final Class<T> type, final String namespace) {
+        return Multi.createFrom().emitter(emitter -> {
+            final var future = informer(type, namespace);
+            if (future == null) {
+                watch(type, namespace, emitter);
+                return;
+            }
+            future.thenAccept(informed -> {
+                if (emitter.isCancelled()) {
+                    return;
+                }
+                if (informed.informer() == null) {
+                    watch(type, namespace, emitter);
+                    return;
+                }
+                final var handler = new ResourceEventHandler<T>() {
+                    @Override
+                    public void onAdd(final T resource) {
+                        emitter.emit(new Change<>(null, copy(resource)));
+                    }
+
+                    @Override
+                    public void onUpdate(final T oldResource, final T resource) {
+                        emitter.emit(new Change<>(copy(oldResource), copy(resource)));
+                    }
+
+                    @Override
+                    public void onDelete(final T resource, final boolean deletedFinalStateUnknown) {
+                        emitter.emit(new Change<>(copy(resource), null));
+                    }
+                };
+                informed.informer().addEventHandler(handler);
+                emitter.onTermination(() -> informed.informer().removeEventHandler(handler));
+            });
+        });
+    }
+
+    /*
+     * Lists and then watches from where the list ended, remembering what
+     * it has seen so updates can say what changed.
+     */
+    private <T extends HasMetadata> void watch(final Class<T> type, final String namespace,
+                                               final MultiEmitter<? super Change<T>> emitter) {
+        try {
+            final var resources = kubernetesClient.resources(type).inNamespace(namespace);
+            final var list = resources.list();
+            final Map<String, T> seen = new ConcurrentHashMap<>();
+            for (T resource : list.getItems()) {
+                seen.put(resource.getMetadata().getName(), resource);
+                emitter.emit(new Change<>(null, resource));
+            }
+            final var options = new ListOptionsBuilder()
+                    .withResourceVersion(list.getMetadata() == null ? null : list.getMetadata().getResourceVersion())
+                    .build();
+            final var watch = resources.watch(options, new Watcher<T>() {
+                @Override
+                public void eventReceived(final Action action, final T resource) {
+                    final var name = resource.getMetadata().getName();
+                    switch (action) {
+                        case ADDED, MODIFIED -> emitter.emit(new Change<>(seen.put(name, resource), resource));
+                        case DELETED -> {
+                            seen.remove(name);
+                            emitter.emit(new Change<>(resource, null));
+                        }
+                        default -> log.trace("Ignoring " + action + " event of " + name);
+                    }
+                }
+
+                @Override
+                public void onClose(final WatcherException cause) {
+                    emitter.fail(cause);
+                }
+
+                @Override
+                public void onClose() {
+                    emitter.complete();
+                }
+            });
+            emitter.onTermination(watch::close);
+        } catch (RuntimeException e) {
+            emitter.fail(e);
+        }
+    }
+
+    /*
+     * 🐱method cached: boolean
+     * 🐱param namespace: String
+     *
+     * Whether the resources of the namespace are kept on the cache.
+     */
+    public boolean cached(final String namespace) {
+        return enabled && namespaces.orElse(List.of(defaultNamespace)).contains(namespace);
+    }
+
+    /*
+     * 🐱method created
+     * 🐱param resource: HasMetadata
+     *
+     * The resource was just created on the cluster by us.
+     */
+    public void created(final HasMetadata resource) {
+        final var future = existing(resource);
+        if (future != null) {
+            //if it is still syncing, it may have listed the resources before this one was created
+            future.thenAccept(informed -> informed.created(resource));
+        }
+    }
+
+    /*
+     * 🐱method deleted
+     * 🐱param resource: HasMetadata
+     *
+     * The resource was just deleted from the cluster by us.
+     */
+    public void deleted(final HasMetadata resource) {
+        final var future = existing(resource);
+        if (future != null) {
+            future.thenAccept(informed -> informed.deleted(resource));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends HasMetadata> CompletableFuture<Informed<T>> existing(final T resource) {
+        if (resource.getMetadata() == null) {
+            return null;
+        }
+        final var future = informers.get(new Key(resource.getClass(), resource.getMetadata().getNamespace()));
+        return future == null ? null : (CompletableFuture<Informed<T>>) (CompletableFuture<?>) future;
+    }
+
+    /*
+     * The informer of the type on the namespace, synced or not, starting it
+     * if needed. Null if the namespace is not cached.
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends HasMetadata> CompletableFuture<Informed<T>> informer(final Class<T> type,
+                                                                           final String namespace) {
+        if (!cached(namespace)) {
+            return null;
+        }
+
+        final var key = new Key(type, namespace);
+        var future = informers.get(key);
+        if (future != null && future.isDone() && future.join().informer() == null
+                && System.currentTimeMillis() - future.join().startedAt() > RETRY_MILLIS) {
+            informers.remove(key, future);
+        }
+        future = informers.computeIfAbsent(key, k -> start(type, namespace));
+        return (CompletableFuture<Informed<T>>) (CompletableFuture<?>) future;
+    }
+
+    /*
+     * The informer to read from, if it is already synced.
+     */
+    private <T extends HasMetadata> Informed<T> informed(final Class<T> type, final String namespace) {
+        final var future = informer(type, namespace);
+        if (future == null) {
+            return null;
+        }
+        final var informed = future.getNow(null);
+        if (informed == null || informed.informer() == null) {
+            return null;
+        }
+        informed.expire(System.currentTimeMillis() - createdMillis);
+        return informed;
+    }
+
+    private <T extends HasMetadata> CompletableFuture<Informed<?>> start(final Class<T> type,
+                                                                        final String namespace) {
+        final var startedAt = System.currentTimeMillis();
+        final SharedIndexInformer<T> informer;
+        try {
+            informer = kubernetesClient.resources(type).inNamespace(namespace).runnableInformer(0);
+            informer.addIndexers(Map.of(BY_INTEGRATION, byIntegrationLabel()));
+        } catch (RuntimeException e) {
+            log.warn("Couldn't watch " + type.getSimpleName() + " resources of namespace " + namespace
+                    + ", asking the cluster each time instead: " + e.getMessage());
+            return CompletableFuture.completedFuture(new Informed<T>(null, startedAt));
+        }
+
+        final var informed = new Informed<>(informer, startedAt);
+        informer.addEventHandler(informed);
+        return informer.start().toCompletableFuture()
+                .orTimeout(syncTimeout, TimeUnit.SECONDS)
+                .<Informed<?>>handle((ignored, e) -> {
+                    if (e == null) {
+                        log.debug("Caching " + type.getSimpleName() + " resources of namespace " + namespace);
+                        return informed;
+                    }
+                    log.warn("Couldn't watch " + type.getSimpleName() + " resources of namespace " + namespace
+                            + ", asking the cluster each time instead: " + e.getMessage());
+                    informer.stop();
+                    return new Informed<T>(null, startedAt);
+                });
+    }
+
+    /*
+     * Jackson always writes and reads the value on a conversion, so this is
+     * a deep copy.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends HasMetadata> T copy(final T resource) {
+        return resource == null ? null : (T) Serialization.json().convertValue(resource, resource.getClass());
+    }
+
+    private static <T extends HasMetadata> Function<T, List<String>> byIntegrationLabel() {
+        return resource -> {
+            final var labels = resource.getMetadata().getLabels();
+            if (labels == null || !labels.containsKey(INTEGRATION_LABEL)) {
+                return List.of();
+            }
+            return List.of(labels.get(INTEGRATION_LABEL));
+        };
+    }
+
+    @PreDestroy
+    void stop() {
+        for (var future : informers.values()) {
+            final var informed = future.getNow(null);
+            if (informed != null && informed.informer() != null) {
+                informed.informer().stop();
+            }
+        }
+        informers.clear();
+    }
+
+    /*
+     * How long what we created is shown while the informer hasn't seen it.
+     */
+    void setCreatedMillis(final long createdMillis) {
+        this.createdMillis = createdMillis;
+    }
+
+    @Inject
+    public void setKubernetesClient(final KubernetesClient kubernetesClient) {
+        this.kubernetesClient = kubernetesClient;
+    }
+
+    private record Key(Class<?> type, String namespace) {
+    }
+
+    /*
+     * 🐱miniclass Change (DeploymentCache)
+     *
+     * A resource before and after it changed. There is no previous one if
+     * it was created and no current one if it was deleted.
+     */
+    public record Change<T>(T previous, T current) {
+    }
+
+    /*
+     * 🐱miniclass Page (DeploymentCache)
+     *
+     * Some of the resources of a list and the token to get the next ones,
+     * null on the last page.
+     */
+    public record Page<T>(List<T> items, String next) {
+    }
+
+    /*
+     * What the informer has, plus what we changed and it hasn't seen yet.
+     */
+    private static final class Informed<T extends HasMetadata> implements ResourceEventHandler<T> {
+        private final SharedIndexInformer<T> informer;
+        private final long startedAt;
+        //name -> created by us, not yet on the informer
+        private final Map<String, Written<T>> created = new ConcurrentHashMap<>();
+        //uid of the resources deleted by us, still on the informer
+        private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+
+        private Informed(final SharedIndexInformer<T> informer, final long startedAt) {
+            this.informer = informer;
+            this.startedAt = startedAt;
+        }
+
+        SharedIndexInformer<T> informer() {
+            return informer;
+        }
+
+        long startedAt() {
+            return startedAt;
+        }
+
+        List<T> list() {
+            return visible().stream().map(DeploymentCache::copy).toList();
+        }
+
+        /*
+         * What there is, not copied yet.
+         */
+        List<T> visible() {
+            final List<T> res = new ArrayList<>();
+            for (T resource : informer.getIndexer().list()) {
+                if (visible(resource)) {
+                    res.add(resource);
+                }
+            }
+            for (Written<T> written : created.values()) {
+                if (informer.getIndexer().getByKey(key(written.resource())) == null) {
+                    res.add(written.resource());
+                }
+            }
+            return res;
+        }
+
+        Optional<T> get(final String namespace, final String name) {
+            final var resource = informer.getIndexer().getByKey(namespace + "/" + name);
+            if (resource != null && visible(resource)) {
+                return Optional.of(copy(resource));
+            }
+            final var written = created.get(name);
+            return Optional.ofNullable(written == null ? null : copy(written.resource()));
+        }
+
+        List<T> byIntegration(final String integration) {
+            return informer.getIndexer().byIndex(BY_INTEGRATION, integration).stream()
+                    .filter(this::visible)
+                    .map(DeploymentCache::copy)
+                    .toList();
+        }
+
+        void created(final T resource) {
+            created.put(resource.getMetadata().getName(), new Written<>(copy(resource), System.currentTimeMillis()));
+        }
+
+        /*
+         * Someone else may have deleted what we created before the informer
+         * saw it, and then no event will ever come for it.
+         */
+        void expire(final long before) {
+            created.values().removeIf(written -> written.at() < before);
+        }
+
+        void deleted(final T resource) {
+            created.remove(resource.getMetadata().getName());
+            if (resource.getMetadata().getUid() != null) {
+                deleted.add(resource.getMetadata().getUid());
+            }
+        }
+
+        private boolean visible(final T resource) {
+            final var uid = resource.getMetadata().getUid();
+            return uid == null || !deleted.contains(uid);
+        }
+
+        private static String key(final HasMetadata resource) {
+            return resource.getMetadata().getNamespace() + "/" + resource.getMetadata().getName();
+        }
+
+        @Override
+        public void onAdd(final T resource) {
+            created.remove(resource.getMetadata().getName());
+        }
+
+        @Override
+        public void onUpdate(final T oldResource, final T resource) {
+            created.remove(resource.getMetadata().getName());
+        }
+
+        @Override
+        public void onDelete(final T resource, final boolean deletedFinalStateUnknown) {
+            final var uid = resource.getMetadata().getUid();
+            if (uid != null) {
+                deleted.remove(uid);
+            }
+            //unless it is an older one with the same name, gone after we created ours
+            created.computeIfPresent(resource.getMetadata().getName(), (name, written) -> {
+                final var writtenUid = written.resource().getMetadata().getUid();
+                return writtenUid == null || writtenUid.equals(uid) ? null : written;
+            });
+        }
+    }
+
+    private record Written<T>(T resource, long at) {
+    }
+}
@@ -0,0 +1,331 @@
+package io.kaoto.backend.deployment;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.BackPressureStrategy;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🐱miniclass LogStreams (ClusterService)
+ *
+ * 🐱section
+ * Logs of the pods, shared by everyone looking at them. There is only one
+ * log watch on the cluster for each pod, no matter how many subscribers
+ * it has. It is closed when the last one leaves.
+ *
+ * Each watch has one thread reading from the cluster as much as there is
+ * available and sending it, cut on the last full line, to the subscribers.
+ * Lines longer than a few chunks are sent in pieces instead of waiting for
+ * their end.
+ * Subscribers never block it: each one has its own buffer, of
+ * kaoto.logs.buffer chunks, and fails if it can't keep up. The last
+ * kaoto.logs.history lines are kept, so whoever subscribes later still
+ * gets the tail they asked for.
+ *
+ * There can't be more than kaoto.logs.max-watches pods watched at the
+ * same time.
+ */
+@ApplicationScoped
+public class LogStreams {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final int MAX_PARTIAL = 4 * CHUNK_SIZE;
+
+    private final Logger log = Logger.getLogger(LogStreams.class);
+
+    private final Map<Key, Watched> watches = new ConcurrentHashMap<>();
+
+    private KubernetesClient kubernetesClient;
+    private Semaphore permits;
+    private ExecutorService readers;
+
+    @ConfigProperty(name = "kaoto.logs.max-watches", defaultValue = "20")
+    private int maxWatches;
+
+    @ConfigProperty(name = "kaoto.logs.buffer", defaultValue = "256")
+    private int buffer;
+
+    @ConfigProperty(name = "kaoto.logs.history", defaultValue = "1000")
+    private int history;
+
+    public LogStreams() {
+    }
+
+    LogStreams(final int maxWatches, final int buffer, final int history) {
+        this.maxWatches = maxWatches;
+        this.buffer = buffer;
+        this.history = history;
+    }
+
+    @PostConstruct
+    void init() {
+        final int max = Math.max(1, maxWatches);
+        permits = new Semaphore(max);
+        final var counter = new AtomicInteger();
+        final var executor = new ThreadPoolExecutor(max, max, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final var thread = new Thread(runnable, "kaoto-log-reader-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        readers = executor;
+    }
+
+    /*
+     * 🐱method stream: String[]
+     * 🐱param namespace: String
+     * 🐱param pod: String
+     * 🐱param lines: int
+     *
+     * Log of the pod, starting with the last lines of it, in chunks of
+     * full lines. Fails right away if there are too many pods watched
+     * already.
+     */
+    public Multi<String> stream(final String namespace, final String pod, final int lines) {
+        final var key = new Key(namespace, pod);
+        if (!watches.containsKey(key) && permits.availablePermits() == 0) {
+            throw tooMany();
+        }
+        return Multi.createFrom().<String>emitter(emitter -> subscribe(key, lines, emitter),
+                        BackPressureStrategy.ERROR)
+                .onOverflow().buffer(Math.max(1, buffer));
+    }
+
+    private void subscribe(final Key key, final int lines, final MultiEmitter<? super String> emitter) {
+        try {
+            Watched watched;
+            do {
+                watched = watches.get(key);
+                if (watched == null) {
+                    if (!permits.tryAcquire()) {
+                        throw tooMany();
+                    }
+                    final var created = new Watched(key);
+                    watched = watches.putIfAbsent(key, created);
+                    if (watched == null) {
+                        watched = created;
+                    } else {
+                        permits.release();
+                    }
+                }
+            } while (!watched.join(emitter, lines));
+
+            final var joined = watched;
+            emitter.onTermination(() -> joined.leave(emitter));
+        } catch (RuntimeException e) {
+            emitter.fail(e);
+        }
+    }
+
+    /*
+     * The log watch of the pod on the cluster.
+     */
+    LogWatch watchLog(final String namespace, final String pod, final int lines) {
+        return kubernetesClient.pods().inNamespace(namespace).withName(pod).tailingLines(lines).watchLog();
+    }
+
+    private static ClientErrorException tooMany() {
+        return new ClientErrorException("There are too many logs being watched, try again later.",
+                Response.Status.TOO_MANY_REQUESTS);
+    }
+
+    @PreDestroy
+    void stop() {
+        for (var watched : watches.values()) {
+            watched.finish(null);
+        }
+        readers.shutdownNow();
+    }
+
+    @Inject
+    public void setKubernetesClient(final KubernetesClient kubernetesClient) {
+        this.kubernetesClient = kubernetesClient;
+    }
+
+    /*
+     * Length of the bytes that make whole UTF-8 characters, leaving out the
+     * last one if it is not complete yet.
+     */
+    static int wholeCharacters(final byte[] bytes) {
+        int lead = bytes.length - 1;
+        while (lead > 0 && (bytes[lead] & 0xC0) == 0x80) {
+            lead--;
+        }
+        if (lead < 0) {
+            return 0;
+        }
+        final int first = bytes[lead] & 0xFF;
+        final int size = first >= 0xF0 ? 4 : first >= 0xE0 ? 3 : first >= 0xC0 ? 2 : 1;
+        return lead + size <= bytes.length ? bytes.length : lead;
+    }
+
+    private record Key(String namespace, String pod) {
+    }
+
+    /*
+     * The log watch of one pod and who is subscribed to it.
+     */
+    private final class Watched {
+        private final Key key;
+        private final List<MultiEmitter<? super String>> subscribers = new ArrayList<>();
+        private final Deque<String> recent = new ArrayDeque<>();
+        //what we have read after the last full line
+        private final ByteArrayOutputStream partial = new ByteArrayOutputStream();
+        private LogWatch watch;
+        private boolean done;
+
+        private Watched(final Key key) {
+            this.key = key;
+        }
+
+        /*
+         * False if this watch is already finished and a new one is needed.
+         */
+        synchronized boolean join(final MultiEmitter<? super String> emitter, final int lines) {
+            if (done) {
+                return false;
+            }
+            if (watch == null) {
+                start(lines);
+            } else if (lines > 0 && !recent.isEmpty()) {
+                final var tail = new StringBuilder();
+                recent.stream().skip(Math.max(0, recent.size() - lines)).forEach(tail::append);
+                emitter.emit(tail.toString());
+            }
+            subscribers.add(emitter);
+            return true;
+        }
+
+        private void start(final int lines) {
+            try {
+                watch = watchLog(key.namespace(), key.pod(), lines);
+                readers.execute(this::read);
+                log.debug("Watching the log of " + key.pod() + " in " + key.namespace());
+            } catch (RuntimeException e) {
+                finish(null);
+                throw e;
+            }
+        }
+
+        synchronized void leave(final MultiEmitter<? super String> emitter) {
+            if (subscribers.remove(emitter) && subscribers.isEmpty()) {
+                finish(null);
+            }
+        }
+
+        private void read() {
+            final var bytes = new byte[CHUNK_SIZE];
+            try (var in = watch.getOutput()) {
+                int read;
+                while ((read = in.read(bytes)) >= 0) {
+                    publish(bytes, read);
+                }
+                finish(null);
+            } catch (IOException | RuntimeException e) {
+                //closing the watch ourselves also ends up here
+                finish(e);
+            }
+        }
+
+        private synchronized void publish(final byte[] bytes, final int length) {
+            int end = length - 1;
+            while (end >= 0 && bytes[end] != '\n') {
+                end--;
+            }
+            if (end < 0) {
+                partial.write(bytes, 0, length);
+                if (partial.size() >= MAX_PARTIAL) {
+                    sendPartial();
+                }
+                return;
+            }
+
+            partial.write(bytes, 0, end + 1);
+            final var chunk = partial.toString(StandardCharsets.UTF_8);
+            partial.reset();
+            partial.write(bytes, end + 1, length - end - 1);
+            send(chunk);
+        }
+
+        /*
+         * A pod writing with no new lines would keep us buffering forever,
+         * so what we have is sent as it is, up to its last whole character.
+         */
+        private void sendPartial() {
+            final var pending = partial.toByteArray();
+            final var cut = wholeCharacters(pending);
+            partial.reset();
+            partial.write(pending, cut, pending.length - cut);
+            send(new String(pending, 0, cut, StandardCharsets.UTF_8));
+        }
+
+        private void send(final String chunk) {
+            for (var line : chunk.split("(?<=\n)")) {
+                recent.addLast(line);
+                if (recent.size() > history) {
+                    recent.removeFirst();
+                }
+            }
+            //a subscriber that can't keep up leaves while we are sending
+            for (var subscriber : List.copyOf(subscribers)) {
+                subscriber.emit(chunk);
+            }
+        }
+
+        synchronized void finish(final Throwable failure) {
+            if (done) {
+                return;
+            }
+            done = true;
+            watches.remove(key, this);
+            permits.release();
+
+            if (partial.size() > 0) {
+                send(partial.toString(StandardCharsets.UTF_8));
+                partial.reset();
+            }
+            final var remaining = List.copyOf(subscribers);
+            subscribers.clear();
+            if (failure != null && !remaining.isEmpty()) {
+                log.error("Error reading log stream", failure);
+            }
+            for (var subscriber : remaining) {
+                if (failure == null) {
+                    subscriber.complete();
+                } else {
+                    subscriber.fail(failure);
+                }
+            }
+            if (watch != null) {
+                watch.close();
+            }
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package io.kaoto.backend.deployment;
 
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletRepresenter;
+import io.kaoto.backend.api.service.serialization.Serialization;
+import io.kaoto.backend.model.deployment.DeploymentEvent;
+import io.kaoto.backend.model.deployment.kamelet.KameletBinding;
 import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
 import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +17,13 @@ import org.junit.jupiter.api.Timeout;
 import javax.inject.Inject;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 import static org.junit.Assert.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -100,6 +113,9 @@ class ClusterServiceTest {
     @Inject
     private KubernetesClient kubernetesClient;
 
+    @Inject
+    private DeploymentCache deploymentCache;
+
 
     @BeforeEach
     void cleanResources() {
@@ -109,6 +125,26 @@ class ClusterServiceTest {
         }
     }
 
+    @Test
+    void genericResourceAsTheDumpedYaml() throws Exception {
+        final var binding = Serialization.readYaml(kameletBinding, KameletBinding.class);
+        binding.getMetadata().setLabels(Map.of("app", "kaoto"));
+        binding.getMetadata().setAnnotations(Map.of("description", "a binding"));
+        //what the cluster fills, or comes from where it was read, is not sent back
+        binding.getMetadata().setNamespace("elsewhere");
+        binding.getMetadata().setUid("0c9d8a2e-5f3b-4b7a-9a41-7c1f0c2b1e11");
+        binding.getMetadata().setResourceVersion("42");
+        binding.getMetadata().setCreationTimestamp("2023-01-01T00:00:00Z");
+
+        final Map<?, ?> dumped = Serialization.yaml().readValue(
+                KameletRepresenter.getDumper().dumpAsMap(binding), Map.class);
+        final Map<?, ?> generic = Serialization.json().convertValue(ClusterService.toGeneric(binding), Map.class);
+        assertEquals(dumped, generic);
+
+        binding.getMetadata().setGenerateName("abinding-");
+        assertEquals("abinding-", ClusterService.toGeneric(binding).getMetadata().getGenerateName());
+    }
+
     @Test
     void testAll() {
         String ns = "default";
@@ -168,7 +204,7 @@ class ClusterServiceTest {
                 .load(new ByteArrayInputStream(kamelet.getBytes(StandardCharsets.UTF_8)))
                 .create();
 
-        assertEquals(1, clusterService.getResources(ns).size());
+        eventually(() -> clusterService.getResources(ns).size() == 1);
 
         kubernetesClient.genericKubernetesResources(new ResourceDefinitionContext.Builder()
                         .withNamespaced(true)
@@ -181,7 +217,7 @@ class ClusterServiceTest {
                 .load(new ByteArrayInputStream(integration.getBytes(StandardCharsets.UTF_8)))
                 .create();
 
-        assertEquals(1, clusterService.getResources(ns).size());
+        eventually(() -> clusterService.getResources(ns).size() == 1);
 
         kubernetesClient.genericKubernetesResources(new ResourceDefinitionContext.Builder()
                         .withNamespaced(true)
@@ -194,7 +230,7 @@ class ClusterServiceTest {
                 .load(new ByteArrayInputStream(integration2.getBytes(StandardCharsets.UTF_8)))
                 .create();
 
-        assertEquals(2, clusterService.getResources(ns).size());
+        eventually(() -> clusterService.getResources(ns).size() == 2);
 
         kubernetesClient.genericKubernetesResources(new ResourceDefinitionContext.Builder()
                         .withNamespaced(true)
@@ -207,7 +243,7 @@ class ClusterServiceTest {
                 .load(new ByteArrayInputStream(kameletBinding.getBytes(StandardCharsets.UTF_8)))
                 .create();
 
-        assertEquals(3, clusterService.getResources(ns).size());
+        eventually(() -> clusterService.getResources(ns).size() == 3);
 
         kubernetesClient.genericKubernetesResources(new ResourceDefinitionContext.Builder()
                         .withNamespaced(true)
@@ -220,7 +256,107 @@ class ClusterServiceTest {
                 .load(new ByteArrayInputStream(kameletBinding2.getBytes(StandardCharsets.UTF_8)))
                 .create();
 
-        assertEquals(4, clusterService.getResources(ns).size());
+        eventually(() -> clusterService.getResources(ns).size() == 4);
+    }
+
+    @Test
+    void cachedResourcesAreCopies() {
+        String ns = "default";
+        clusterService.start(kameletBinding, ns);
+        eventually(() -> deploymentCache.list(KameletBinding.class, ns).size() == 1);
+
+        final var binding = deploymentCache.list(KameletBinding.class, ns).iterator().next();
+        binding.getMetadata().setName("changed");
+        binding.getMetadata().setLabels(Map.of("changed", "true"));
+
+        final var again = deploymentCache.list(KameletBinding.class, ns).iterator().next();
+        assertTrue(again.getMetadata().getName().startsWith("abinding"));
+        assertTrue(again.getMetadata().getLabels() == null
+                || !again.getMetadata().getLabels().containsKey("changed"));
+    }
+
+    @Test
+    void createdAndDeletedBeforeTheInformerSawIt() {
+        String ns = "default";
+        eventually(() -> deploymentCache.list(KameletBinding.class, ns).isEmpty());
+
+        //as if someone deleted it right after we created it
+        final var ghost = new KameletBinding();
+        ghost.setMetadata(new ObjectMetaBuilder().withName("ghost").withNamespace(ns).withUid("ghost").build());
+        deploymentCache.created(ghost);
+        eventually(() -> deploymentCache.get(KameletBinding.class, ns, "ghost").isPresent());
+
+        try {
+            deploymentCache.setCreatedMillis(0);
+            eventually(() -> deploymentCache.get(KameletBinding.class, ns, "ghost").isEmpty());
+            assertTrue(deploymentCache.list(KameletBinding.class, ns).isEmpty());
+        } finally {
+            deploymentCache.setCreatedMillis(TimeUnit.MINUTES.toMillis(1));
+        }
+    }
+
+    @Test
+    @Timeout(value = 60)
+    void watch() {
+        String ns = "default";
+        clusterService.start(kameletBinding, ns);
+        final var name = clusterService.getResources(ns).get(0).getName();
+
+        final List<DeploymentEvent> events = new CopyOnWriteArrayList<>();
+        final var watching = clusterService.watch(ns).subscribe().with(events::add);
+        try {
+            //what was already there comes first
+            eventually(() -> events.stream().anyMatch(e -> e.action() == DeploymentEvent.Action.ADDED
+                    && name.equals(e.deployment().getName())));
+
+            clusterService.stop(name, ns, null);
+            eventually(() -> events.stream().anyMatch(e -> e.action() == DeploymentEvent.Action.DELETED
+                    && name.equals(e.deployment().getName())));
+        } finally {
+            watching.cancel();
+        }
+    }
+
+    @Test
+    @Timeout(value = 60)
+    void watchNamespaceNotCached() {
+        String ns = "not-cached";
+        assertFalse(deploymentCache.cached(ns));
+        clusterService.start(kameletBinding, ns);
+        final var name = clusterService.getResources(ns).get(0).getName();
+
+        final List<DeploymentEvent> events = new CopyOnWriteArrayList<>();
+        final var watching = clusterService.watch(ns).subscribe().with(events::add);
+        try {
+            eventually(() -> events.stream().anyMatch(e -> e.action() == DeploymentEvent.Action.ADDED
+                    && name.equals(e.deployment().getName())));
+
+            clusterService.stop(name, ns, null);
+            eventually(() -> events.stream().anyMatch(e -> e.action() == DeploymentEvent.Action.DELETED
+                    && name.equals(e.deployment().getName())));
+        } finally {
+            watching.cancel();
+        }
+    }
+
+    @Test
+    void pagesFromTheCache() {
+        String ns = "default";
+        for (int i = 0; i < 3; i++) {
+            clusterService.start(kameletBinding, ns);
+        }
+        eventually(() -> deploymentCache.list(KameletBinding.class, ns).size() == 3);
+
+        final List<String> names = new ArrayList<>();
+        String token = null;
+        do {
+            final var page = deploymentCache.page(KameletBinding.class, ns, 2, token);
+            assertTrue(page.items().size() <= 2);
+            page.items().forEach(binding -> names.add(binding.getMetadata().getName()));
+            token = page.next();
+        } while (token != null);
+        assertEquals(3, names.size());
+        assertEquals(names.stream().sorted().toList(), names);
     }
 
     @Test
@@ -260,10 +396,21 @@ class ClusterServiceTest {
                 .load(new ByteArrayInputStream(kameletBinding.getBytes(StandardCharsets.UTF_8)))
                 .create();
 
+        //created behind the back of the service, wait until it sees them
+        eventually(() -> !deploymentCache.pods("default", "abinding").isEmpty());
+        eventually(() -> clusterService.get("default", "abinding", "KameletBinding") != null);
+
         var logs = clusterService.streamlogs("default", "abinding", "KameletBinding", 50);
         assertNotNull(logs);
         assertTrue(logs.subscribe().asStream().allMatch(s -> s != null));
 
+        //two subscribers on the same pod both end with its log, see LogStreamsTest for the sharing
+        final var first = clusterService.streamlogs("default", "abinding", "KameletBinding", 50);
+        final var second = clusterService.streamlogs("default", "abinding", null, 10);
+        assertNotNull(Multi.createBy().merging().streams(first, second)
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(30)));
+
         assertThrows(IllegalArgumentException.class,
                 () -> {clusterService.streamlogs("default", "abinding", "Integration", 50);});
         assertThrows(IllegalArgumentException.class,
@@ -294,11 +441,26 @@ class ClusterServiceTest {
                 .load(new ByteArrayInputStream(intyaml.getBytes(StandardCharsets.UTF_8)))
                 .create();
 
+        eventually(() -> clusterService.get("default", "abinding", "Integration") != null);
+
         logs = clusterService.streamlogs("default", "abinding", "Integration", 50);
         assertNotNull(logs);
         assertTrue(logs.subscribe().asStream().allMatch(s -> s != null));
     }
 
+    private static void eventually(final BooleanSupplier condition) {
+        final var deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
     public ClusterService getClusterService() {
         return clusterService;
     }
@@ -0,0 +1,160 @@
+package io.kaoto.backend.deployment;
+
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogStreamsTest {
+
+    private static final int BUFFER = 4;
+
+    private final Map<String, PipedOutputStream> pods = new ConcurrentHashMap<>();
+    private final AtomicInteger watches = new AtomicInteger();
+    private LogStreams logStreams;
+
+    @BeforeEach
+    void start() {
+        logStreams = new LogStreams(1, BUFFER, 10) {
+            @Override
+            LogWatch watchLog(final String namespace, final String pod, final int lines) {
+                watches.incrementAndGet();
+                return new PipedLogWatch(pods.computeIfAbsent(pod, p -> new PipedOutputStream()));
+            }
+        };
+        logStreams.init();
+    }
+
+    @AfterEach
+    void stop() {
+        logStreams.stop();
+    }
+
+    @Test
+    void oneWatchPerPod() throws IOException {
+        final var first = logStreams.stream("default", "pod", 0)
+                .subscribe().withSubscriber(AssertSubscriber.<String>create(Long.MAX_VALUE));
+        final var second = logStreams.stream("default", "pod", 0)
+                .subscribe().withSubscriber(AssertSubscriber.<String>create(Long.MAX_VALUE));
+
+        write("pod", "hello\n");
+        first.awaitItems(1);
+        second.awaitItems(1);
+        assertEquals(1, watches.get());
+        assertEquals(List.of("hello\n"), first.getItems());
+        assertEquals(List.of("hello\n"), second.getItems());
+
+        //the pod is gone, both end with it
+        pods.get("pod").close();
+        first.awaitCompletion();
+        second.awaitCompletion();
+    }
+
+    @Test
+    void tooManyWatches() {
+        logStreams.stream("default", "pod", 0)
+                .subscribe().withSubscriber(AssertSubscriber.<String>create(Long.MAX_VALUE));
+
+        final var e = assertThrows(ClientErrorException.class, () -> logStreams.stream("default", "other", 0));
+        assertEquals(Response.Status.TOO_MANY_REQUESTS.getStatusCode(), e.getResponse().getStatus());
+        assertEquals(1, watches.get());
+    }
+
+    @Test
+    void slowSubscriberFailsAlone() throws IOException {
+        final var slow = logStreams.stream("default", "pod", 0)
+                .subscribe().withSubscriber(AssertSubscriber.<String>create(0));
+        final var fast = logStreams.stream("default", "pod", 0)
+                .subscribe().withSubscriber(AssertSubscriber.<String>create(Long.MAX_VALUE));
+
+        for (int i = 0; i <= BUFFER; i++) {
+            write("pod", "line " + i + "\n");
+            fast.awaitItems(i + 1);
+        }
+        slow.awaitFailure();
+
+        write("pod", "still here\n");
+        fast.awaitItems(BUFFER + 2);
+        assertEquals("still here\n", fast.getItems().get(BUFFER + 1));
+    }
+
+    @Test
+    void longLinesAreSentInPieces() throws IOException {
+        final var subscriber = logStreams.stream("default", "pod", 0)
+                .subscribe().withSubscriber(AssertSubscriber.<String>create(Long.MAX_VALUE));
+
+        //no new line in sight, but the first 32KB are not kept waiting for it
+        write("pod", "a".repeat(64 * 1024));
+        subscriber.awaitItems(1);
+        assertTrue(subscriber.getItems().get(0).length() >= 32 * 1024);
+    }
+
+    @Test
+    void cutOnWholeCharacters() {
+        final var bytes = "aé€😀".getBytes(StandardCharsets.UTF_8);
+        assertEquals(bytes.length, LogStreams.wholeCharacters(bytes));
+        //the emoji takes four bytes, none of them can be sent alone
+        for (int cut = 1; cut < 4; cut++) {
+            final var partial = Arrays.copyOf(bytes, bytes.length - cut);
+            assertEquals(bytes.length - 4, LogStreams.wholeCharacters(partial));
+        }
+        assertEquals(0, LogStreams.wholeCharacters(new byte[0]));
+    }
+
+    private void write(final String pod, final String content) throws IOException {
+        final var out = pods.get(pod);
+        out.write(content.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /*
+     * The log of a pod is whatever the test writes on its pipe.
+     */
+    private static final class PipedLogWatch implements LogWatch {
+        private final PipedOutputStream out;
+        private final PipedInputStream in;
+
+        PipedLogWatch(final PipedOutputStream out) {
+            this.out = out;
+            try {
+                this.in = new PipedInputStream(out, 1024 * 1024);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public InputStream getOutput() {
+            return in;
+        }
+
+        @Override
+        public void close() {
+            try {
+                out.close();
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
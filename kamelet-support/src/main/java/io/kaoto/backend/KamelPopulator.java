@@ -2,6 +2,7 @@ package io.kaoto.backend;
 
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.deployment.generator.Generation;
 import io.kaoto.backend.model.deployment.kamelet.Bean;
 import io.kaoto.backend.model.deployment.kamelet.FlowStep;
 import io.kaoto.backend.model.deployment.kamelet.Kamelet;
@@ -92,6 +93,8 @@ public class KamelPopulator {
     public static final String GROOVY = "groovy";
     public static final String JAVASCRIPT = "javascript";
 
+    private static final String FLOW = KamelPopulator.class.getName() + ".flow";
+
     public static final String CAMEL_APACHE_ORG_KAMELET_ICON = "camel.apache.org/kamelet.icon";
     private final String group = "camel.apache.org";
 
@@ -106,10 +109,19 @@ public class KamelPopulator {
             final Map<String, Object> metadata,
             final List<Step> steps,
             final List<Parameter> parameters) {
+        populateKamelet(kamelet, metadata, steps, parameters, getFlow(steps));
+    }
+
+    public void populateKamelet(
+            final Kamelet kamelet,
+            final Map<String, Object> metadata,
+            final List<Step> steps,
+            final List<Parameter> parameters,
+            final From flow) {
 
         kamelet.setSpec(new KameletSpec());
         kamelet.getSpec().setTemplate(new Template());
-        kamelet.getSpec().getTemplate().setFrom(getFlow(steps));
+        kamelet.getSpec().getTemplate().setFrom(flow);
         if (metadata.containsKey("definition")) {
             if (metadata.get("definition") instanceof KameletDefinition def) {
                 kamelet.getSpec().setDefinition(def);
@@ -267,6 +279,14 @@ public class KamelPopulator {
         return type;
     }
 
+    /*
+     * The flow only depends on the steps and the catalog, so all the
+     * generators of the same steps use the same one.
+     */
+    public From getFlow(final Generation generation) {
+        return generation.shared(FLOW, () -> getFlow(generation.getSteps()));
+    }
+
     public From getFlow(final List<Step> steps) {
         final var from = new From();
         from.setSteps(new ArrayList<>());
@@ -1,13 +1,11 @@
 package io.kaoto.backend.api.service.deployment.generator.kamelet;
 
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import io.kaoto.backend.api.service.step.parser.kamelet.KameletBindingStepParserService;
 import io.kaoto.backend.metadata.parser.step.camelroute.CamelRouteFileProcessor;
 import io.kaoto.backend.model.deployment.Deployment;
@@ -19,12 +17,11 @@ import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.api.trace.Span;
 import org.jboss.logging.Logger;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -51,6 +48,8 @@ public class KameletBindingDeploymentGeneratorService
 
     private Logger log = Logger.getLogger(KameletBindingDeploymentGeneratorService.class);
 
+    private String schema;
+
     public String identifier() {
         return "KameletBinding";
     }
@@ -63,10 +62,15 @@ public class KameletBindingDeploymentGeneratorService
 
     @Override
     public String validationSchema() {
-        try {
-            String schema = new String(CamelRouteFileProcessor.class
-                    .getResourceAsStream("kameletbinding.json").readAllBytes());
-            return schema;
+        if (schema == null) {
+            schema = loadSchema();
+        }
+        return schema;
+    }
+
+    private String loadSchema() {
+        try (var in = CamelRouteFileProcessor.class.getResourceAsStream("kameletbinding.json")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
             log.error("Can't load Kamelet Binding DSL schema", e);
         }
@@ -106,8 +110,7 @@ public class KameletBindingDeploymentGeneratorService
 
         KameletBinding binding = new KameletBinding(String.valueOf(metadata.getOrDefault("name", "")), spec);
 
-        Yaml yaml = new Yaml(new Constructor(KameletBinding.class), new KameletRepresenter());
-        return yaml.dumpAsMap(binding);
+        return KameletRepresenter.getDumper().dumpAsMap(binding);
     }
 
     private KameletBindingStep createKameletBindingStep(final Step step) {
@@ -121,11 +124,15 @@ public class KameletBindingDeploymentGeneratorService
             kind = KAMELET;
         }
 
+        //Other generators may be reading the same steps, we work on our own copy of the parameters
+        final List<Parameter> parameters = step.getParameters() != null
+                ? new ArrayList<>(step.getParameters()) : null;
+
         if (CAMEL_CONNECTOR.equals(kind) && !IGNORE_CAMEL_COMPONENTS) {
             StringBuilder prefix = new StringBuilder(step.getName());
 
-            Collections.sort(step.getParameters());
-            for (var property : step.getParameters()) {
+            Collections.sort(parameters);
+            for (var property : parameters) {
                 if (property.isPath()) {
                     prefix.append(property.getPathSeparator());
                     prefix.append(property.getValue());
@@ -133,8 +140,8 @@ public class KameletBindingDeploymentGeneratorService
             }
             kameletStep.setUri(prefix.toString());
 
-            if (step.getParameters() != null) {
-                for (var p : step.getParameters()) {
+            if (parameters != null) {
+                for (var p : parameters) {
                     if (p.getValue() != null && !p.isPath()) {
                         kameletStep.getParameters().put(p.getId(), p.getValue());
                     }
@@ -147,22 +154,22 @@ public class KameletBindingDeploymentGeneratorService
                 ref.setKind("Broker");
                 ref.setApiVersion("eventing.knative.dev/v1");
 
-                if (step.getParameters() != null) {
-                    for (var p : new ArrayList<>(step.getParameters())) {
+                if (parameters != null) {
+                    for (var p : step.getParameters()) {
                         if (p.getTitle().equalsIgnoreCase("name") && p.getValue() != null) {
                             ref.setName(p.getValue().toString());
-                            step.getParameters().remove(p);
+                            parameters.remove(p);
                         }
                         if (p.getTitle().equalsIgnoreCase("kind") && p.getValue() != null) {
                             ref.setKind(p.getValue().toString());
-                            step.getParameters().remove(p);
+                            parameters.remove(p);
                         }
                     }
                 }
             }
 
-            if (step.getParameters() != null) {
-                for (var p : step.getParameters()) {
+            if (parameters != null) {
+                for (var p : parameters) {
                     if (p.getValue() != null && !p.isPath()) {
                         kameletStep.getProperties().put(p.getId(), p.getValue().toString());
                     }
@@ -212,13 +219,7 @@ public class KameletBindingDeploymentGeneratorService
     public CustomResource parse(final String input) {
         if (stepParserService.appliesTo(input)) {
             try {
-                ObjectMapper yamlMapper =
-                        new ObjectMapper(new YAMLFactory())
-                                .configure(
-                                        DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
-                                        false);
-
-                return yamlMapper.readValue(input, KameletBinding.class);
+                return Serialization.readYaml(input, KameletBinding.class);
             } catch (Exception e) {
                 log.trace("Tried creating a kamelet binding and it didn't work.");
             }
@@ -234,15 +235,11 @@ public class KameletBindingDeploymentGeneratorService
             final var resources = kclient.resources(KameletBinding.class).inNamespace(namespace).list();
             for (CustomResource customResource : resources.getItems()) {
                 res.add(new Deployment(customResource, getStatus(customResource)));
-
-                if (Span.current() != null) {
-                    Span.current().setAttribute("KameletBinding[" + res.size() + "]",
-                            res.get(res.size() - 1).toString());
-                }
             }
         } catch (Exception e) {
             log.warn("Error extracting the list of integrations.", e);
         }
+        Span.current().setAttribute("KameletBinding.count", res.size());
 
         return res;
     }
@@ -1,13 +1,14 @@
 package io.kaoto.backend.api.service.deployment.generator.kamelet;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.deployment.generator.ClusterResources;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.deployment.generator.Generation;
+import io.kaoto.backend.api.service.serialization.Serialization;
+import io.kaoto.backend.api.service.serialization.YamlDumper;
 import io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService;
 import io.kaoto.backend.metadata.parser.step.camelroute.CamelRouteFileProcessor;
 import io.kaoto.backend.model.deployment.Deployment;
@@ -16,13 +17,11 @@ import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.api.trace.Span;
 import org.jboss.logging.Logger;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
-import org.yaml.snakeyaml.representer.Representer;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
@@ -45,6 +44,9 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
     private StepCatalog catalog;
 
     private Logger log = Logger.getLogger(KameletDeploymentGeneratorService.class);
+
+    private String schema;
+
     public KameletDeploymentGeneratorService() {
     }
 
@@ -62,12 +64,20 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
                 + "blocks or steps that can be reused on integrations.";
     }
 
+    /*
+     * The schema is part of the jar, so it is only read the first time.
+     */
     @Override
     public String validationSchema() {
-        try {
-            String schema = new String(CamelRouteFileProcessor.class
-                    .getResourceAsStream("kamelet.json").readAllBytes());
-            return schema;
+        if (schema == null) {
+            schema = loadSchema();
+        }
+        return schema;
+    }
+
+    private String loadSchema() {
+        try (var in = CamelRouteFileProcessor.class.getResourceAsStream("kamelet.json")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
             log.error("Can't load Kamelet DSL schema", e);
         }
@@ -79,15 +89,17 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
                         final Map<String, Object> metadata,
                         final List<Parameter> parameters) {
         return getYAML(new Kamelet(steps, metadata, parameters, catalog),
-                new KameletRepresenter());
+                KameletRepresenter.getDumper());
+    }
+
+    @Override
+    public String parse(final Generation generation) {
+        return getYAML(new Kamelet(generation, catalog), KameletRepresenter.getDumper());
     }
 
     public String getYAML(final CustomResource kamelet,
-                          final Representer representer) {
-        Yaml yaml = new Yaml(
-                new Constructor(Kamelet.class),
-                representer);
-        return yaml.dumpAsMap(kamelet);
+                          final YamlDumper dumper) {
+        return dumper.dumpAsMap(kamelet);
     }
 
     @Override
@@ -125,13 +137,7 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
     public CustomResource parse(final String input) {
         if (stepParserService.appliesTo(input)) {
             try {
-                ObjectMapper yamlMapper =
-                        new ObjectMapper(new YAMLFactory())
-                                .configure(
-                                        DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
-                                        false);
-
-                return yamlMapper.readValue(input, Kamelet.class);
+                return Serialization.readYaml(input, Kamelet.class);
             } catch (Exception e) {
                 log.trace("Tried creating a kamelet and it didn't work.");
             }
@@ -147,15 +153,11 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
             final var resources = kclient.resources(Kamelet.class).inNamespace(namespace).list();
             for (CustomResource customResource : resources.getItems()) {
                 res.add(new Deployment(customResource, getStatus(customResource)));
-
-                if (Span.current() != null) {
-                    Span.current().setAttribute("Kamelet[" + res.size() + "]",
-                            res.get(res.size() - 1).toString());
-                }
             }
         } catch (Exception e) {
             log.warn("Error extracting the list of integrations.", e);
         }
+        Span.current().setAttribute("Kamelet.count", res.size());
 
         return res;
     }
@@ -166,6 +168,12 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
         return null;
     }
 
+    @Override
+    public Pod getPod(final String namespace, final String name, final ClusterResources resources) {
+        //Kamelets don't run on their own
+        return null;
+    }
+
     @Override
     public Stream<Step> filterCatalog(String previousStep, String followingStep, Stream<Step> steps) {
         return steps;
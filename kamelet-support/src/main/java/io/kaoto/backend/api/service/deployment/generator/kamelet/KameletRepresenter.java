@@ -2,6 +2,7 @@ package io.kaoto.backend.api.service.deployment.generator.kamelet;
 
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.client.CustomResource;
+import io.kaoto.backend.api.service.serialization.YamlDumper;
 import io.kaoto.backend.model.deployment.kamelet.expression.Expression;
 import io.kaoto.backend.model.deployment.kamelet.FlowStep;
 import io.kaoto.backend.model.deployment.kamelet.KameletBindingSpec;
@@ -95,6 +96,8 @@ public class KameletRepresenter extends Representer {
     public static final String KIND = "kind";
     public static final String API_VERSION = "apiVersion";
 
+    private static final YamlDumper DUMPER = new YamlDumper(KameletRepresenter::new);
+
     public KameletRepresenter() {
         super(new DumperOptions());
         this.getPropertyUtils().setSkipMissingProperties(true);
@@ -111,6 +114,15 @@ public class KameletRepresenter extends Representer {
         addEIP();
     }
 
+    /*
+     * 🐱method getDumper : YamlDumper
+     *
+     * Shared dumper that writes YAML with this representer.
+     */
+    public static YamlDumper getDumper() {
+        return DUMPER;
+    }
+
     private void customResource() {
         this.multiRepresenters.put(CustomResource.class,
                 new RepresentMap() {
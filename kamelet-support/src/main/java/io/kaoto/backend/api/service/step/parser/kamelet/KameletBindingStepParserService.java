@@ -1,11 +1,10 @@
 package io.kaoto.backend.api.service.step.parser.kamelet;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.deployment.kamelet.KameletBinding;
 import io.kaoto.backend.model.deployment.kamelet.KameletBindingSpec;
@@ -16,6 +15,7 @@ import org.jboss.logging.Logger;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -63,6 +63,15 @@ public class KameletBindingStepParserService
 
     @Override
     public ParseResult<Step> deepParse(final String input) {
+        try {
+            return deepParse(Serialization.readYamlTree(input));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Wrong format provided. This is not parseable by us", e);
+        }
+    }
+
+    @Override
+    public ParseResult<Step> deepParse(final JsonNode input) {
         if (!appliesTo(input)) {
             throw new IllegalArgumentException("Wrong format provided. This is not parseable by us");
         }
@@ -72,13 +81,11 @@ public class KameletBindingStepParserService
         List<Step> steps = new ArrayList<>();
         Map<String, Object> md = new LinkedHashMap<>();
         try {
-            ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory())
-                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            KameletBinding binding = yamlMapper.readValue(input, KameletBinding.class);
+            KameletBinding binding = Serialization.readYaml(input, KameletBinding.class);
             processMetadata(md, binding.getMetadata());
             processSpec(steps, binding.getSpec());
 
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             throw new IllegalArgumentException("Wrong format provided. This is not parseable by us");
         }
 
@@ -240,4 +247,9 @@ public class KameletBindingStepParserService
         return yaml.contains("kind: KameletBinding");
     }
 
+    @Override
+    public boolean appliesTo(final JsonNode yaml) {
+        return "KameletBinding".equalsIgnoreCase(yaml.path("kind").asText());
+    }
+
 }
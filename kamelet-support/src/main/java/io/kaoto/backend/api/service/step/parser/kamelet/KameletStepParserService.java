@@ -1,17 +1,17 @@
 package io.kaoto.backend.api.service.step.parser.kamelet;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.deployment.kamelet.FlowStep;
 import io.kaoto.backend.model.deployment.kamelet.Kamelet;
 import io.kaoto.backend.model.deployment.kamelet.KameletDefinitionProperty;
 import io.kaoto.backend.model.deployment.kamelet.KameletSpec;
 import io.kaoto.backend.model.deployment.kamelet.step.Filter;
+import io.kaoto.backend.model.deployment.kamelet.step.From;
 import io.kaoto.backend.model.deployment.kamelet.step.choice.Choice;
 import io.kaoto.backend.model.parameter.ArrayParameter;
 import io.kaoto.backend.model.parameter.BooleanParameter;
@@ -21,10 +21,15 @@ import io.kaoto.backend.model.parameter.ObjectParameter;
 import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.parameter.StringParameter;
 import io.kaoto.backend.model.step.Step;
+import io.opentelemetry.context.Context;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -33,6 +38,16 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -52,11 +67,66 @@ public class KameletStepParserService
     public static final String GROOVY = "groovy";
     public static final String JAVASCRIPT = "javascript";
     public static final String EXPRESSION = "expression";
+    private static final String[] KINDS = new String[]{"Kamelet", "Knative", "Camel-Connector", "EIP", "EIP-BRANCH"};
     private final Logger log =
             Logger.getLogger(KameletStepParserService.class);
 
     private StepCatalog catalog;
 
+    @ConfigProperty(name = "kaoto.steps.resolver.threads")
+    private Optional<Integer> resolverThreads;
+
+    //Where the steps of the same branch are resolved. Without it, they are resolved one after the other
+    private ExecutorService resolver;
+
+    //Steps already found on the catalog, only while parsing (see forParse)
+    private Map<String, Optional<Step>> resolved;
+
+    public KameletStepParserService() {
+    }
+
+    private KameletStepParserService(final StepCatalog catalog, final ExecutorService resolver) {
+        this.catalog = catalog;
+        this.resolver = resolver;
+        this.resolved = new ConcurrentHashMap<>();
+    }
+
+    @PostConstruct
+    void createResolver() {
+        final int threads = Math.max(1, resolverThreads.orElse(Runtime.getRuntime().availableProcessors()));
+        final var counter = new AtomicInteger();
+        resolver = Executors.newFixedThreadPool(threads, runnable -> {
+            final var thread = new Thread(runnable, "kaoto-step-resolver-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(KameletStepParserService.class.getClassLoader());
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdownResolver() {
+        if (resolver != null) {
+            resolver.shutdownNow();
+        }
+    }
+
+    /*
+     * 🐱method setResolverThreads
+     * 🐱param threads: int
+     *
+     * Resolves the steps of each branch on a new pool of this many threads,
+     * or one after the other if there are none. For when there is no
+     * container to create the pool, like on the benchmarks.
+     */
+    public void setResolverThreads(final int threads) {
+        shutdownResolver();
+        resolver = null;
+        if (threads > 0) {
+            resolverThreads = Optional.of(threads);
+            createResolver();
+        }
+    }
+
     public String identifier() {
         return "Kamelet";
     }
@@ -73,6 +143,18 @@ public class KameletStepParserService
 
     @Override
     public ParseResult<Step> deepParse(final String input) {
+        try {
+            return deepParse(Serialization.readYamlTree(input));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Wrong format provided. This is not parseable by us.", e);
+        }
+    }
+
+    @Override
+    public ParseResult<Step> deepParse(final JsonNode input) {
+        if (resolved == null) {
+            return forParse().deepParse(input);
+        }
         if (!appliesTo(input)) {
             throw new IllegalArgumentException(
                     "Wrong format provided. This is not parseable by us.");
@@ -82,16 +164,13 @@ public class KameletStepParserService
 
         List<Step> steps = new ArrayList<>();
         try {
-            ObjectMapper yamlMapper =
-                    new ObjectMapper(
-                            new YAMLFactory()).configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            Kamelet kamelet = yamlMapper.readValue(input, Kamelet.class);
+            Kamelet kamelet = Serialization.readYaml(input, Kamelet.class);
 
             processMetadata(res, kamelet.getMetadata());
             processSpec(steps, res, kamelet.getSpec());
             processParameters(res, kamelet.getSpec());
 
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             throw new IllegalArgumentException("Error trying to parse.", e);
         }
 
@@ -148,15 +227,7 @@ public class KameletStepParserService
                              final ParseResult<Step> res,
                              final KameletSpec spec) {
         if (spec.getTemplate() != null && spec.getTemplate().getFrom() != null) {
-            steps.add(processStep(spec.getTemplate().getFrom(), true, false));
-
-            final var fromSteps = spec.getTemplate().getFrom().getSteps();
-            if (fromSteps != null) {
-                int i = 0;
-                for (FlowStep flowStep : fromSteps) {
-                    steps.add(processStep(flowStep, false, i++ == fromSteps.size() - 1));
-                }
-            }
+            steps.addAll(processFlow(spec.getTemplate().getFrom()));
         }
 
         res.getMetadata().put("definition", spec.getDefinition());
@@ -173,6 +244,156 @@ public class KameletStepParserService
         return null;
     }
 
+    /*
+     * 🐱method processFlow : List[Step]
+     * 🐱param from: From
+     *
+     * Resolves the start of the flow and all the steps after it, in
+     * parallel. The result keeps the order of the flow.
+     */
+    public List<Step> processFlow(final From from) {
+        final List<Supplier<Step>> tasks = new ArrayList<>();
+        tasks.add(() -> processStep(from, true, false));
+        if (from.getSteps() != null) {
+            addSteps(tasks, from.getSteps());
+        }
+        return resolve(tasks);
+    }
+
+    /*
+     * 🐱method processSteps : List[Step]
+     * 🐱param steps: List[FlowStep]
+     *
+     * Resolves the steps of a branch in parallel. The result keeps the order
+     * of the branch.
+     */
+    public List<Step> processSteps(final List<FlowStep> steps) {
+        final List<Supplier<Step>> tasks = new ArrayList<>();
+        addSteps(tasks, steps);
+        return resolve(tasks);
+    }
+
+    private void addSteps(final List<Supplier<Step>> tasks, final List<FlowStep> steps) {
+        final int last = steps.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            final var step = steps.get(i);
+            final var end = i == last;
+            tasks.add(() -> processStep(step, false, end));
+        }
+    }
+
+    /*
+     * Steps on the same branch don't depend on each other. All but the first
+     * are offered to the resolver pool, then this thread resolves every step
+     * nobody has picked up yet before waiting for the rest. A branch never
+     * waits on a step that is still queued, so however nested the flow is,
+     * a full pool only means doing more of the work here.
+     */
+    private List<Step> resolve(final List<Supplier<Step>> tasks) {
+        if (tasks.size() < 2 || resolver == null) {
+            return tasks.stream().map(Supplier::get).toList();
+        }
+        final List<Claimable> claimables = tasks.stream().map(Claimable::new).toList();
+        final var context = Context.current();
+        for (Claimable claimable : claimables.subList(1, claimables.size())) {
+            try {
+                resolver.execute(context.wrap(claimable));
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        claimables.forEach(Claimable::run);
+        try {
+            return claimables.stream().map(claimable -> claimable.result.join()).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * A step to resolve that runs only once, on whichever thread gets to it first.
+     */
+    private static final class Claimable implements Runnable {
+        private final Supplier<Step> task;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Step> result = new CompletableFuture<>();
+
+        Claimable(final Supplier<Step> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(task.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }
+    }
+
+    /*
+     * 🐱method forParse : KameletStepParserService
+     *
+     * Parser to use on a single parse. It remembers the steps it finds on
+     * the catalog, so repeated steps are only looked up once. If this is
+     * already such a parser, it is returned as is.
+     */
+    public KameletStepParserService forParse() {
+        if (resolved != null) {
+            return this;
+        }
+        return new KameletStepParserService(catalog, resolver);
+    }
+
+    /*
+     * The steps found on the catalog are remembered for the whole batch.
+     */
+    @Override
+    public KameletStepParserService forBatch() {
+        return forParse();
+    }
+
+    /*
+     * 🐱method resolveStep : Optional[Step]
+     * 🐱param key: String
+     * 🐱param lookup: Supplier[Optional[Step]]
+     *
+     * Returns a copy of the step the lookup finds on the catalog. On a
+     * single parse (see forParse), the lookup is done only once per key.
+     */
+    public Optional<Step> resolveStep(final String key, final Supplier<Optional<Step>> lookup) {
+        if (resolved == null) {
+            return lookup.get();
+        }
+        //what we keep is never returned, so no one can modify it
+        return resolved.computeIfAbsent(key, k -> lookup.get()).map(Step::clone);
+    }
+
+    /*
+     * 🐱method findStep : Optional[Step]
+     * 🐱param name: String
+     * 🐱param kinds: String[]
+     *
+     * Returns a copy of any step on the catalog with that name and one of
+     * the kinds.
+     */
+    public Optional<Step> findStep(final String name, final String... kinds) {
+        return resolveStep(name + "/" + String.join(",", kinds),
+                () -> catalog.getReadOnlyCatalog().searchByName(name).stream()
+                        .filter(step -> Arrays.stream(kinds).anyMatch(k -> k.equalsIgnoreCase(step.getKind())))
+                        .findAny());
+    }
+
 
     public String getChoiceIdentifier(final Choice flow) {
         return getChoiceCondition(flow);
@@ -339,14 +560,21 @@ public class KameletStepParserService
 
     @Override
     public boolean appliesTo(final String yaml) {
-        String[] kinds = new String[]{"Kamelet", "Knative", "Camel-Connector", "EIP", "EIP-BRANCH"};
-
         Matcher matcher = PATTERN.matcher(yaml);
         if (matcher.find()) {
-            return Arrays.stream(kinds).anyMatch(k -> k.equalsIgnoreCase(matcher.group(1).trim()));
+            return isKind(matcher.group(1).trim());
         }
 
         return false;
     }
 
+    @Override
+    public boolean appliesTo(final JsonNode yaml) {
+        return isKind(yaml.path("kind").asText());
+    }
+
+    private boolean isKind(final String kind) {
+        return Arrays.stream(KINDS).anyMatch(k -> k.equalsIgnoreCase(kind));
+    }
+
 }
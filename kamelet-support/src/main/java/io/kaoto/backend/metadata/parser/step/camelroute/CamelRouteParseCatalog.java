@@ -10,17 +10,23 @@ import io.kaoto.backend.model.step.Step;
 
 import javax.enterprise.context.ApplicationScoped;
 import java.nio.file.Path;
+import java.util.List;
 
 @ApplicationScoped
 public final class CamelRouteParseCatalog implements StepCatalogParser {
 
-    private CamelRouteParseCatalog() {
-
+    public CamelRouteParseCatalog() {
+        //Also used outside CDI, when precompiling the catalog
     }
 
     @Override
     public ParseCatalog<Step> getParser(final String url, final String tag) {
-        ParseCatalog<Step> parseCatalog = new GitParseCatalog<>(url, tag);
+        return getParser(url, tag, List.of());
+    }
+
+    @Override
+    public ParseCatalog<Step> getParser(final String url, final String tag, final List<String> paths) {
+        ParseCatalog<Step> parseCatalog = new GitParseCatalog<>(url, tag, paths);
         parseCatalog.setFileVisitor(new CamelRouteFileProcessor());
         return parseCatalog;
     }
@@ -1,8 +1,7 @@
 package io.kaoto.backend.metadata.parser.step.kamelet;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import io.kaoto.backend.metadata.parser.YamlProcessFile;
 import io.kaoto.backend.model.deployment.kamelet.KameletDefinitionProperty;
 import io.kaoto.backend.model.deployment.kamelet.SimplifiedKamelet;
@@ -29,78 +28,105 @@ import java.util.regex.Pattern;
 
 public class KameletFileProcessor extends YamlProcessFile<Step> {
 
-    public static final ObjectMapper YAML_MAPPER =
-            new ObjectMapper(new YAMLFactory()).configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final ObjectReader KAMELET_READER = Serialization.yamlReader(SimplifiedKamelet.class);
     private final Logger log = Logger.getLogger(KameletFileProcessor.class);
 
     public KameletFileProcessor() {
         //Nothing needed here
     }
 
+    private static final String[] KINDS = new String[]{"Kamelet", "Knative", "Camel-Connector", "EIP", "EIP-BRANCH"};
+
     @Override
     public List<Step> parseInputStream(Reader reader) {
         try {
             final var yaml = IOUtils.toString(reader);
-            String[] kinds = new String[]{"Kamelet", "Knative", "Camel-Connector", "EIP", "EIP-BRANCH"};
             var kind = getKind(yaml);
-            if (Arrays.stream(kinds).noneMatch(k -> k.equalsIgnoreCase(kind))) {
+            if (!isKind(kind)) {
                 return List.of();
             }
-            SimplifiedKamelet kamelet = YAML_MAPPER.readValue(yaml, SimplifiedKamelet.class);
-            Step step = new Step();
-            step.setKind(kind);
-
-            if (kamelet.getMetadata() != null) {
-                final var metadata = kamelet.getMetadata();
-                step.setName(metadata.getName());
-
-                if (metadata.getLabels() != null) {
-                    switch (metadata.getLabels()
-                            .getOrDefault("camel.apache.org/kamelet.type", "action").toLowerCase()) {
-                        case "source" -> step.setType(Step.START);
-                        case "sink" -> step.setType(Step.END);
-                        default -> step.setType(Step.MIDDLE);
-                    }
-                }
-                step.setId(step.getName() + "-" + step.getType());
+            return toSteps(kind, KAMELET_READER.readValue(yaml));
+        } catch (IOException | YAMLException e) {
+            log.trace("Error parsing Kamelet." , e);
+        }
+
+        return List.of();
+    }
+
+    /*
+     * 🐱method parseResource : List[Step]
+     * 🐱param resource: Object
+     *
+     * Builds the step from a Kamelet already in memory, like the ones
+     * coming from the cluster, without writing and parsing it as YAML.
+     */
+    public List<Step> parseResource(final Object resource) {
+        try {
+            final var kamelet = Serialization.yaml().convertValue(resource, SimplifiedKamelet.class);
+            if (isKind(kamelet.getKind())) {
+                return toSteps(kamelet.getKind(), kamelet);
+            }
+        } catch (IllegalArgumentException e) {
+            log.trace("Error parsing Kamelet." , e);
+        }
+
+        return List.of();
+    }
 
-                if (metadata.getAnnotations() != null) {
-                    final var annotations = metadata.getAnnotations();
-                    step.setGroup(annotations.getOrDefault("camel.apache.org/kamelet.group", "others"));
+    private boolean isKind(final String kind) {
+        return Arrays.stream(KINDS).anyMatch(k -> k.equalsIgnoreCase(kind));
+    }
 
-                    step.setIcon(annotations.getOrDefault("camel.apache.org/kamelet.icon", ""));
+    private List<Step> toSteps(final String kind, final SimplifiedKamelet kamelet) {
+        Step step = new Step();
+        step.setKind(kind);
 
-                    if (annotations.containsKey("kaoto.io/minbranches")) {
-                        step.setMinBranches(Integer.valueOf(annotations.get("kaoto.io/minbranches")));
-                    }
+        if (kamelet.getMetadata() != null) {
+            final var metadata = kamelet.getMetadata();
+            step.setName(metadata.getName());
 
-                    if (annotations.containsKey("kaoto.io/maxbranches")) {
-                        step.setMaxBranches(Integer.valueOf(annotations.get("kaoto.io/maxbranches")));
-                    }
+            if (metadata.getLabels() != null) {
+                switch (metadata.getLabels()
+                        .getOrDefault("camel.apache.org/kamelet.type", "action").toLowerCase()) {
+                    case "source" -> step.setType(Step.START);
+                    case "sink" -> step.setType(Step.END);
+                    default -> step.setType(Step.MIDDLE);
                 }
             }
+            step.setId(step.getName() + "-" + step.getType());
 
-            if (kamelet.getSpec() != null && kamelet.getSpec().getDefinition() != null) {
-                step.setTitle(kamelet.getSpec().getDefinition().getTitle());
-                step.setDescription(kamelet.getSpec().getDefinition().getDescription());
+            if (metadata.getAnnotations() != null) {
+                final var annotations = metadata.getAnnotations();
+                step.setGroup(annotations.getOrDefault("camel.apache.org/kamelet.group", "others"));
 
+                step.setIcon(annotations.getOrDefault("camel.apache.org/kamelet.icon", ""));
 
-                if (kamelet.getSpec().getDefinition().getProperties() != null) {
-                    parseParameters(step,
-                            kamelet.getSpec().getDefinition().getProperties(),
-                            kamelet.getSpec().getDefinition().getRequired());
+                if (annotations.containsKey("kaoto.io/minbranches")) {
+                    step.setMinBranches(Integer.valueOf(annotations.get("kaoto.io/minbranches")));
                 }
 
+                if (annotations.containsKey("kaoto.io/maxbranches")) {
+                    step.setMaxBranches(Integer.valueOf(annotations.get("kaoto.io/maxbranches")));
+                }
             }
-            if (step.getId() == null) {
-                step = null;
-            }
-            return List.of(step);
-        } catch (IOException | YAMLException e) {
-            log.trace("Error parsing Kamelet." , e);
         }
 
-        return List.of();
+        if (kamelet.getSpec() != null && kamelet.getSpec().getDefinition() != null) {
+            step.setTitle(kamelet.getSpec().getDefinition().getTitle());
+            step.setDescription(kamelet.getSpec().getDefinition().getDescription());
+
+
+            if (kamelet.getSpec().getDefinition().getProperties() != null) {
+                parseParameters(step,
+                        kamelet.getSpec().getDefinition().getProperties(),
+                        kamelet.getSpec().getDefinition().getRequired());
+            }
+
+        }
+        if (step.getId() == null) {
+            return List.of();
+        }
+        return List.of(step);
     }
 
     private String getKind(final String yaml) {
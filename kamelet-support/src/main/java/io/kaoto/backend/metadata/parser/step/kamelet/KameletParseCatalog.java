@@ -3,7 +3,7 @@ package io.kaoto.backend.metadata.parser.step.kamelet;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kaoto.backend.api.metadata.catalog.StepCatalogParser;
 import io.kaoto.backend.metadata.ParseCatalog;
-import io.kaoto.backend.metadata.parser.ClusterParseCatalog;
+import io.kaoto.backend.metadata.parser.ClusterWatchParseCatalog;
 import io.kaoto.backend.metadata.parser.GitParseCatalog;
 import io.kaoto.backend.metadata.parser.JarParseCatalog;
 import io.kaoto.backend.metadata.parser.LocalFolderParseCatalog;
@@ -11,10 +11,12 @@ import io.kaoto.backend.model.deployment.kamelet.Kamelet;
 import io.kaoto.backend.model.step.Step;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * 🐱class KameletParseCatalog
@@ -41,9 +43,16 @@ public final class KameletParseCatalog implements StepCatalogParser {
 
     private KameletFileProcessor kameletFileProcessor = new KameletFileProcessor();
 
+    private ClusterWatchParseCatalog<Step> clusterParseCatalog;
+
     @Override
     public ParseCatalog<Step> getParser(final String url, final String tag) {
-        ParseCatalog<Step> parseCatalog = new GitParseCatalog<>(url, tag);
+        return getParser(url, tag, List.of());
+    }
+
+    @Override
+    public ParseCatalog<Step> getParser(final String url, final String tag, final List<String> paths) {
+        ParseCatalog<Step> parseCatalog = new GitParseCatalog<>(url, tag, paths);
         parseCatalog.setFileVisitor(kameletFileProcessor);
         return parseCatalog;
     }
@@ -55,14 +64,28 @@ public final class KameletParseCatalog implements StepCatalogParser {
         return parseCatalog;
     }
 
+    /*
+     * 🐱method getParserFromCluster : ParseCatalog
+     *
+     * Kamelets on the cluster are watched, so there is only one parser that
+     * keeps the catalog updated as they change.
+     */
     @Override
-    public ParseCatalog<Step> getParserFromCluster() {
-        ClusterParseCatalog<Step> parseCatalog =
-                new ClusterParseCatalog<>(Kamelet.class);
-        parseCatalog.setFileVisitor(new KameletFileProcessor());
-        parseCatalog.setKubernetesClient(kubernetesClient);
-        parseCatalog.setNamespace(namespace);
-        return parseCatalog;
+    public synchronized ParseCatalog<Step> getParserFromCluster() {
+        if (clusterParseCatalog == null) {
+            clusterParseCatalog = new ClusterWatchParseCatalog<>(Kamelet.class, kameletFileProcessor::parseResource);
+            clusterParseCatalog.setKubernetesClient(kubernetesClient);
+            clusterParseCatalog.setNamespace(namespace);
+        }
+        return clusterParseCatalog;
+    }
+
+    @PreDestroy
+    public synchronized void stopWatching() {
+        if (clusterParseCatalog != null) {
+            clusterParseCatalog.close();
+            clusterParseCatalog = null;
+        }
     }
 
     @Override
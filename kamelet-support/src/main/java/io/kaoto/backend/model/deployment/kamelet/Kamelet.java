@@ -8,6 +8,7 @@ import io.fabric8.kubernetes.model.annotation.Kind;
 import io.fabric8.kubernetes.model.annotation.Version;
 import io.kaoto.backend.KamelPopulator;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.deployment.generator.Generation;
 import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 
@@ -51,5 +52,12 @@ public final class Kamelet
         new KamelPopulator(catalog).populateKamelet(this, metadata, steps, parameters);
     }
 
+    public Kamelet(final Generation generation, final StepCatalog catalog) {
+        this();
+        final var populator = new KamelPopulator(catalog);
+        populator.populateKamelet(this, generation.getMetadata(), generation.getSteps(),
+                generation.getParameters(), populator.getFlow(generation));
+    }
+
 
 }
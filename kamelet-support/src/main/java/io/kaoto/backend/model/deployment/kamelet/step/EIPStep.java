@@ -55,11 +55,7 @@ public abstract class EIPStep implements Serializable {
     public Step getStep(final StepCatalog catalog, final String name,
                         final KameletStepParserService kameletStepParserService) {
 
-        Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName(name).stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP")
-                        || step.getKind().equalsIgnoreCase("EIP-BRANCH"))
-                .findAny();
+        Optional<Step> res = kameletStepParserService.findStep(name, "EIP", "EIP-BRANCH");
 
 
         if (res.isPresent()) {
@@ -89,11 +85,7 @@ public abstract class EIPStep implements Serializable {
                            final KameletStepParserService kameletStepParserService) {
         Branch branch = new Branch(id);
         if (steps != null) {
-            int i = 0;
-            int size = steps.size();
-            for (var s : steps) {
-                branch.getSteps().add(kameletStepParserService.processStep(s, false, ++i == size));
-            }
+            branch.getSteps().addAll(kameletStepParserService.processSteps(steps));
         }
         return branch;
     }
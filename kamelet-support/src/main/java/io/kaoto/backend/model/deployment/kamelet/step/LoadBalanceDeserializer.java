@@ -5,7 +5,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import org.jboss.logging.Logger;
 
 import java.util.HashMap;
@@ -41,7 +41,7 @@ public class LoadBalanceDeserializer extends JsonDeserializer {
                 }
                 else {
                     step.getProperties().put(field.getKey(),
-                            new ObjectMapper().readValue(field.getValue().toPrettyString(), Map.class));
+                            Serialization.json().treeToValue(field.getValue(), Map.class));
                 }
             }
         } catch (Exception e) {
@@ -60,11 +60,7 @@ public class LoadBalanceFlowStep implements FlowStep {
     @Override
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
-        Step res = catalog.getReadOnlyCatalog()
-                .searchByName(LOAD_BALANCE_LABEL).stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP")
-                        || step.getKind().equalsIgnoreCase("EIP-BRANCH"))
-                .findAny().orElse(null);
+        Step res = kameletStepParserService.findStep(LOAD_BALANCE_LABEL, "EIP", "EIP-BRANCH").orElse(null);
         if (res != null) {
             assignParameters(res);
             int i = 1;
@@ -39,8 +39,7 @@ public class MarshalFlowStep implements FlowStep {
     @Override
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
-        Step res = catalog.getReadOnlyCatalog().searchByName("marshal")
-                .stream().filter(s -> s.getKind().equalsIgnoreCase("EIP")).findAny().orElse(null);
+        Step res = kameletStepParserService.findStep("marshal", "EIP").orElse(null);
         if (res != null) {
             assignParameters(res);
         }
@@ -61,10 +61,7 @@ public class RemoveHeaderFlowStep implements FlowStep {
     @Override
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
-        Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName("remove-header").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+        Optional<Step> res = kameletStepParserService.findStep("remove-header", "EIP");
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
@@ -60,10 +60,7 @@ public class RemovePropertyFlowStep implements FlowStep {
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
 
-        Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName("remove-property").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+        Optional<Step> res = kameletStepParserService.findStep("remove-property", "EIP");
 
 
         if (res.isPresent()) {
@@ -50,10 +50,7 @@ public class ScriptFlowStep implements FlowStep {
     @Override
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
-        Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName("script").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+        Optional<Step> res = kameletStepParserService.findStep("script", "EIP");
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
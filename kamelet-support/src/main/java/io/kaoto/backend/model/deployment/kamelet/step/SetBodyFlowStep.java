@@ -59,10 +59,7 @@ public class SetBodyFlowStep implements FlowStep {
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
 
-        Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName("set-body").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+        Optional<Step> res = kameletStepParserService.findStep("set-body", "EIP");
 
 
         if (res.isPresent()) {
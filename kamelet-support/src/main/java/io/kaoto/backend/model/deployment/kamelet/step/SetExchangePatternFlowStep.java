@@ -47,10 +47,7 @@ public class SetExchangePatternFlowStep implements FlowStep {
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
 
-        Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName(LABEL).stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+        Optional<Step> res = kameletStepParserService.findStep(LABEL, "EIP");
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
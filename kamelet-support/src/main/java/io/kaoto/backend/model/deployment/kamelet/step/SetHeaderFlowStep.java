@@ -60,10 +60,7 @@ public class SetHeaderFlowStep implements FlowStep {
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
 
-        Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName(SET_HEADER_LABEL).stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+        Optional<Step> res = kameletStepParserService.findStep(SET_HEADER_LABEL, "EIP");
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
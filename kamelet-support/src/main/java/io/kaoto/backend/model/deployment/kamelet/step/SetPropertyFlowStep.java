@@ -63,10 +63,7 @@ public class SetPropertyFlowStep implements FlowStep {
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
 
-        Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName("set-property").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+        Optional<Step> res = kameletStepParserService.findStep("set-property", "EIP");
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
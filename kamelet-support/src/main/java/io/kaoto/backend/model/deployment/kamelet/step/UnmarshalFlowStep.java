@@ -29,11 +29,7 @@ public class UnmarshalFlowStep extends MarshalFlowStep {
     @Override
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
-        Step res = catalog.getReadOnlyCatalog()
-                .searchByName("unmarshal").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP")
-                        || step.getKind().equalsIgnoreCase("EIP-BRANCH"))
-                .findAny().orElse(null);
+        Step res = kameletStepParserService.findStep("unmarshal", "EIP", "EIP-BRANCH").orElse(null);
         if (res != null) {
             assignParameters(res);
         }
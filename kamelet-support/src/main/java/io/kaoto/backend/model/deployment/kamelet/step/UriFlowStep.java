@@ -113,6 +113,21 @@ public class UriFlowStep implements FlowStep {
             connectorName = this.getUri().substring(0, this.getUri().indexOf(':'));
         }
 
+        final var name = connectorName;
+        Optional<Step> res = kameletStepParserService.resolveStep("uri/" + name + "/" + start + "/" + end,
+                () -> findCandidate(catalog, name, start));
+
+        if (res.isPresent() && this.getUri() != null) {
+            kameletStepParserService.setValuesOnParameters(res.get(), this.getUri());
+            kameletStepParserService.setValuesOnParameters(res.get(), this.getParameters());
+            res.get().setStepId(id);
+        }
+
+        return res.orElse(null);
+    }
+
+    private static Optional<Step> findCandidate(final StepCatalog catalog, final String connectorName,
+                                                final Boolean start) {
         var candidates = catalog.getReadOnlyCatalog().searchByName(connectorName).stream();
 
         //Make sure we do the smartest pick: don't put an end step at the beginning or a start at the end
@@ -156,14 +171,6 @@ public class UriFlowStep implements FlowStep {
             });
         }
 
-        Optional<Step> res = candidates.findFirst();
-
-        if (res.isPresent() && this.getUri() != null) {
-            kameletStepParserService.setValuesOnParameters(res.get(), this.getUri());
-            kameletStepParserService.setValuesOnParameters(res.get(), this.getParameters());
-            res.get().setStepId(id);
-        }
-
-        return res.orElse(null);
+        return candidates.findFirst();
     }
 }
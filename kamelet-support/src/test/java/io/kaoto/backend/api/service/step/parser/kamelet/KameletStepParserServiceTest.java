@@ -23,12 +23,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 
 @QuarkusTest
 class KameletStepParserServiceTest {
@@ -228,6 +232,27 @@ class KameletStepParserServiceTest {
         assertThat(parsedString).isEqualToNormalizingNewlines(kameletJq);
     }
 
+    @Test
+    void resolveOncePerParse() {
+        final var lookups = new AtomicInteger();
+        final Supplier<Optional<Step>> lookup = () -> {
+            lookups.incrementAndGet();
+            return catalog.getReadOnlyCatalog().searchByName("log").stream().findAny();
+        };
+
+        final var parser = service.forParse();
+        final var first = parser.resolveStep("log", lookup);
+        final var second = parser.resolveStep("log", lookup);
+        assertEquals(1, lookups.get());
+        assertTrue(first.isPresent());
+        assertEquals(first.get().getId(), second.get().getId());
+        assertNotSame(first.get(), second.get());
+
+        //each parse looks for them again, in case the catalog changed
+        service.forParse().resolveStep("log", lookup);
+        assertEquals(2, lookups.get());
+    }
+
     @Test
     void fail() {
         //include here potential security issues
@@ -1,8 +1,12 @@
 package io.kaoto.backend.metadata.parser.step.kamelet;
 
+import io.fabric8.kubernetes.client.ConfigBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.WatchedParseCatalog;
 import io.kaoto.backend.metadata.catalog.InMemoryCatalog;
+import io.kaoto.backend.metadata.parser.ClusterWatchParseCatalog;
 import io.kaoto.backend.model.Metadata;
 import io.kaoto.backend.model.deployment.kamelet.Kamelet;
 import io.kaoto.backend.model.step.Step;
@@ -19,11 +23,16 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
@@ -143,7 +152,7 @@ class KameletParseCatalogTest {
     }
 
     @Test
-    void testCluster() {
+    void testCluster() throws InterruptedException {
         kubernetesClient.resources(Kamelet.class)
                 .inNamespace("default")
                 .load(KameletParseCatalogTest.class
@@ -151,8 +160,81 @@ class KameletParseCatalogTest {
                 .create();
 
         ParseCatalog<Step> kameletParser = parseCatalog.getParserFromCluster();
+        //the parser may be already watching, so the new kamelet arrives as an event
         List<Step> steps = kameletParser.parse().join();
+        for (int i = 0; i < 50 && steps.isEmpty(); i++) {
+            Thread.sleep(100);
+            steps = kameletParser.parse().join();
+        }
         assertEquals(1, steps.size());
+        assertSame(kameletParser, parseCatalog.getParserFromCluster());
+    }
+
+    @Test
+    void clusterChangesAreWatched() throws InterruptedException {
+        final var kameletParser = (WatchedParseCatalog<Step>) parseCatalog.getParserFromCluster();
+        kameletParser.parse().join();
+
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        kameletParser.addListener((removed, elements) -> {
+            ids.removeAll(removed);
+            elements.forEach(step -> ids.add(step.getId()));
+        });
+
+        final var kamelet = kubernetesClient.resources(Kamelet.class)
+                .inNamespace("watched")
+                .load(KameletParseCatalogTest.class
+                        .getResource("../../../../api/service/step/parser/kamelet/jq.kamelet.yaml"))
+                .create();
+        final var id = kamelet.getMetadata().getName() + "-" + Step.MIDDLE;
+        for (int i = 0; i < 50 && !ids.contains(id); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(ids.contains(id));
+
+        kubernetesClient.resources(Kamelet.class).inNamespace("watched").delete();
+        for (int i = 0; i < 50 && ids.contains(id); i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertFalse(ids.contains(id));
+    }
+
+    @Test
+    void clusterRetriesAFailedList() {
+        final var kameletParser = new ClusterWatchParseCatalog<Step>(Kamelet.class, resource -> {
+            final var step = new Step();
+            step.setId(resource.getMetadata().getName());
+            return List.of(step);
+        });
+        kameletParser.setNamespace("retried");
+        kameletParser.setRetryMillis(0);
+
+        //the API server is not there on the first list
+        try (var unreachable = new KubernetesClientBuilder()
+                .withConfig(new ConfigBuilder()
+                        .withMasterUrl("http://localhost:1")
+                        .withRequestRetryBackoffLimit(0)
+                        .build())
+                .build()) {
+            kameletParser.setKubernetesClient(unreachable);
+            assertThrows(CompletionException.class, () -> kameletParser.parse().join());
+            Assertions.assertNull(kameletParser.fingerprint());
+        }
+
+        final var kamelet = kubernetesClient.resources(Kamelet.class)
+                .inNamespace("retried")
+                .load(KameletParseCatalogTest.class
+                        .getResource("../../../../api/service/step/parser/kamelet/jq.kamelet.yaml"))
+                .create();
+        kameletParser.setKubernetesClient(kubernetesClient);
+        try {
+            final var steps = kameletParser.parse().join();
+            assertEquals(List.of(kamelet.getMetadata().getName()), steps.stream().map(Step::getId).toList());
+            assertNotNull(kameletParser.fingerprint());
+        } finally {
+            kameletParser.close();
+            kubernetesClient.resources(Kamelet.class).inNamespace("retried").delete();
+        }
     }
 
     @Test
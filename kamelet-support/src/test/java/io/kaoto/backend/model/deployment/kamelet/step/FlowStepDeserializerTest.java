@@ -0,0 +1,44 @@
+package io.kaoto.backend.model.deployment.kamelet.step;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kaoto.backend.model.deployment.kamelet.FlowStep;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FlowStepDeserializerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void dispatchOnFieldNames() throws Exception {
+        assertEquals(SetBodyFlowStep.class,
+                FlowStepDeserializer.getFlowStepType(mapper.readTree("{\"set-body\": {}}")));
+        assertEquals(SetBodyFlowStep.class,
+                FlowStepDeserializer.getFlowStepType(mapper.readTree("{\"setBody\": {}}")));
+        assertEquals(ChoiceFlowStep.class,
+                FlowStepDeserializer.getFlowStepType(mapper.readTree("{\"id\": \"x\", \"when\": {}}")));
+        assertNull(FlowStepDeserializer.getFlowStepType(mapper.readTree("{\"unknown\": {}}")));
+    }
+
+    @Test
+    void nestedSteps() throws Exception {
+        final var json = "{\"choice\": {\"when\": [{\"simple\": \"${body}\", \"steps\": ["
+                + "{\"to\": {\"uri\": \"log:when\"}}]}],"
+                + "\"otherwise\": {\"steps\": [{\"to\": \"log:otherwise\"}]}}}";
+        final var step = mapper.readValue(json, FlowStep.class);
+
+        final var choice = assertInstanceOf(ChoiceFlowStep.class, step);
+        final var when = assertInstanceOf(ToFlowStep.class, choice.getChoice().getChoice().get(0).getSteps().get(0));
+        assertEquals("log:when", ((UriFlowStep) when.getTo()).getUri());
+        final var otherwise = assertInstanceOf(ToFlowStep.class, choice.getChoice().getOtherwise().getSteps().get(0));
+        assertEquals("log:otherwise", ((UriFlowStep) otherwise.getTo()).getUri());
+    }
+
+    @Test
+    void unknownStep() throws Exception {
+        assertInstanceOf(UriFlowStep.class, mapper.readValue("{\"unknown\": {}}", FlowStep.class));
+    }
+}
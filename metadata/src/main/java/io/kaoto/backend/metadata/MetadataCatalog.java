@@ -32,6 +32,17 @@ public interface MetadataCatalog<T extends Metadata> {
      */
     Collection<T> searchByName(String name);
 
+    /*
+     * 🐱method searchByIndex : List[Metadata]
+     * 🐱param index: String
+     * 🐱param value: String
+     *
+     * Returns all the elements (no order warranteed) whose attribute
+     * indexed as index matches the value, ignoring case.
+     *
+     */
+    Collection<T> searchByIndex(String index, String value);
+
     /*
      * 🐱method store: boolean
      * 🐱param steps: List[Step]
@@ -27,4 +27,28 @@ public interface ParseCatalog<T extends Metadata> {
      *
      */
     void setFileVisitor(ProcessFile<T> fileVisitor);
+
+    /*
+     * 🐱method fingerprint : String
+     *
+     * Identifies the source and its content: if anything on the source
+     * changes, so does the fingerprint. Returns null when this can't be
+     * known without loading the whole source.
+     *
+     */
+    default String fingerprint() {
+        return null;
+    }
+
+    /*
+     * 🐱method source : String
+     *
+     * Identifies the source, independently of its content, so we can
+     * compare what it returned on different parses. Returns null if the
+     * source can't be identified.
+     *
+     */
+    default String source() {
+        return null;
+    }
 }
@@ -0,0 +1,37 @@
+package io.kaoto.backend.metadata;
+
+import io.kaoto.backend.model.Metadata;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 🐱class WatchedParseCatalog
+ * 🐱inherits ParseCatalog
+ *
+ * A source that notifies its changes as they happen, instead of waiting to
+ * be parsed again.
+ */
+public interface WatchedParseCatalog<T extends Metadata> extends ParseCatalog<T> {
+
+    /*
+     * 🐱method addListener
+     * 🐱param listener: Listener
+     *
+     * The listener is called right away with all the current elements of
+     * the source and then with every change, in order.
+     *
+     */
+    void addListener(Listener<T> listener);
+
+    /*
+     * 🐱miniclass Listener (WatchedParseCatalog)
+     *
+     * Receives the identifiers of the elements that are gone and the
+     * elements that were added or changed.
+     */
+    @FunctionalInterface
+    interface Listener<T extends Metadata> {
+        void changed(Collection<String> removed, List<T> elements);
+    }
+}
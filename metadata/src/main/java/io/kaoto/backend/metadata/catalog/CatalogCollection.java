@@ -56,6 +56,18 @@ public class CatalogCollection<T extends Metadata>
         return steps;
     }
 
+    @Override
+    public Collection<T> searchByIndex(final String index, final String value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        Collection<T> steps = new ArrayList<>();
+        for (MetadataCatalog<T> c : catalogs) {
+            steps.addAll(c.searchByIndex(index, value));
+        }
+        return steps;
+    }
+
     @Override
     public boolean store(final List<T> steps) {
         throw new UnsupportedOperationException(
@@ -7,9 +7,11 @@ import org.jboss.logging.Logger;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -23,6 +25,24 @@ public class InMemoryCatalog<T extends Metadata> implements MetadataCatalog<T> {
 
     private Map<String, T> metadataCatalog = new HashMap<>();
     private Logger log = Logger.getLogger(InMemoryCatalog.class);
+    private final Map<String, Function<T, String>> indexers = new LinkedHashMap<>();
+
+    public InMemoryCatalog() {
+        this(Collections.emptyMap());
+    }
+
+    /*
+     * 🐱constructor InMemoryCatalog
+     * 🐱param indexes: Map[String, Function]
+     *
+     * Same indexes as an IndexedCatalog would have. There are no real
+     * indexes here, searches go through all the elements.
+     */
+    public InMemoryCatalog(final Map<String, Function<T, String>> indexes) {
+        indexers.put(IndexedCatalog.NAME, Metadata::getName);
+        indexers.put(IndexedCatalog.TYPE, Metadata::getType);
+        indexers.putAll(indexes);
+    }
 
     @Override
     public boolean store(final List<T> steps) {
@@ -62,6 +82,22 @@ public class InMemoryCatalog<T extends Metadata> implements MetadataCatalog<T> {
                 .toList();
     }
 
+    @Override
+    public Collection<T> searchByIndex(final String index, final String value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        final var indexer = indexers.get(index);
+        if (indexer == null) {
+            throw new UnsupportedOperationException(
+                    "There is no index " + index + " on this catalog.");
+        }
+        return metadataCatalog.values().stream().parallel()
+                .filter(t -> value.equalsIgnoreCase(indexer.apply(t)))
+                .map(t -> (T) t.clone())
+                .toList();
+    }
+
     @Override
     public Collection<T> getAll() {
         return metadataCatalog.entrySet().stream().parallel()
@@ -0,0 +1,196 @@
+package io.kaoto.backend.metadata.catalog;
+
+import io.kaoto.backend.metadata.MetadataCatalog;
+import io.kaoto.backend.model.Metadata;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 🐱class IndexedCatalog
+ * 🐱inherits MetadataCatalog
+ *
+ * Catalog implementation that keeps secondary indexes over the stored
+ * elements so lookups by name, type or any other registered attribute are
+ * hash lookups instead of linear scans.
+ *
+ * Indexes are rebuilt on every store and swapped atomically, so readers
+ * never see a half-built catalog.
+ */
+public class IndexedCatalog<T extends Metadata> implements MetadataCatalog<T> {
+
+    public static final String NAME = "name";
+    public static final String TYPE = "type";
+    private static final String KEY_SEPARATOR = "/";
+
+    private final Logger log = Logger.getLogger(IndexedCatalog.class);
+    private final Map<String, Function<T, String>> indexers;
+    private volatile Snapshot<T> snapshot;
+
+    public IndexedCatalog() {
+        this(Collections.emptyMap());
+    }
+
+    /*
+     * 🐱constructor IndexedCatalog
+     * 🐱param indexes: Map[String, Function]
+     *
+     * Builds a catalog that, besides name and type, indexes the attribute
+     * returned by each of the functions under the given index name.
+     */
+    public IndexedCatalog(final Map<String, Function<T, String>> indexes) {
+        this.indexers = new LinkedHashMap<>();
+        this.indexers.put(NAME, Metadata::getName);
+        this.indexers.put(TYPE, Metadata::getType);
+        this.indexers.putAll(indexes);
+        this.snapshot = new Snapshot<>(0, Collections.emptyMap(), this.indexers);
+    }
+
+    /*
+     * 🐱method key : String
+     * 🐱param values: String[]
+     *
+     * Builds the key used by composed indexes, like name and kind.
+     */
+    public static String key(final String... values) {
+        return String.join(KEY_SEPARATOR, values);
+    }
+
+    @Override
+    public synchronized boolean store(final List<T> steps) {
+        if (steps == null) {
+            return false;
+        }
+        final Map<String, T> elements = new LinkedHashMap<>(snapshot.byId);
+        final Map<String, T> batch = new LinkedHashMap<>();
+        steps.stream()
+                .filter(Objects::nonNull)
+                .forEach(step -> batch.putIfAbsent(step.getId(), step));
+        elements.putAll(batch);
+        snapshot = new Snapshot<>(snapshot.generation + 1, elements, indexers);
+        log.trace("Catalog now has " + elements.size() + " elements.");
+
+        return true;
+    }
+
+    /*
+     * 🐱method update : boolean
+     * 🐱param removed: Collection[String]
+     * 🐱param elements: List[T]
+     *
+     * Removes the elements with the given identifiers and adds or replaces
+     * the given elements, all in one step: readers see either the catalog
+     * before or after the whole change. Returns false if there was nothing
+     * to change.
+     */
+    public synchronized boolean update(final Collection<String> removed, final List<T> elements) {
+        if (removed.isEmpty() && elements.isEmpty()) {
+            return false;
+        }
+        final Map<String, T> updated = new LinkedHashMap<>(snapshot.byId);
+        removed.forEach(updated::remove);
+        final Map<String, T> batch = new LinkedHashMap<>();
+        elements.stream()
+                .filter(Objects::nonNull)
+                .forEach(step -> batch.putIfAbsent(step.getId(), step));
+        updated.putAll(batch);
+        snapshot = new Snapshot<>(snapshot.generation + 1, updated, indexers);
+        log.trace("Catalog updated: " + removed.size() + " removed, " + batch.size()
+                + " added or replaced, now has " + updated.size() + " elements.");
+
+        return true;
+    }
+
+    @Override
+    public T searchByID(final String id) {
+        T step = snapshot.byId.get(id);
+        if (step != null) {
+            step = (T) step.clone();
+        }
+        return step;
+    }
+
+    @Override
+    public Collection<T> searchByName(final String name) {
+        return searchByIndex(NAME, name);
+    }
+
+    @Override
+    public Collection<T> searchByIndex(final String index, final String value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        final var values = snapshot.indexes.get(index);
+        if (values == null) {
+            throw new UnsupportedOperationException(
+                    "There is no index " + index + " on this catalog.");
+        }
+        return values.getOrDefault(normalize(value), Collections.emptyList())
+                .stream()
+                .map(t -> (T) t.clone())
+                .toList();
+    }
+
+    @Override
+    public Collection<T> getAll() {
+        return snapshot.byId.values().stream()
+                .map(t -> (T) t.clone())
+                .toList();
+    }
+
+    @Override
+    public synchronized void clear() {
+        snapshot = new Snapshot<>(snapshot.generation + 1, Collections.emptyMap(), indexers);
+    }
+
+    /*
+     * 🐱method getGeneration : long
+     *
+     * Returns a number that changes every time the content of the catalog
+     * changes. Useful to know when something derived from the catalog is
+     * outdated.
+     */
+    public long getGeneration() {
+        return snapshot.generation;
+    }
+
+    private static String normalize(final String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /*
+     * Immutable view of the catalog content with all its indexes.
+     */
+    private static final class Snapshot<T extends Metadata> {
+        private final long generation;
+        private final Map<String, T> byId;
+        private final Map<String, Map<String, List<T>>> indexes;
+
+        Snapshot(final long generation, final Map<String, T> elements,
+                 final Map<String, Function<T, String>> indexers) {
+            this.generation = generation;
+            this.byId = Collections.unmodifiableMap(elements);
+            final Map<String, Map<String, List<T>>> idx = new HashMap<>();
+            for (var indexer : indexers.entrySet()) {
+                final Map<String, List<T>> index = new HashMap<>();
+                for (T element : elements.values()) {
+                    final var value = indexer.getValue().apply(element);
+                    if (value != null) {
+                        index.computeIfAbsent(normalize(value), k -> new ArrayList<>()).add(element);
+                    }
+                }
+                idx.put(indexer.getKey(), Collections.unmodifiableMap(index));
+            }
+            this.indexes = Collections.unmodifiableMap(idx);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.Informable;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.kaoto.backend.metadata.WatchedParseCatalog;
+import io.kaoto.backend.model.Metadata;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 🐱class ClusterWatchParseCatalog
+ *
+ * 🐱inherits WatchedParseCatalog
+ *
+ * Keeps the elements generated from some kind of resource of the cluster
+ * up to date through an informer: resources are listed once and then
+ * only the changes are received. Each resource is processed again only when
+ * its resourceVersion changes.
+ *
+ * Resources are processed as they come from the cluster, without
+ * serializing them to YAML.
+ *
+ * If the first list fails, like when the CRD is not installed or we are
+ * not allowed to watch it, the informer is dropped and the next parse
+ * starts a new one, once the retry delay has passed.
+ */
+public class ClusterWatchParseCatalog<T extends Metadata>
+        implements WatchedParseCatalog<T>, ResourceEventHandler<GenericKubernetesResource>, AutoCloseable {
+
+    private static final long RETRY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Logger log = Logger.getLogger(ClusterWatchParseCatalog.class);
+
+    private final String apiVersion;
+    private final String kind;
+    private final Function<GenericKubernetesResource, List<T>> processor;
+    private final Map<String, Entry<T>> cache = new HashMap<>();
+    private final List<Listener<T>> listeners = new CopyOnWriteArrayList<>();
+
+    private KubernetesClient kubernetesClient;
+    private String namespace;
+    private SharedIndexInformer<GenericKubernetesResource> informer;
+    private CompletableFuture<Void> synced;
+    private long startedAt;
+    private long retryMillis = RETRY_MILLIS;
+
+    public ClusterWatchParseCatalog(final Class<? extends HasMetadata> resource,
+                                    final Function<GenericKubernetesResource, List<T>> processor) {
+        this.apiVersion = HasMetadata.getApiVersion(resource);
+        this.kind = HasMetadata.getKind(resource);
+        this.processor = processor;
+    }
+
+    public void setKubernetesClient(final KubernetesClient kubernetesClient) {
+        this.kubernetesClient = kubernetesClient;
+    }
+
+    public void setNamespace(final String namespace) {
+        this.namespace = namespace;
+    }
+
+    public void setRetryMillis(final long retryMillis) {
+        this.retryMillis = retryMillis;
+    }
+
+    @Override
+    public CompletableFuture<List<T>> parse() {
+        return start().thenApply(ignored -> getAll());
+    }
+
+    @Override
+    public void setFileVisitor(final ProcessFile<T> fileVisitor) {
+        //Resources are processed directly, there are no files to visit
+    }
+
+    @Override
+    public String source() {
+        return ClusterWatchParseCatalog.class.getName() + ":" + apiVersion + "/" + kind + "@" + namespace;
+    }
+
+    /*
+     * 🐱method fingerprint : String
+     *
+     * Built from the resourceVersion of the resources we know of. It is
+     * calculated locally, without asking the cluster.
+     */
+    @Override
+    public synchronized String fingerprint() {
+        if (synced == null || !synced.isDone()) {
+            return null;
+        }
+        final List<String> parts = new ArrayList<>();
+        parts.add(source());
+        cache.entrySet().stream()
+                .map(e -> e.getKey() + ":" + e.getValue().resourceVersion())
+                .sorted()
+                .forEach(parts::add);
+        return Fingerprint.of(parts.toArray(new String[0]));
+    }
+
+    @Override
+    public synchronized void addListener(final Listener<T> listener) {
+        listeners.add(listener);
+        listener.changed(Set.of(), getAll());
+    }
+
+    @Override
+    public void onAdd(final GenericKubernetesResource resource) {
+        update(resource);
+    }
+
+    @Override
+    public void onUpdate(final GenericKubernetesResource oldResource, final GenericKubernetesResource resource) {
+        update(resource);
+    }
+
+    @Override
+    public synchronized void onDelete(final GenericKubernetesResource resource,
+                                      final boolean deletedFinalStateUnknown) {
+        final var previous = cache.remove(key(resource));
+        if (previous != null) {
+            log.trace("Resource " + key(resource) + " deleted.");
+            notifyChanges(ids(previous.elements()), List.of());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (informer != null) {
+            informer.close();
+            informer = null;
+            synced = null;
+        }
+    }
+
+    private synchronized CompletableFuture<Void> start() {
+        if (synced != null && synced.isCompletedExceptionally()
+                && System.currentTimeMillis() - startedAt >= retryMillis) {
+            log.debug("The first list of " + kind + " resources failed, trying again.");
+            close();
+        }
+        if (synced == null) {
+            log.debug("Starting to watch " + kind + " resources on the cluster.");
+            final Informable<GenericKubernetesResource> resources =
+                    "false".equals(namespace) || namespace == null || namespace.isEmpty()
+                    ? kubernetesClient.genericKubernetesResources(apiVersion, kind).inAnyNamespace()
+                    : kubernetesClient.genericKubernetesResources(apiVersion, kind).inNamespace(namespace);
+            informer = resources.runnableInformer(0);
+            informer.addEventHandler(this);
+            startedAt = System.currentTimeMillis();
+            synced = informer.start().toCompletableFuture();
+        }
+        return synced;
+    }
+
+    private synchronized void update(final GenericKubernetesResource resource) {
+        final var key = key(resource);
+        final var resourceVersion = resource.getMetadata().getResourceVersion();
+        final var previous = cache.get(key);
+        if (previous != null && Objects.equals(previous.resourceVersion(), resourceVersion)) {
+            //Nothing changed, probably a resync
+            return;
+        }
+
+        List<T> elements;
+        try {
+            elements = processor.apply(resource);
+        } catch (Exception e) {
+            log.trace("Couldn't parse the resource " + key, e);
+            elements = List.of();
+        }
+        cache.put(key, new Entry<>(resourceVersion, elements));
+
+        final Set<String> removed = previous != null ? ids(previous.elements()) : new HashSet<>();
+        removed.removeAll(ids(elements));
+        notifyChanges(removed, elements);
+    }
+
+    /*
+     * Watching all namespaces, the same Kamelet may be on more than one of
+     * them. What one resource doesn't generate anymore is only gone if no
+     * other resource generates it, otherwise the element of the other one
+     * takes its place.
+     */
+    private void notifyChanges(final Set<String> removed, final List<T> elements) {
+        final List<T> changed = new ArrayList<>(elements);
+        if (!removed.isEmpty()) {
+            for (var entry : cache.values()) {
+                for (T element : entry.elements()) {
+                    if (removed.remove(element.getId())) {
+                        changed.add(element);
+                    }
+                }
+            }
+        }
+        notifyListeners(removed, changed);
+    }
+
+    private void notifyListeners(final Collection<String> removed, final List<T> elements) {
+        if (synced == null || !synced.isDone()) {
+            //Still doing the initial list, parse will return everything
+            return;
+        }
+        for (var listener : listeners) {
+            try {
+                listener.changed(removed, elements);
+            } catch (Exception e) {
+                log.warn("Error notifying a change on the " + kind + " resources.", e);
+            }
+        }
+    }
+
+    private synchronized List<T> getAll() {
+        return cache.values().stream()
+                .flatMap(entry -> entry.elements().stream())
+                .toList();
+    }
+
+    private static String key(final HasMetadata resource) {
+        return resource.getMetadata().getNamespace() + "/" + resource.getMetadata().getName();
+    }
+
+    private static <T extends Metadata> Set<String> ids(final List<T> elements) {
+        final Set<String> ids = new HashSet<>();
+        elements.forEach(element -> ids.add(element.getId()));
+        return ids;
+    }
+
+    /*
+     * What we generated from a resource, on a specific version.
+     */
+    private record Entry<T>(String resourceVersion, List<T> elements) {
+    }
+}
@@ -0,0 +1,61 @@
+package io.kaoto.backend.metadata.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 🐱class Fingerprint
+ *
+ * Helper to calculate the fingerprints that identify the content of a
+ * catalog source.
+ */
+public final class Fingerprint {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private Fingerprint() {
+    }
+
+    /*
+     * 🐱method of : String
+     * 🐱param parts: String[]
+     *
+     * Digest of all the parts, in order.
+     */
+    public static String of(final String... parts) {
+        final var digest = digest();
+        for (var part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /*
+     * 🐱method of : String
+     * 🐱param is: InputStream
+     *
+     * Digest of the full content of the stream. The stream is not closed.
+     */
+    public static String of(final InputStream is) throws IOException {
+        final var digest = digest();
+        final var buffer = new byte[64 * 1024];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " should always be available.", e);
+        }
+    }
+}
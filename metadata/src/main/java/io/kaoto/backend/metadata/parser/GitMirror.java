@@ -0,0 +1,205 @@
+package io.kaoto.backend.metadata.parser;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.SubmoduleConfig;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.TagOpt;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 🐱class GitMirror
+ *
+ * Bare local copy of a branch or tag of a remote git repository. It only
+ * contains the last commit fetched (depth 1) and it is kept between parses,
+ * so updating it only downloads what changed.
+ *
+ * Each parser marks the commit it parsed last with a ref under
+ * refs/kaoto/parsed/, so it can be compared with the next one. Everything
+ * else is removed from the mirror with prune.
+ */
+final class GitMirror {
+
+    private static final Logger LOG = Logger.getLogger(GitMirror.class);
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+    private static final String PARSED_REFS = "refs/kaoto/parsed/";
+
+    private final String url;
+    private final String tag;
+    private final Path directory;
+
+    GitMirror(final Path root, final String url, final String tag) {
+        this.url = url;
+        this.tag = tag;
+        this.directory = root.resolve(Fingerprint.of(url, tag) + ".git");
+    }
+
+    /*
+     * 🐱method lock : Object
+     *
+     * Different parsers may use the same mirror, only one of them can
+     * update it at the same time.
+     */
+    Object lock() {
+        return LOCKS.computeIfAbsent(directory, d -> new Object());
+    }
+
+    /*
+     * 🐱method open : Repository
+     *
+     * Opens the mirror, creating it if this is the first time we use it.
+     */
+    Repository open() throws IOException, GitAPIException {
+        if (!Files.isRegularFile(directory.resolve("HEAD"))) {
+            Files.createDirectories(directory);
+            Git.init().setBare(true).setDirectory(directory.toFile()).call().close();
+        }
+        return new FileRepositoryBuilder().setGitDir(directory.toFile()).setMustExist(true).build();
+    }
+
+    /*
+     * 🐱method fetch : ObjectId
+     * 🐱param repository: Repository
+     * 🐱param known: Ref
+     *
+     * Updates the mirror with the last commit of the branch or tag, if it
+     * changed, and returns it. If we already asked the remote repository
+     * for the ref, pass it as known; if it is null, we ask again.
+     */
+    ObjectId fetch(final Repository repository, final Ref known) throws IOException, GitAPIException {
+        final var remote = known != null ? known : remoteRef(url, tag)
+                .orElseThrow(() -> new IOException("There is no " + tag + " on " + url));
+        final var name = remote.getName();
+
+        final var local = repository.resolve(name + "^{commit}");
+        if (local != null && local.equals(commit(remote))) {
+            LOG.trace(url + "#" + tag + " didn't change.");
+            return local;
+        }
+
+        final var time = System.currentTimeMillis();
+        try (Git git = new Git(repository)) {
+            git.fetch()
+                    .setRemote(url)
+                    .setRefSpecs(new RefSpec("+" + name + ":" + name))
+                    .setDepth(1)
+                    .setTagOpt(TagOpt.NO_TAGS)
+                    .setRecurseSubmodules(SubmoduleConfig.FetchRecurseSubmodulesMode.NO)
+                    .call();
+        }
+        LOG.debug("Fetched " + url + "#" + tag + " in " + (System.currentTimeMillis() - time) + "ms.");
+
+        final var commit = repository.resolve(name + "^{commit}");
+        if (commit == null) {
+            throw new IOException("Couldn't fetch " + tag + " from " + url);
+        }
+        return commit;
+    }
+
+    /*
+     * 🐱method prune
+     * 🐱param repository: Repository
+     * 🐱param source: String
+     * 🐱param parsed: ObjectId
+     * 🐱param sources: Set[String]
+     *
+     * Marks parsed as the last commit source parsed and forgets the marks of
+     * the parsers that are not in sources anymore. Then drops every object
+     * not reachable from the fetched branch or tag or from those marks.
+     * Failing to prune is not a reason to fail the parse, so it only warns.
+     */
+    void prune(final Repository repository, final String source, final ObjectId parsed,
+               final Set<String> sources) {
+        final var time = System.currentTimeMillis();
+        try {
+            final var mark = PARSED_REFS + Fingerprint.of(source);
+            final var update = repository.updateRef(mark);
+            update.setNewObjectId(parsed);
+            update.setForceUpdate(true);
+            check(update.update(), mark);
+
+            final var marks = sources.stream()
+                    .map(other -> PARSED_REFS + Fingerprint.of(other))
+                    .collect(Collectors.toSet());
+            for (Ref ref : repository.getRefDatabase().getRefsByPrefix(PARSED_REFS)) {
+                if (!ref.getName().equals(mark) && !marks.contains(ref.getName())) {
+                    final var delete = repository.updateRef(ref.getName());
+                    delete.setForceUpdate(true);
+                    check(delete.delete(), ref.getName());
+                }
+            }
+
+            //nobody else writes to the mirror while we hold its lock, so what
+            //is unreachable can go right away, like git gc --prune=now.
+            //Nobody fetches from it either, bitmaps would be wasted.
+            final var config = repository.getConfig();
+            config.setString(ConfigConstants.CONFIG_GC_SECTION, null,
+                    ConfigConstants.CONFIG_KEY_PRUNEEXPIRE, "now");
+            config.setString(ConfigConstants.CONFIG_GC_SECTION, null,
+                    ConfigConstants.CONFIG_KEY_PRUNEPACKEXPIRE, "now");
+            config.setBoolean(ConfigConstants.CONFIG_PACK_SECTION, null,
+                    ConfigConstants.CONFIG_KEY_BUILD_BITMAPS, false);
+            try (Git git = new Git(repository)) {
+                git.gc().call();
+            }
+            LOG.debug("Pruned " + url + "#" + tag + " in " + (System.currentTimeMillis() - time) + "ms.");
+        } catch (IOException | GitAPIException e) {
+            LOG.warn("Couldn't prune the mirror of " + url + "#" + tag, e);
+        }
+    }
+
+    private static void check(final RefUpdate.Result result, final String ref) throws IOException {
+        switch (result) {
+            case NEW, FORCED, FAST_FORWARD, NO_CHANGE -> {
+            }
+            default -> throw new IOException("Couldn't update " + ref + ": " + result);
+        }
+    }
+
+    /*
+     * 🐱method remoteRef : Optional[Ref]
+     * 🐱param url: String
+     * 🐱param tag: String
+     *
+     * Branch or tag of the remote repository, asked without fetching it.
+     */
+    static Optional<Ref> remoteRef(final String url, final String tag) throws GitAPIException {
+        final Map<String, Ref> refs = Git.lsRemoteRepository()
+                .setRemote(url)
+                .setHeads(true)
+                .setTags(true)
+                .callAsMap();
+        return Stream.of(Constants.R_HEADS + tag, Constants.R_TAGS + tag, tag)
+                .map(refs::get)
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
+    /*
+     * 🐱method commit : ObjectId
+     * 🐱param ref: Ref
+     *
+     * Commit a remote ref points to, even if it is an annotated tag.
+     */
+    static ObjectId commit(final Ref ref) {
+        return ref.getPeeledObjectId() != null ? ref.getPeeledObjectId() : ref.getObjectId();
+    }
+}
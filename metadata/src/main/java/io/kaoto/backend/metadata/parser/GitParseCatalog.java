@@ -5,41 +5,260 @@ import io.kaoto.backend.model.Metadata;
 import org.apache.commons.io.FileUtils;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.TagOpt;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.jboss.logging.Logger;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 /**
  * 🐱class GitParseCatalog
  * 🐱inherits ParseCatalog
  * 🐱relationship dependsOn YamlProcessFile
- * Abstract implementation that downloads a git repository
+ * Abstract implementation that fetches a git repository
  * and walks through all the files
  * parsing them and preparing elements to add to a catalog.
+ *
+ * The repository is kept as a shallow local mirror (see GitMirror), so
+ * refreshing only fetches the last commit and parses the files that
+ * changed since the previous parse. It can be restricted to some paths of
+ * the repository.
+ *
+ * The mirrors are stored on catalog.git.directory. What was parsed is
+ * remembered for the last catalog.git.max-parsed sources used. Submodules
+ * are only followed if catalog.git.submodules is enabled, and then the
+ * repository is cloned on each parse.
  */
 public class GitParseCatalog<T extends Metadata>
         implements ParseCatalog<T> {
 
+    public static final String DIRECTORY = "catalog.git.directory";
+    public static final String SUBMODULES = "catalog.git.submodules";
+    public static final String MAX_PARSED = "catalog.git.max-parsed";
+    public static final int DEFAULT_MAX_PARSED = 16;
+
+    //What we parsed on the last commit of each source, by path. Only one
+    //commit per source, and only for the sources used most recently.
+    private static final Map<String, Parsed<?>> PARSED = Collections.synchronizedMap(
+            new LinkedHashMap<>(DEFAULT_MAX_PARSED, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Parsed<?>> eldest) {
+                    return size() > ParserConfig.get(MAX_PARSED, Integer.class).orElse(DEFAULT_MAX_PARSED);
+                }
+            });
+
     private Logger log = Logger.getLogger(GitParseCatalog.class);
     private final String url;
     private final String tag;
+    private final List<String> paths;
+    private final Path directory;
+    private final boolean submodules;
 
     private ProcessFile<T> processFile;
 
+    //Ref the remote repository gave us on the last fingerprint, so parsing
+    //right after it doesn't have to ask again
+    private volatile Ref remote;
+
     public GitParseCatalog(final String url, final String tag) {
+        this(url, tag, List.of());
+    }
+
+    public GitParseCatalog(final String url, final String tag, final List<String> paths) {
+        this(url, tag, paths,
+                ParserConfig.get(DIRECTORY, String.class)
+                        .map(Path::of)
+                        .orElseGet(() -> Path.of(System.getProperty("java.io.tmpdir"), "kaoto-git")),
+                ParserConfig.get(SUBMODULES, Boolean.class).orElse(false));
+    }
+
+    public GitParseCatalog(final String url, final String tag, final List<String> paths,
+                           final Path directory, final boolean submodules) {
         this.url = url;
         this.tag = tag;
+        this.paths = paths == null ? List.of() : paths.stream()
+                .map(path -> path.replaceAll("^/+|/+$", ""))
+                .filter(path -> !path.isBlank())
+                .toList();
+        this.directory = directory;
+        this.submodules = submodules;
     }
 
-    private List<T> cloneRepoAndParse(final String url, final String tag) {
+    private List<T> fetchAndParse() {
         log.trace("Warming up repository in " + url);
+        final var statistics = new ParseStatistics(url);
+        final var mirror = new GitMirror(directory, url, tag);
+        List<T> metadataList = new ArrayList<>();
+
+        final var known = remote;
+        remote = null;
+
+        synchronized (mirror.lock()) {
+            try (Repository repository = mirror.open()) {
+                final var commit = mirror.fetch(repository, known);
+                @SuppressWarnings("unchecked")
+                final var previous = (Parsed<T>) PARSED.get(source());
+
+                final Map<String, List<T>> files;
+                if (previous != null && previous.commit().equals(commit)) {
+                    log.trace("Nothing changed on " + url + "#" + tag);
+                    files = previous.files();
+                } else if (previous != null && repository.getObjectDatabase().has(previous.commit())) {
+                    files = parseChanges(repository, previous, commit, statistics);
+                } else {
+                    files = parseAll(repository, commit, statistics);
+                }
+                PARSED.put(source(), new Parsed<>(commit.copy(), files));
+
+                metadataList = files.values().stream()
+                        .flatMap(List::stream)
+                        .collect(Collectors.toCollection(ArrayList::new));
+
+                if (previous == null || !previous.commit().equals(commit)) {
+                    mirror.prune(repository, source(), commit, cachedSources());
+                }
+            } catch (GitAPIException e) {
+                log.error("Error trying to fetch repository.", e);
+            } catch (IOException e) {
+                log.error("Error trying to parse catalog.", e);
+            }
+        }
+
+        statistics.report(log, metadataList.size());
+        return metadataList;
+    }
+
+    private static Set<String> cachedSources() {
+        synchronized (PARSED) {
+            return Set.copyOf(PARSED.keySet());
+        }
+    }
+
+    private Map<String, List<T>> parseAll(final Repository repository, final ObjectId commit,
+                                          final ParseStatistics statistics) throws IOException {
+        final Map<String, CompletableFuture<List<T>>> futureMd = new LinkedHashMap<>();
+        try (RevWalk revWalk = new RevWalk(repository);
+             TreeWalk treeWalk = new TreeWalk(repository)) {
+            treeWalk.addTree(revWalk.parseTree(commit));
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(pathFilter());
+            while (treeWalk.next()) {
+                if (isDesired(treeWalk.getPathString(), treeWalk.getFileMode(0))) {
+                    futureMd.put(treeWalk.getPathString(),
+                            parseBlob(repository, treeWalk.getObjectId(0), treeWalk.getPathString(), statistics));
+                }
+            }
+        }
+        log.trace("Found " + futureMd.size() + " files.");
+        return join(futureMd, new LinkedHashMap<>());
+    }
+
+    /*
+     * Only the files added or modified since the previous commit are parsed,
+     * the rest is reused from the previous parse.
+     */
+    private Map<String, List<T>> parseChanges(final Repository repository, final Parsed<T> previous,
+                                              final ObjectId commit, final ParseStatistics statistics)
+            throws IOException {
+        final Map<String, List<T>> files = new LinkedHashMap<>(previous.files());
+        final Map<String, CompletableFuture<List<T>>> futureMd = new LinkedHashMap<>();
+        try (RevWalk revWalk = new RevWalk(repository);
+             TreeWalk treeWalk = new TreeWalk(repository)) {
+            treeWalk.addTree(revWalk.parseTree(previous.commit()));
+            treeWalk.addTree(revWalk.parseTree(commit));
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(AndTreeFilter.create(pathFilter(), TreeFilter.ANY_DIFF));
+            for (DiffEntry entry : DiffEntry.scan(treeWalk)) {
+                files.remove(entry.getOldPath());
+                if (entry.getChangeType() != DiffEntry.ChangeType.DELETE
+                        && isDesired(entry.getNewPath(), entry.getNewMode())) {
+                    futureMd.put(entry.getNewPath(),
+                            parseBlob(repository, entry.getNewId().toObjectId(), entry.getNewPath(), statistics));
+                }
+            }
+        }
+        log.debug("Parsing " + futureMd.size() + " files changed on " + url + "#" + tag);
+        return join(futureMd, files);
+    }
+
+    private Map<String, List<T>> join(final Map<String, CompletableFuture<List<T>>> futureMd,
+                                      final Map<String, List<T>> files) {
+        futureMd.forEach((path, md) -> {
+            final var elements = md.join();
+            if (elements.isEmpty()) {
+                files.remove(path);
+            } else {
+                files.put(path, elements);
+            }
+        });
+        return Collections.unmodifiableMap(files);
+    }
+
+    private CompletableFuture<List<T>> parseBlob(final Repository repository, final ObjectId blob,
+                                                 final String path, final ParseStatistics statistics)
+            throws IOException {
+        final var content = repository.open(blob, Constants.OBJ_BLOB).getBytes();
+        statistics.read(content.length);
+        return CompletableFuture.supplyAsync(() -> {
+            try (var reader = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)) {
+                return this.processFile.parseInputStream(reader);
+            } catch (Exception e) {
+                log.debug("Couldn't parse " + path, e);
+            } finally {
+                statistics.parsed();
+            }
+            return List.of();
+        }, ParserExecutor.get());
+    }
+
+    private boolean isDesired(final String path, final FileMode mode) {
+        if ((mode.getBits() & FileMode.TYPE_MASK) != FileMode.TYPE_FILE) {
+            return false;
+        }
+        final var segments = path.split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (this.processFile.isExcludedDirectory(segments[i])) {
+                return false;
+            }
+        }
+        return this.processFile.isDesiredType(segments[segments.length - 1]);
+    }
+
+    private TreeFilter pathFilter() {
+        return paths.isEmpty() ? TreeFilter.ALL : PathFilterGroup.createFromStrings(paths);
+    }
+
+    /*
+     * Submodules can't be fetched into the mirror, so in that case we clone
+     * the whole repository as before.
+     */
+    private List<T> cloneRepoAndParse() {
+        log.trace("Cloning " + url + " with its submodules.");
         List<T> metadataList =
                 Collections.synchronizedList(new CopyOnWriteArrayList<>());
         final List<CompletableFuture<Void>> futureMd =
@@ -63,14 +282,19 @@ public class GitParseCatalog<T extends Metadata>
                     .setURI(url)
                     .setDirectory(file)
                     .setBranch(tag)
-                    .setTagOption(TagOpt.FETCH_TAGS)
+                    .setDepth(1)
+                    .setTagOption(TagOpt.NO_TAGS)
                     .call()) {
 
                 log.trace("Parsing all files in the repository");
                 this.processFile.setFutureMetadata(futureMd);
                 this.processFile.setMetadataList(metadataList);
-                Files.walkFileTree(file.getAbsoluteFile().toPath(),
-                        this.processFile);
+                final var root = file.getAbsoluteFile().toPath();
+                for (var path : paths.isEmpty() ? List.of(root) : paths.stream().map(root::resolve).toList()) {
+                    if (Files.exists(path)) {
+                        Files.walkFileTree(path, this.processFile);
+                    }
+                }
                 log.trace("Found " + futureMd.size() + " elements.");
                 CompletableFuture.allOf(
                         futureMd.toArray(new CompletableFuture[0]))
@@ -92,14 +316,47 @@ public class GitParseCatalog<T extends Metadata>
         return metadataList;
     }
 
+    @Override
+    public String source() {
+        final var source = processFile.getClass().getName() + ":" + url + "#" + tag;
+        return paths.isEmpty() ? source : source + ":" + String.join(",", paths);
+    }
+
+    /*
+     * 🐱method fingerprint : String
+     *
+     * Commit the branch or tag points to, asked to the remote repository
+     * without fetching it. The next parse fetches that same commit.
+     */
+    @Override
+    public String fingerprint() {
+        remote = null;
+        try {
+            final var ref = GitMirror.remoteRef(url, tag);
+            remote = ref.orElse(null);
+            if (ref.isPresent()) {
+                return Fingerprint.of(source(), GitMirror.commit(ref.get()).getName());
+            }
+        } catch (GitAPIException e) {
+            log.warn("Couldn't calculate the fingerprint of " + url, e);
+        }
+        return null;
+    }
+
     @Override
     public CompletableFuture<List<T>> parse() {
         CompletableFuture<List<T>> metadata = new CompletableFuture<>();
-        metadata.completeAsync(() -> cloneRepoAndParse(url, tag));
+        metadata.completeAsync(() -> submodules ? cloneRepoAndParse() : fetchAndParse());
         return metadata;
     }
 
     public void setFileVisitor(final ProcessFile<T> fileVisitor) {
         this.processFile = fileVisitor;
     }
+
+    /*
+     * Elements found on each file of a commit.
+     */
+    private record Parsed<T>(ObjectId commit, Map<String, List<T>> files) {
+    }
 }
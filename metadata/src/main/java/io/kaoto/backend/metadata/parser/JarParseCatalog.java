@@ -2,21 +2,27 @@ package io.kaoto.backend.metadata.parser;
 
 import io.kaoto.backend.metadata.ParseCatalog;
 import io.kaoto.backend.model.Metadata;
-import org.apache.commons.io.IOUtils;
 import org.jboss.logging.Logger;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 /**
@@ -38,66 +44,165 @@ public class JarParseCatalog<T extends Metadata>
     //to avoid bomb attacks
     private int thresholdSize = 1000000000; // 1 GB
 
+    private final RemoteArtifactCache artifactCache;
+
+    private volatile RemoteArtifactCache.Artifact artifact;
+
     public JarParseCatalog(final String url) {
+        this(url, RemoteArtifactCache.getDefault());
+    }
+
+    public JarParseCatalog(final String url, final RemoteArtifactCache artifactCache) {
         this.url = url;
+        this.artifactCache = artifactCache;
     }
 
     private List<T> getJarAndParse(final String url) {
         log.trace("Warming up repository in " + url);
-        List<T> metadataList = Collections.synchronizedList(new CopyOnWriteArrayList<>());
-        final List<CompletableFuture<Void>> futureMd = Collections.synchronizedList(new CopyOnWriteArrayList<>());
-        this.processFile.setFutureMetadata(futureMd);
-        this.processFile.setMetadataList(metadataList);
-
-        long totalSize = 0;
-        try (ZipInputStream zis = new ZipInputStream(getInputStream(url))) {
-
-            //Unzip the files
-            ZipEntry zipEntry = zis.getNextEntry();
-
-            while (zipEntry != null) {
-                totalSize += processExtractedFile(zis, zipEntry, futureMd, metadataList);
-
-                if (totalSize > thresholdSize) {
-                    throw new IOException("This jar file unzipped is too big.");
-                }
-
-                zipEntry = zis.getNextEntry();
-            }
+        final var statistics = new ParseStatistics(url);
+        List<T> metadataList = new ArrayList<>();
 
+        try {
+            final var file = getLocalFile(url);
+            final var futureMd = file != null ? parseZipFile(file, statistics) : parseZipStream(url, statistics);
             log.trace("Found " + futureMd.size() + " elements.");
-            CompletableFuture.allOf(futureMd.toArray(new CompletableFuture[0])).join();
+            metadataList = futureMd.stream()
+                    .map(CompletableFuture::join)
+                    .flatMap(List::stream)
+                    .collect(Collectors.toCollection(ArrayList::new));
         } catch (FileNotFoundException e) {
             log.error("No jar file found.", e);
         } catch (Exception e) {
             log.error("Error trying to parse catalog.", e);
         }
 
+        statistics.report(log, metadataList.size());
         return metadataList;
     }
 
-    private long processExtractedFile(final ZipInputStream zis, final ZipEntry zipEntry,
-                                      final List<CompletableFuture<Void>> futureMd, final List<T> metadataList)
+    /*
+     * Local files can be accessed randomly, so each entry is read and parsed
+     * in parallel.
+     */
+    private List<CompletableFuture<List<T>>> parseZipFile(final Path file, final ParseStatistics statistics)
             throws IOException {
-        long size = zipEntry.getSize();
-        if (!zipEntry.isDirectory() && this.processFile.isDesiredType(zipEntry.getName())) {
-            final InputStreamReader isr = new InputStreamReader(zis);
-            final String content = IOUtils.toString(isr);
-            size = content.length();
-            final StringReader sr = new StringReader(content);
-            CompletableFuture<Void> metadata =
-                    CompletableFuture.runAsync(() -> metadataList.addAll(this.processFile.parseInputStream(sr)));
-            metadata.thenRun(() -> log.trace(zipEntry.getName() + " parsed, now generating metadata."));
-            futureMd.add(metadata);
+        final List<CompletableFuture<List<T>>> futureMd = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(file.toFile())) {
+            final var entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                final var zipEntry = entries.nextElement();
+                if (isDesired(zipEntry)) {
+                    futureMd.add(CompletableFuture.supplyAsync(() -> {
+                        try (InputStream is = zipFile.getInputStream(zipEntry)) {
+                            return parseEntry(zipEntry.getName(), read(zipEntry, is, statistics), statistics);
+                        } catch (IOException e) {
+                            log.error("Skipping " + zipEntry.getName() + " as I can't read it.", e);
+                        }
+                        return List.of();
+                    }, ParserExecutor.get()));
+                }
+            }
+            //we can't close the file until all entries are read
+            CompletableFuture.allOf(futureMd.toArray(new CompletableFuture[0])).join();
+        }
+        return futureMd;
+    }
+
+    /*
+     * Streams can only be read in order, but entries are parsed in parallel
+     * while we keep reading.
+     */
+    private List<CompletableFuture<List<T>>> parseZipStream(final String url, final ParseStatistics statistics)
+            throws IOException {
+        final List<CompletableFuture<List<T>>> futureMd = new ArrayList<>();
+        final var is = getInputStream(url);
+        if (is == null) {
+            throw new FileNotFoundException(url);
+        }
+        try (ZipInputStream zis = new ZipInputStream(is)) {
+            ZipEntry zipEntry = zis.getNextEntry();
+            while (zipEntry != null) {
+                if (isDesired(zipEntry)) {
+                    final var name = zipEntry.getName();
+                    final var content = read(zipEntry, zis, statistics);
+                    futureMd.add(CompletableFuture.supplyAsync(() -> parseEntry(name, content, statistics),
+                            ParserExecutor.get()));
+                }
+                zipEntry = zis.getNextEntry();
+            }
+        }
+        return futureMd;
+    }
+
+    private boolean isDesired(final ZipEntry zipEntry) {
+        return !zipEntry.isDirectory() && this.processFile.isDesiredType(zipEntry.getName());
+    }
+
+    /*
+     * Never reads more than what is left before the threshold: the declared
+     * size is checked first, and as it may lie (or be unknown on streams),
+     * we stop reading one byte after the limit.
+     */
+    private byte[] read(final ZipEntry zipEntry, final InputStream is, final ParseStatistics statistics)
+            throws IOException {
+        final long left = thresholdSize - statistics.getBytes();
+        if (left <= 0 || zipEntry.getSize() > left) {
+            throw new IOException("This jar file unzipped is too big.");
+        }
+        final var content = is.readNBytes((int) Math.min(left + 1, Integer.MAX_VALUE));
+        statistics.read(content.length);
+        if (content.length > left || statistics.getBytes() > thresholdSize) {
+            throw new IOException("This jar file unzipped is too big.");
         }
-        return size;
+        return content;
+    }
+
+    private List<T> parseEntry(final String name, final byte[] content, final ParseStatistics statistics) {
+        try (var reader = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)) {
+            final var md = this.processFile.parseInputStream(reader);
+            log.trace(name + " parsed, now generating metadata.");
+            return md;
+        } catch (Exception e) {
+            log.debug("Couldn't parse " + name, e);
+        } finally {
+            statistics.parsed();
+        }
+        return List.of();
+    }
+
+    /*
+     * If the source is a file we can access directly, returns its path.
+     * Resources packaged inside the application jar or the native image
+     * are not files, so they are streamed.
+     */
+    private Path getLocalFile(final String url) {
+        if (isRemote(url)) {
+            final var remote = download();
+            return remote != null ? remote.file() : null;
+        }
+        try {
+            if (url.startsWith("file:")) {
+                return Path.of(URI.create(url));
+            }
+            final var location = getResource(url);
+            if (location != null && "file".equals(location.getProtocol())) {
+                return Path.of(location.toURI());
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            log.debug("Can't access " + url + " as a local file.", e);
+        }
+        return null;
+    }
+
+    private URL getResource(final String url) {
+        return this.getClass().getResource(url.startsWith("resource://") ? url.substring(10) : url);
     }
 
     //If it is a remote file, download it
     private InputStream getInputStream(final String url) {
         InputStream res = null;
 
-        if (url.startsWith("http://") || url.startsWith("https://")) {
+        if (isRemote(url)) {
             try {
                 URL remote = new URL(url);
                 URLConnection connection = remote.openConnection();
@@ -105,6 +210,12 @@ public class JarParseCatalog<T extends Metadata>
             } catch (IOException e) {
                 log.error("Error trying to access remote file.", e);
             }
+        } else if (url.startsWith("file:")) {
+            try {
+                res = Files.newInputStream(Path.of(URI.create(url)));
+            } catch (IOException | IllegalArgumentException e) {
+                log.error("We had issues accessing " + url);
+            }
         } else if (url.startsWith("resource://")) {
             try {
                 res = this.getClass().getResourceAsStream(url.substring(10));
@@ -123,6 +234,68 @@ public class JarParseCatalog<T extends Metadata>
     }
 
 
+    private static boolean isRemote(final String url) {
+        return url.startsWith("http://") || url.startsWith("https://");
+    }
+
+    /*
+     * Remote artifacts are downloaded to the local cache once per parser.
+     */
+    private RemoteArtifactCache.Artifact download() {
+        if (artifact == null) {
+            try {
+                artifact = artifactCache.fetch(url);
+                log.debug(url + (artifact.modified() ? " downloaded." : " didn't change since last download."));
+            } catch (IOException e) {
+                log.error("Error trying to download remote file.", e);
+            }
+        }
+        return artifact;
+    }
+
+    /*
+     * 🐱method fingerprint : String
+     *
+     * For remote sources, it is the digest of the cached copy, which is
+     * revalidated with the server without downloading it if it didn't
+     * change. Local archives and resources use their size and modification
+     * time, like local folders; the content is only hashed when those are
+     * not known.
+     */
+    @Override
+    public String fingerprint() {
+        final var reader = processFile.getClass().getName();
+        if (isRemote(url)) {
+            final var remote = download();
+            return remote != null ? Fingerprint.of(url, reader, remote.digest()) : null;
+        }
+        try {
+            final var file = getLocalFile(url);
+            if (file != null) {
+                return Fingerprint.of(url, reader, Files.size(file) + ":" + Files.getLastModifiedTime(file));
+            }
+            final var resource = url.startsWith("file:") ? null : getResource(url);
+            if (resource != null) {
+                final var connection = resource.openConnection();
+                if (connection.getLastModified() > 0 && connection.getContentLengthLong() >= 0) {
+                    return Fingerprint.of(url, reader,
+                            connection.getContentLengthLong() + ":" + connection.getLastModified());
+                }
+            }
+            try (InputStream is = getInputStream(url)) {
+                return is != null ? Fingerprint.of(url, reader, Fingerprint.of(is)) : null;
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Couldn't calculate the fingerprint of " + url, e);
+        }
+        return null;
+    }
+
+    @Override
+    public String source() {
+        return processFile.getClass().getName() + ":" + url;
+    }
+
     @Override
     public CompletableFuture<List<T>> parse() {
         CompletableFuture<List<T>> metadata = new CompletableFuture<>();
@@ -5,12 +5,15 @@ import io.kaoto.backend.model.Metadata;
 import org.jboss.logging.Logger;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 /**
  * 🐱class LocalFolderParseCatalog
@@ -58,6 +61,27 @@ public class LocalFolderParseCatalog<T extends Metadata>
         return metadataList;
     }
 
+    @Override
+    public String fingerprint() {
+        final List<String> parts = new ArrayList<>();
+        parts.add(uri.toAbsolutePath().toString());
+        parts.add(yamlProcessFile.getClass().getName());
+        try (Stream<Path> files = Files.walk(uri)) {
+            for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                parts.add(uri.relativize(file) + ":" + Files.size(file) + ":" + Files.getLastModifiedTime(file));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Couldn't calculate the fingerprint of " + uri, e);
+            return null;
+        }
+        return Fingerprint.of(parts.toArray(new String[0]));
+    }
+
+    @Override
+    public String source() {
+        return yamlProcessFile.getClass().getName() + ":" + uri.toAbsolutePath();
+    }
+
     @Override
     public CompletableFuture<List<T>> parse() {
         CompletableFuture<List<T>> metadata = new CompletableFuture<>();
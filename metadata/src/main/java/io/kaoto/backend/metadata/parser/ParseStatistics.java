@@ -0,0 +1,68 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.micrometer.core.instrument.Metrics;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🐱class ParseStatistics
+ *
+ * Counts what was read and parsed from a catalog source and reports it,
+ * both on the log and as metrics tagged with the source.
+ */
+public final class ParseStatistics {
+
+    private final String source;
+    private final long start = System.nanoTime();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder entries = new LongAdder();
+
+    public ParseStatistics(final String source) {
+        this.source = source;
+    }
+
+    /*
+     * 🐱method read
+     * 🐱param size: long
+     *
+     * Bytes read from the source.
+     */
+    public void read(final long size) {
+        bytes.add(size);
+    }
+
+    /*
+     * 🐱method parsed
+     *
+     * One more entry of the source parsed.
+     */
+    public void parsed() {
+        entries.increment();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public long getEntries() {
+        return entries.sum();
+    }
+
+    /*
+     * 🐱method report
+     * 🐱param log: Logger
+     * 🐱param elements: int
+     *
+     * Logs and publishes the statistics, once the source is parsed.
+     */
+    public void report(final Logger log, final int elements) {
+        final var duration = Duration.ofNanos(System.nanoTime() - start);
+        log.debug("Parsed " + getEntries() + " entries (" + getBytes() + " bytes) into " + elements
+                + " elements from " + source + " in " + duration.toMillis() + "ms.");
+        Metrics.counter("kaoto.catalog.source.bytes", "source", source).increment(getBytes());
+        Metrics.counter("kaoto.catalog.source.entries", "source", source).increment(getEntries());
+        Metrics.timer("kaoto.catalog.source.parse", "source", source).record(duration);
+    }
+}
@@ -0,0 +1,26 @@
+package io.kaoto.backend.metadata.parser;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.util.Optional;
+
+/**
+ * 🐱class ParserConfig
+ *
+ * Access to the configuration from the parsers, which are not beans. When
+ * there is no configuration available, like when precompiling the catalog,
+ * nothing is configured.
+ */
+final class ParserConfig {
+
+    private ParserConfig() {
+    }
+
+    static <T> Optional<T> get(final String property, final Class<T> type) {
+        try {
+            return ConfigProvider.getConfig().getOptionalValue(property, type);
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
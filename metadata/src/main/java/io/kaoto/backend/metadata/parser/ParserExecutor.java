@@ -0,0 +1,62 @@
+package io.kaoto.backend.metadata.parser;
+
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🐱class ParserExecutor
+ *
+ * Bounded pool where the files of the catalog sources are parsed, so
+ * warming up the catalogs doesn't take over the common pool.
+ *
+ * The number of threads and the size of the queue can be configured with
+ * catalog.parser.threads and catalog.parser.queue-size. When the queue is
+ * full, whoever is reading the source parses the file itself, which also
+ * slows down the reading.
+ */
+public final class ParserExecutor {
+
+    public static final String THREADS = "catalog.parser.threads";
+    public static final String QUEUE_SIZE = "catalog.parser.queue-size";
+
+    private ParserExecutor() {
+    }
+
+    /*
+     * 🐱method get : ExecutorService
+     *
+     * Shared executor for all the parsers.
+     */
+    public static ExecutorService get() {
+        return Holder.EXECUTOR;
+    }
+
+    private static final class Holder {
+        private static final ExecutorService EXECUTOR = create();
+
+        private static ExecutorService create() {
+            final int threads = Math.max(1, ParserConfig.get(THREADS, Integer.class)
+                    .orElse(Runtime.getRuntime().availableProcessors()));
+            final int queueSize = Math.max(1, ParserConfig.get(QUEUE_SIZE, Integer.class).orElse(256));
+            Logger.getLogger(ParserExecutor.class).debug("Parsing catalogs with " + threads + " threads.");
+
+            final var counter = new AtomicInteger();
+            final var executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueSize),
+                    runnable -> {
+                        final var thread = new Thread(runnable, "kaoto-catalog-parser-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            //parsing mostly happens on warm up, don't keep the threads afterwards
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
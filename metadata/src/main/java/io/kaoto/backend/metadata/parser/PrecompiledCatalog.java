@@ -0,0 +1,195 @@
+package io.kaoto.backend.metadata.parser;
+
+import com.fasterxml.jackson.databind.JavaType;
+import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.catalog.IndexedCatalog;
+import io.kaoto.backend.model.Metadata;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 🐱class PrecompiledCatalog
+ *
+ * Elements parsed at build time from the sources bundled with the
+ * application, grouped by the source they come from. When a configured
+ * source is found here, we can skip parsing it on startup.
+ *
+ * Sources are identified by the kind of elements requested and their url.
+ */
+public final class PrecompiledCatalog<T extends Metadata> {
+
+    public static final String LOCATION = "META-INF/kaoto/catalog/";
+    public static final String EXTENSION = ".catalog";
+
+    private static final Logger LOG = Logger.getLogger(PrecompiledCatalog.class);
+
+    private final Map<String, List<T>> sources;
+
+    private PrecompiledCatalog(final Map<String, List<T>> sources) {
+        this.sources = Collections.unmodifiableMap(sources);
+    }
+
+    /*
+     * 🐱method empty : PrecompiledCatalog
+     *
+     * Catalog without any precompiled source.
+     */
+    public static <T extends Metadata> PrecompiledCatalog<T> empty() {
+        return new PrecompiledCatalog<>(Collections.emptyMap());
+    }
+
+    /*
+     * 🐱method load : PrecompiledCatalog
+     * 🐱param type: Class
+     *
+     * Loads the precompiled catalog for this type of metadata bundled with
+     * the application, if any.
+     */
+    public static <T extends Metadata> PrecompiledCatalog<T> load(final Class<T> type) {
+        return load(type, PrecompiledCatalog.class.getClassLoader());
+    }
+
+    /*
+     * 🐱method load : PrecompiledCatalog
+     * 🐱param type: Class
+     * 🐱param classLoader: ClassLoader
+     *
+     * Loads the precompiled catalog for this type of metadata from the
+     * given class loader, if any.
+     */
+    public static <T extends Metadata> PrecompiledCatalog<T> load(final Class<T> type,
+                                                                  final ClassLoader classLoader) {
+        final var time = System.currentTimeMillis();
+        try (InputStream is = classLoader.getResourceAsStream(resource(type))) {
+            if (is == null) {
+                LOG.debug("There is no precompiled catalog of " + type.getSimpleName());
+                return empty();
+            }
+            final Map<String, List<T>> sources = SnapshotParseCatalog.MAPPER.readerFor(mapType(type))
+                    .readValue(is);
+            LOG.debug("Loaded " + sources.size() + " precompiled sources of " + type.getSimpleName()
+                    + " in " + (System.currentTimeMillis() - time) + "ms.");
+            return new PrecompiledCatalog<>(sources);
+        } catch (IOException e) {
+            LOG.warn("Ignoring unreadable precompiled catalog of " + type.getSimpleName(), e);
+        }
+        return empty();
+    }
+
+    /*
+     * 🐱method write
+     * 🐱param directory: Path
+     * 🐱param type: Class
+     * 🐱param sources: Map[String, List]
+     *
+     * Stores the elements of each source, as returned by key, in the
+     * directory that will be the root of the classpath.
+     */
+    public static <T extends Metadata> Path write(final Path directory, final Class<T> type,
+                                                  final Map<String, List<T>> sources) throws IOException {
+        final var file = directory.resolve(resource(type));
+        Files.createDirectories(file.getParent());
+        SnapshotParseCatalog.MAPPER.writerFor(mapType(type)).writeValue(file.toFile(), sources);
+        return file;
+    }
+
+    /*
+     * 🐱method key : String
+     * 🐱param kind: String
+     * 🐱param url: String
+     *
+     * Identifier of a source on the precompiled catalog.
+     */
+    public static String key(final String kind, final String url) {
+        return IndexedCatalog.key(String.valueOf(kind).toLowerCase(Locale.ROOT), url);
+    }
+
+    /*
+     * 🐱method resource : String
+     * 🐱param type: Class
+     *
+     * Location on the classpath of the precompiled catalog for this type.
+     */
+    public static String resource(final Class<? extends Metadata> type) {
+        return LOCATION + type.getSimpleName().toLowerCase(Locale.ROOT) + EXTENSION;
+    }
+
+    /*
+     * 🐱method getParser : ParseCatalog
+     * 🐱param kind: String
+     * 🐱param url: String
+     *
+     * Parser that returns the precompiled elements of the source, or null if
+     * the source was not precompiled.
+     */
+    public ParseCatalog<T> getParser(final String kind, final String url) {
+        final var elements = sources.get(key(kind, url));
+        if (elements == null) {
+            return null;
+        }
+        return new PrecompiledParseCatalog<>(key(kind, url), elements);
+    }
+
+    /*
+     * 🐱method isPrecompiled : boolean
+     * 🐱param parser: ParseCatalog
+     *
+     * Is this parser returning precompiled elements?
+     */
+    public static boolean isPrecompiled(final ParseCatalog<?> parser) {
+        return parser instanceof PrecompiledParseCatalog;
+    }
+
+    public boolean isEmpty() {
+        return sources.isEmpty();
+    }
+
+    private static JavaType mapType(final Class<? extends Metadata> type) {
+        final var typeFactory = SnapshotParseCatalog.MAPPER.getTypeFactory();
+        return typeFactory.constructMapType(Map.class, typeFactory.constructType(String.class),
+                typeFactory.constructCollectionType(List.class, type));
+    }
+
+    /*
+     * Returns the already parsed elements.
+     */
+    private static final class PrecompiledParseCatalog<T extends Metadata> implements ParseCatalog<T> {
+        private final String key;
+        private final List<T> elements;
+
+        private PrecompiledParseCatalog(final String key, final List<T> elements) {
+            this.key = key;
+            this.elements = elements;
+        }
+
+        @Override
+        public CompletableFuture<List<T>> parse() {
+            return CompletableFuture.completedFuture(elements);
+        }
+
+        @Override
+        public void setFileVisitor(final ProcessFile<T> fileVisitor) {
+            //Already parsed, nothing to visit
+        }
+
+        @Override
+        public String source() {
+            return PrecompiledCatalog.class.getName() + ":" + key;
+        }
+
+        @Override
+        public String fingerprint() {
+            //the content can't change without building a new application
+            return source();
+        }
+    }
+}
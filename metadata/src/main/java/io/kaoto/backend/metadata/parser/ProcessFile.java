@@ -30,13 +30,7 @@ public abstract class ProcessFile<T extends Metadata> implements FileVisitor<Pat
     @Override
     public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
         final var name = dir.toFile().getName();
-        if (name.equalsIgnoreCase(".git")
-                || name.equalsIgnoreCase(".github")
-                || name.equalsIgnoreCase("docs")
-                || name.equalsIgnoreCase("library")
-                || name.equalsIgnoreCase("script")
-                || name.equalsIgnoreCase("templates")
-                || name.equalsIgnoreCase("test")) {
+        if (isExcludedDirectory(name)) {
             return FileVisitResult.SKIP_SUBTREE;
         }
 
@@ -70,6 +64,22 @@ public abstract class ProcessFile<T extends Metadata> implements FileVisitor<Pat
 
     abstract boolean isDesiredType(String filename);
 
+    /*
+     * 🐱method isExcludedDirectory : boolean
+     * 🐱param name: String
+     *
+     * Directories that never contain elements for the catalog.
+     */
+    public boolean isExcludedDirectory(final String name) {
+        return name.equalsIgnoreCase(".git")
+                || name.equalsIgnoreCase(".github")
+                || name.equalsIgnoreCase("docs")
+                || name.equalsIgnoreCase("library")
+                || name.equalsIgnoreCase("script")
+                || name.equalsIgnoreCase("templates")
+                || name.equalsIgnoreCase("test");
+    }
+
     public List<T> parseFile(File f) {
         try (FileReader fr = new FileReader(f)) {
             return parseInputStream(fr);
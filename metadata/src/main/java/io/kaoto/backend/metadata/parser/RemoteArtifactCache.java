@@ -0,0 +1,353 @@
+package io.kaoto.backend.metadata.parser;
+
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 🐱class RemoteArtifactCache
+ *
+ * Local copy of the remote artifacts used as catalog sources. Artifacts are
+ * stored by the digest of their content and revalidated with the server
+ * using ETag and Last-Modified, so they are only downloaded again when they
+ * change. Interrupted downloads are resumed with range requests.
+ *
+ * Downloads of different artifacts run at the same time, while those
+ * asking for an artifact already being fetched wait for that same fetch.
+ * Once the artifacts take more than catalog.download.max-size bytes, the
+ * least recently used ones are removed.
+ *
+ * The directory can be configured with catalog.download.directory.
+ */
+public class RemoteArtifactCache {
+
+    public static final String DIRECTORY = "catalog.download.directory";
+    public static final String MAX_SIZE = "catalog.download.max-size";
+    public static final long DEFAULT_MAX_SIZE = 512L * 1024 * 1024;
+
+    private static final Logger LOG = Logger.getLogger(RemoteArtifactCache.class);
+    private static final String ARTIFACT = ".artifact";
+    private static final String METADATA = ".properties";
+    private static final String PART = ".part";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "last-modified";
+    private static final String DIGEST = "digest";
+    private static final String PART_ETAG = "part.etag";
+    private static final String PART_LAST_MODIFIED = "part.last-modified";
+
+    private final Path directory;
+    private final long maxSize;
+    private final Map<String, CompletableFuture<Artifact>> fetching = new ConcurrentHashMap<>();
+    //artifacts may be shared by several sources, they are only moved and removed holding this
+    private final Object storing = new Object();
+
+    public RemoteArtifactCache(final Path directory) {
+        this(directory, DEFAULT_MAX_SIZE);
+    }
+
+    public RemoteArtifactCache(final Path directory, final long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /*
+     * 🐱method getDefault : RemoteArtifactCache
+     *
+     * Cache on the configured directory, shared by all the catalogs.
+     */
+    public static RemoteArtifactCache getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /*
+     * 🐱method fetch : Artifact
+     * 🐱param url: String
+     *
+     * Returns the local copy of the artifact, after checking with the server
+     * that it is still valid. If the server can't be reached, the last copy
+     * we have is returned.
+     */
+    public Artifact fetch(final String url) throws IOException {
+        final var key = Fingerprint.of(url);
+        final var mine = new CompletableFuture<Artifact>();
+        final var running = fetching.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            mine.complete(fetch(url, key));
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+        } finally {
+            fetching.remove(key, mine);
+        }
+        return await(mine);
+    }
+
+    private static Artifact await(final CompletableFuture<Artifact> fetch) throws IOException {
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Artifact fetch(final String url, final String key) throws IOException {
+        Files.createDirectories(directory);
+        final var metadataFile = directory.resolve(key + METADATA);
+        final var partFile = directory.resolve(key + PART);
+        final var metadata = load(metadataFile);
+        final var cached = cached(metadata);
+
+        final var connection = (HttpURLConnection) new URL(url).openConnection();
+        final boolean resuming = Files.isRegularFile(partFile) && Files.size(partFile) > 0
+                && validator(metadata, PART_ETAG, PART_LAST_MODIFIED) != null;
+        if (resuming) {
+            connection.setRequestProperty("Range", "bytes=" + Files.size(partFile) + "-");
+            connection.setRequestProperty("If-Range", validator(metadata, PART_ETAG, PART_LAST_MODIFIED));
+        } else if (cached != null) {
+            setIfPresent(connection, "If-None-Match", metadata.getProperty(ETAG));
+            setIfPresent(connection, "If-Modified-Since", metadata.getProperty(LAST_MODIFIED));
+        }
+
+        final int status;
+        try {
+            status = connection.getResponseCode();
+        } catch (IOException e) {
+            if (cached != null) {
+                LOG.warn("Couldn't check " + url + ", using the last downloaded copy.", e);
+                return used(cached);
+            }
+            throw e;
+        }
+
+        try {
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+                LOG.trace(url + " didn't change.");
+                return used(cached);
+            }
+            if (status == HttpURLConnection.HTTP_PARTIAL && resuming
+                    && isContinuation(connection, Files.size(partFile))) {
+                LOG.debug("Resuming download of " + url + " from byte " + Files.size(partFile));
+                download(connection, partFile, metadataFile, metadata, true);
+            } else if (status == HttpURLConnection.HTTP_OK) {
+                download(connection, partFile, metadataFile, metadata, false);
+            } else if (status == HttpURLConnection.HTTP_PARTIAL) {
+                //not what we asked for, start again next time
+                Files.deleteIfExists(partFile);
+                throw new IOException("Unexpected range received downloading " + url);
+            } else if (cached != null) {
+                LOG.warn("Unexpected response " + status + " from " + url + ", using the last downloaded copy.");
+                return used(cached);
+            } else {
+                throw new IOException("Unexpected response " + status + " downloading " + url);
+            }
+        } finally {
+            connection.disconnect();
+        }
+
+        return store(partFile, metadataFile, metadata, cached);
+    }
+
+    private Artifact cached(final Properties metadata) {
+        final var digest = metadata.getProperty(DIGEST);
+        if (digest == null) {
+            return null;
+        }
+        final var file = directory.resolve(digest + ARTIFACT);
+        return Files.isRegularFile(file) ? new Artifact(file, digest, false) : null;
+    }
+
+    private void download(final HttpURLConnection connection, final Path partFile, final Path metadataFile,
+                          final Properties metadata, final boolean append) throws IOException {
+        //keep what identifies this version, so we can resume the download if it gets interrupted
+        setOrRemove(metadata, PART_ETAG, connection.getHeaderField("ETag"));
+        setOrRemove(metadata, PART_LAST_MODIFIED, connection.getHeaderField("Last-Modified"));
+        save(metadataFile, metadata);
+
+        try (InputStream is = connection.getInputStream();
+             OutputStream os = append
+                     ? Files.newOutputStream(partFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                     : Files.newOutputStream(partFile)) {
+            is.transferTo(os);
+        }
+    }
+
+    private Artifact store(final Path partFile, final Path metadataFile, final Properties metadata,
+                           final Artifact previous) throws IOException {
+        final String digest;
+        try (InputStream is = Files.newInputStream(partFile)) {
+            digest = Fingerprint.of(is);
+        }
+        final var file = directory.resolve(digest + ARTIFACT);
+
+        synchronized (storing) {
+            Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            setOrRemove(metadata, ETAG, metadata.getProperty(PART_ETAG));
+            setOrRemove(metadata, LAST_MODIFIED, metadata.getProperty(PART_LAST_MODIFIED));
+            metadata.setProperty(DIGEST, digest);
+            metadata.remove(PART_ETAG);
+            metadata.remove(PART_LAST_MODIFIED);
+            save(metadataFile, metadata);
+
+            if (previous != null && !previous.digest().equals(digest)) {
+                removeIfUnused(previous);
+            }
+            evict(file);
+        }
+        return new Artifact(file, digest, previous == null || !previous.digest().equals(digest));
+    }
+
+    /*
+     * The last time an artifact was used is the last time it was modified.
+     */
+    private Artifact used(final Artifact artifact) {
+        try {
+            Files.setLastModifiedTime(artifact.file(), FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            LOG.trace("Couldn't mark " + artifact.file() + " as used.", e);
+        }
+        return artifact;
+    }
+
+    /*
+     * Removes the least recently used artifacts until they fit on the max
+     * size. The one just stored is kept even if it doesn't fit on its own.
+     * Their sources download them again the next time they are fetched.
+     */
+    private void evict(final Path keep) throws IOException {
+        final List<Path> artifacts;
+        try (Stream<Path> files = Files.list(directory)) {
+            artifacts = files.filter(f -> f.getFileName().toString().endsWith(ARTIFACT)).toList();
+        }
+        final Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        long size = 0;
+        for (Path artifact : artifacts) {
+            final var attrs = Files.readAttributes(artifact, BasicFileAttributes.class);
+            attributes.put(artifact, attrs);
+            size += attrs.size();
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        final var oldest = artifacts.stream()
+                .filter(artifact -> !artifact.equals(keep))
+                .sorted(Comparator.comparing(artifact -> attributes.get(artifact).lastModifiedTime()))
+                .iterator();
+        while (size > maxSize && oldest.hasNext()) {
+            final var artifact = oldest.next();
+            Files.deleteIfExists(artifact);
+            size -= attributes.get(artifact).size();
+            LOG.debug("Removed " + artifact + ", the downloads took more than " + maxSize + " bytes.");
+        }
+    }
+
+    /*
+     * Different sources may point to the same content, only remove it if no
+     * one else uses it.
+     */
+    private void removeIfUnused(final Artifact artifact) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            final var used = files.filter(f -> f.getFileName().toString().endsWith(METADATA))
+                    .map(this::load)
+                    .anyMatch(m -> artifact.digest().equals(m.getProperty(DIGEST)));
+            if (!used) {
+                Files.deleteIfExists(artifact.file());
+            }
+        }
+    }
+
+    private static boolean isContinuation(final HttpURLConnection connection, final long size) {
+        //Content-Range: bytes start-end/total
+        final var range = connection.getHeaderField("Content-Range");
+        return range != null && range.startsWith("bytes " + size + "-");
+    }
+
+    private static String validator(final Properties metadata, final String etag, final String lastModified) {
+        return metadata.getProperty(etag, metadata.getProperty(lastModified));
+    }
+
+    private static void setIfPresent(final HttpURLConnection connection, final String header, final String value) {
+        if (value != null) {
+            connection.setRequestProperty(header, value);
+        }
+    }
+
+    private static void setOrRemove(final Properties metadata, final String key, final String value) {
+        if (value != null) {
+            metadata.setProperty(key, value);
+        } else {
+            metadata.remove(key);
+        }
+    }
+
+    private Properties load(final Path file) {
+        final var properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                LOG.debug("Ignoring unreadable download metadata " + file, e);
+            }
+        }
+        return properties;
+    }
+
+    private void save(final Path file, final Properties properties) throws IOException {
+        final var tmp = Files.createTempFile(directory, "download-", ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * 🐱miniclass Artifact (RemoteArtifactCache)
+     *
+     * Local copy of a remote artifact, the digest of its content and if it
+     * changed since the last time we checked.
+     */
+    public record Artifact(Path file, String digest, boolean modified) {
+    }
+
+    private static final class Holder {
+        private static final RemoteArtifactCache DEFAULT = new RemoteArtifactCache(directory(),
+                ParserConfig.get(MAX_SIZE, Long.class).orElse(DEFAULT_MAX_SIZE));
+
+        private static Path directory() {
+            return ParserConfig.get(DIRECTORY, String.class)
+                    .map(Path::of)
+                    .orElseGet(() -> Path.of(System.getProperty("java.io.tmpdir"), "kaoto-artifacts"));
+        }
+    }
+}
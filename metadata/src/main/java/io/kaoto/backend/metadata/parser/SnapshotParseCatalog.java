@@ -0,0 +1,223 @@
+package io.kaoto.backend.metadata.parser;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.model.Metadata;
+import io.kaoto.backend.model.parameter.Parameter;
+import io.kaoto.backend.model.step.Step;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * 🐱class SnapshotParseCatalog
+ * 🐱inherits ParseCatalog
+ *
+ * Wraps another parser and keeps a binary snapshot on disk of what it
+ * parsed, identified by the fingerprint of the source. While the source
+ * doesn't change, the snapshot is loaded instead of parsing the source
+ * again.
+ *
+ * Sources without fingerprint are always parsed.
+ */
+public class SnapshotParseCatalog<T extends Metadata> implements ParseCatalog<T> {
+
+    public static final String EXTENSION = ".snapshot";
+
+    private static final Logger LOG = Logger.getLogger(SnapshotParseCatalog.class);
+
+    static final ObjectMapper MAPPER = new ObjectMapper(new SmileFactory())
+            .addMixIn(Parameter.class, ParameterMixIn.class)
+            .addMixIn(Step.class, StepMixIn.class)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final ParseCatalog<T> parser;
+    private final Class<T> type;
+    private final Path directory;
+    private final String version;
+    private volatile Path snapshot;
+    private volatile String fingerprint;
+    private volatile boolean fingerprinted;
+
+    public SnapshotParseCatalog(final ParseCatalog<T> parser, final Class<T> type,
+                                final Path directory, final String version) {
+        this.parser = parser;
+        this.type = type;
+        this.directory = directory;
+        this.version = version;
+    }
+
+    @Override
+    public CompletableFuture<List<T>> parse() {
+        return CompletableFuture.supplyAsync(this::locateSnapshot)
+                .thenCompose(file -> {
+                    this.snapshot = file;
+                    //next parse has to check the source again
+                    this.fingerprinted = false;
+                    if (file != null && Files.isRegularFile(file)) {
+                        final var cached = read(file);
+                        if (cached != null) {
+                            return CompletableFuture.completedFuture(cached);
+                        }
+                    }
+                    return parser.parse().thenApply(md -> {
+                        if (file != null) {
+                            write(file, md);
+                        }
+                        return md;
+                    });
+                });
+    }
+
+    @Override
+    public void setFileVisitor(final ProcessFile<T> fileVisitor) {
+        parser.setFileVisitor(fileVisitor);
+    }
+
+    /*
+     * 🐱method fingerprint : String
+     *
+     * Fingerprint of the wrapped source. As it may be expensive, it is
+     * calculated once and reused by the next parse.
+     */
+    @Override
+    public String fingerprint() {
+        if (!fingerprinted) {
+            fingerprint = parser.fingerprint();
+            fingerprinted = true;
+        }
+        return fingerprint;
+    }
+
+    @Override
+    public String source() {
+        return parser.source();
+    }
+
+    /*
+     * 🐱method getSnapshot : Path
+     *
+     * File used as snapshot on the last parse, if any.
+     */
+    public Path getSnapshot() {
+        return snapshot;
+    }
+
+    /*
+     * 🐱method cleanUp
+     * 🐱param directory: Path
+     * 🐱param type: Class
+     * 🐱param keep: List[Path]
+     *
+     * Removes the snapshots of this type of metadata that are not in use.
+     */
+    public static void cleanUp(final Path directory, final Class<? extends Metadata> type,
+                               final Collection<Path> keep) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(f -> f.getFileName().toString().startsWith(prefix(type)))
+                    .filter(f -> f.getFileName().toString().endsWith(EXTENSION))
+                    .filter(f -> keep.stream().noneMatch(k -> k.getFileName().equals(f.getFileName())))
+                    .forEach(SnapshotParseCatalog::deleteQuietly);
+        } catch (IOException e) {
+            LOG.debug("Couldn't clean up the snapshots in " + directory, e);
+        }
+    }
+
+    private static String prefix(final Class<? extends Metadata> type) {
+        return type.getSimpleName().toLowerCase(Locale.ROOT) + "-";
+    }
+
+    private Path locateSnapshot() {
+        final var fingerprint = fingerprint();
+        if (fingerprint == null) {
+            return null;
+        }
+        return directory.resolve(prefix(type) + Fingerprint.of(version, type.getName(), fingerprint) + EXTENSION);
+    }
+
+    private List<T> read(final Path file) {
+        final var time = System.currentTimeMillis();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final List<T> md = MAPPER.readerForListOf(type).readValue(new ByteBufferBackedInputStream(buffer));
+            LOG.debug("Loaded " + md.size() + " elements from snapshot " + file + " in "
+                    + (System.currentTimeMillis() - time) + "ms.");
+            return md;
+        } catch (IOException e) {
+            LOG.warn("Ignoring unreadable catalog snapshot " + file, e);
+        }
+        return null;
+    }
+
+    private void write(final Path file, final List<T> md) {
+        Path tmp = null;
+        try {
+            Files.createDirectories(directory);
+            tmp = Files.createTempFile(directory, prefix(type), ".tmp");
+            MAPPER.writerFor(MAPPER.getTypeFactory().constructCollectionType(List.class, type))
+                    .writeValue(tmp.toFile(), md);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.debug("Stored snapshot of " + md.size() + " elements in " + file);
+        } catch (IOException e) {
+            LOG.warn("Couldn't store the catalog snapshot " + file, e);
+        } finally {
+            deleteQuietly(tmp);
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.debug("Couldn't remove " + file, e);
+        }
+    }
+
+    /*
+     * Path properties are not part of the API but we need them on the catalog.
+     */
+    @RegisterForReflection
+    abstract static class ParameterMixIn {
+        @JsonProperty
+        @JsonIgnore(false)
+        private Integer pathOrder;
+
+        @JsonProperty
+        @JsonIgnore(false)
+        private String pathSeparator;
+    }
+
+    /*
+     * The step id is a shortcut to one of the parameters, don't store it twice.
+     */
+    @RegisterForReflection
+    abstract static class StepMixIn {
+        @JsonIgnore
+        abstract String getStepId();
+
+        @JsonIgnore
+        abstract void setStepId(String stepId);
+    }
+}
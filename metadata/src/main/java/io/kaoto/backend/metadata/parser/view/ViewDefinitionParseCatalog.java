@@ -44,7 +44,12 @@ public final class ViewDefinitionParseCatalog {
 
     public static ParseCatalog<ViewDefinition> getParser(
             final String url, final String tag) {
-        ParseCatalog<ViewDefinition> parseCatalog = new GitParseCatalog<>(url, tag);
+        return getParser(url, tag, List.of());
+    }
+
+    public static ParseCatalog<ViewDefinition> getParser(
+            final String url, final String tag, final List<String> paths) {
+        ParseCatalog<ViewDefinition> parseCatalog = new GitParseCatalog<>(url, tag, paths);
         parseCatalog.setFileVisitor(new ViewDefinitionProcessFile());
         return parseCatalog;
     }
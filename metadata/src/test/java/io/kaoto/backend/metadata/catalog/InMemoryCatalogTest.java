@@ -9,6 +9,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 @QuarkusTest
 class InMemoryCatalogTest {
@@ -58,4 +59,20 @@ class InMemoryCatalogTest {
                 .allMatch(step ->
                         catalog.searchByID(step.getId()).equals(step)));
     }
+
+    @Test
+    void searchStepsByIndex() {
+        final var byKind = new InMemoryCatalog<Step>(Map.of("kind", Step::getKind));
+        final var kamelet = new Step("id-1", "name", "icon", new LinkedList<>());
+        kamelet.setKind("Kamelet");
+        kamelet.setType("START");
+        final var eip = new Step("id-2", "name", "icon", new LinkedList<>());
+        eip.setKind("EIP");
+        Assertions.assertTrue(byKind.store(List.of(kamelet, eip)));
+
+        Assertions.assertEquals(List.of(kamelet), byKind.searchByIndex("kind", "kamelet"));
+        Assertions.assertEquals(List.of(kamelet), byKind.searchByIndex(IndexedCatalog.TYPE, "start"));
+        Assertions.assertTrue(byKind.searchByIndex("kind", null).isEmpty());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> byKind.searchByIndex("other", "EIP"));
+    }
 }
@@ -0,0 +1,130 @@
+package io.kaoto.backend.metadata.catalog;
+
+import io.kaoto.backend.model.parameter.Parameter;
+import io.kaoto.backend.model.parameter.StringParameter;
+import io.kaoto.backend.model.step.Step;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+class IndexedCatalogTest {
+
+    private static final String KIND = "kind";
+    private static final String NAME_KIND = "name-kind";
+
+    private final IndexedCatalog<Step> catalog = new IndexedCatalog<>(Map.<String, Function<Step, String>>of(
+            KIND, Step::getKind,
+            NAME_KIND, step -> IndexedCatalog.key(step.getName(), step.getKind())));
+
+    @Test
+    void store() {
+        //corner cases
+        Assertions.assertFalse(catalog.store(null));
+        Assertions.assertTrue(catalog.store(Collections.emptyList()));
+        Assertions.assertTrue(catalog.getAll().isEmpty());
+    }
+
+    @Test
+    void searchByName() {
+        Assertions.assertEquals(0, catalog.searchByName("non-existent-empty-catalog").size());
+
+        Assertions.assertTrue(catalog.store(getSteps()));
+
+        Assertions.assertEquals(0, catalog.searchByName("non-existent-populated-catalog").size());
+        Assertions.assertEquals(3, catalog.searchByName("connector").size());
+        Assertions.assertEquals(3, catalog.searchByName("CONNECTOR").size());
+        Assertions.assertTrue(catalog.searchByName("connector").stream()
+                .allMatch(step -> catalog.searchByID(step.getId()).equals(step)));
+    }
+
+    @Test
+    void searchByIndex() {
+        Assertions.assertTrue(catalog.store(getSteps()));
+
+        Assertions.assertEquals(2, catalog.searchByIndex(KIND, "eip").size());
+        Assertions.assertEquals(2, catalog.searchByIndex(IndexedCatalog.TYPE, Step.START).size());
+        Assertions.assertEquals(1,
+                catalog.searchByIndex(NAME_KIND, IndexedCatalog.key("connector", "EIP")).size());
+        Assertions.assertEquals(0, catalog.searchByIndex(KIND, null).size());
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> catalog.searchByIndex("non-existent-index", "value"));
+    }
+
+    @Test
+    void storeReplacesIndexes() {
+        Assertions.assertTrue(catalog.store(getSteps()));
+
+        Step replacement = new Step("id-4", "connector", "icon", new LinkedList<>());
+        replacement.setKind("Kamelet");
+        Assertions.assertTrue(catalog.store(List.of(replacement)));
+
+        Assertions.assertEquals(4, catalog.getAll().size());
+        Assertions.assertEquals(4, catalog.searchByName("connector").size());
+        Assertions.assertEquals(0, catalog.searchByName("another-one").size());
+        Assertions.assertEquals(1, catalog.searchByIndex(KIND, "EIP").size());
+
+        catalog.clear();
+        Assertions.assertTrue(catalog.getAll().isEmpty());
+        Assertions.assertEquals(0, catalog.searchByName("connector").size());
+    }
+
+    @Test
+    void updateAppliesDelta() {
+        Assertions.assertTrue(catalog.store(getSteps()));
+        final var generation = catalog.getGeneration();
+
+        Assertions.assertFalse(catalog.update(Collections.emptyList(), Collections.emptyList()));
+        Assertions.assertEquals(generation, catalog.getGeneration());
+
+        Step replacement = new Step("id-3", "replaced", "icon", new LinkedList<>());
+        Step added = new Step("id-5", "added", "icon", new LinkedList<>());
+        Assertions.assertTrue(catalog.update(List.of("id-1", "id-4"), List.of(replacement, added)));
+        Assertions.assertEquals(generation + 1, catalog.getGeneration());
+
+        Assertions.assertEquals(3, catalog.getAll().size());
+        Assertions.assertNull(catalog.searchByID("id-1"));
+        Assertions.assertNull(catalog.searchByID("id-4"));
+        Assertions.assertEquals("replaced", catalog.searchByID("id-3").getName());
+        Assertions.assertEquals(1, catalog.searchByName("connector").size());
+        Assertions.assertEquals(1, catalog.searchByName("added").size());
+        Assertions.assertEquals(0, catalog.searchByName("another-one").size());
+        Assertions.assertEquals(0, catalog.searchByIndex(KIND, "EIP").size());
+    }
+
+    @Test
+    void readsDoNotModifyCatalog() {
+        final var parameter = new StringParameter("param", "Param", "description", "default", null);
+        final var parameters = new LinkedList<Parameter>();
+        parameters.add(parameter);
+        Assertions.assertTrue(catalog.store(List.of(new Step("id-1", "connector", "icon", parameters))));
+
+        Step step = catalog.searchByID("id-1");
+        Assertions.assertEquals(catalog.searchByID("id-1"), step);
+        step.getParameters().getFirst().setValue("modified");
+
+        Assertions.assertNotSame(parameter, step.getParameters().getFirst());
+        Assertions.assertNull(parameter.getValue());
+        Assertions.assertNull(catalog.searchByID("id-1").getParameters().getFirst().getValue());
+        Assertions.assertNotEquals(catalog.searchByID("id-1"), step);
+    }
+
+    private List<Step> getSteps() {
+        List<Step> steps = new ArrayList<>();
+        final var connector = "connector";
+        steps.add(new Step("id-1", connector, "icon", new LinkedList<>()));
+        steps.add(new Step("id-2", connector, "icon", new LinkedList<>()));
+        steps.add(new Step("id-3", connector, "icon", new LinkedList<>()));
+        steps.add(new Step("id-4", "another-one", "icon", new LinkedList<>()));
+        steps.get(0).setType(Step.START);
+        steps.get(1).setType(Step.START);
+        steps.get(2).setKind("EIP");
+        steps.get(3).setKind("EIP");
+        return steps;
+    }
+}
@@ -0,0 +1,176 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.model.step.Step;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class GitParseCatalogTest {
+
+    private Path remote;
+    private Path mirrors;
+    private Git git;
+
+    @BeforeEach
+    void createRepository() throws IOException, GitAPIException {
+        remote = Files.createTempDirectory("kaoto-git-remote-");
+        mirrors = Files.createTempDirectory("kaoto-git-mirrors-");
+        git = Git.init().setDirectory(remote.toFile()).setInitialBranch("main").call();
+        write("kamelets/a.yaml", "a");
+        write("kamelets/b.yaml", "b");
+        write("docs/c.yaml", "c");
+        write("other/d.yaml", "d");
+        commit("first");
+    }
+
+    @AfterEach
+    void removeRepository() throws IOException {
+        git.close();
+        FileUtils.deleteDirectory(remote.toFile());
+        FileUtils.deleteDirectory(mirrors.toFile());
+    }
+
+    @Test
+    void parseOnlyChanges() throws IOException, GitAPIException {
+        final var processFile = new CountingProcessFile();
+
+        Assertions.assertEquals(List.of("a", "b", "d"), ids(parse(processFile, List.of())));
+        Assertions.assertEquals(3, processFile.getCount());
+        try (var dirs = Files.list(mirrors)) {
+            //only the last commit was fetched
+            Assertions.assertTrue(dirs.allMatch(dir -> Files.exists(dir.resolve("shallow"))));
+        }
+
+        //nothing changed, nothing to parse
+        Assertions.assertEquals(List.of("a", "b", "d"), ids(parse(processFile, List.of())));
+        Assertions.assertEquals(3, processFile.getCount());
+
+        write("kamelets/a.yaml", "a2");
+        write("kamelets/e.yaml", "e");
+        Files.delete(remote.resolve("other/d.yaml"));
+        commit("second");
+
+        Assertions.assertEquals(List.of("a2", "b", "e"), ids(parse(processFile, List.of())));
+        Assertions.assertEquals(5, processFile.getCount());
+    }
+
+    @Test
+    void sparsePaths() throws IOException, GitAPIException {
+        final var processFile = new CountingProcessFile();
+        Assertions.assertEquals(List.of("a", "b"), ids(parse(processFile, List.of("/kamelets/"))));
+
+        write("other/d.yaml", "d2");
+        commit("outside the paths");
+        Assertions.assertEquals(List.of("a", "b"), ids(parse(processFile, List.of("kamelets"))));
+        Assertions.assertEquals(2, processFile.getCount());
+    }
+
+    @Test
+    void pruneOldCommits() throws IOException, GitAPIException {
+        final var processFile = new CountingProcessFile();
+        final ObjectId first = git.log().call().iterator().next().copy();
+        parse(processFile, List.of());
+        Assertions.assertTrue(mirrorHas(first));
+
+        write("kamelets/a.yaml", "a2");
+        final var second = commit("second");
+        parse(processFile, List.of());
+        Assertions.assertFalse(mirrorHas(first));
+        Assertions.assertTrue(mirrorHas(second));
+
+        //the commit we parsed is kept to compare with the next one
+        write("kamelets/a.yaml", "a3");
+        commit("third");
+        Assertions.assertEquals(List.of("a3", "b", "d"), ids(parse(processFile, List.of())));
+        Assertions.assertEquals(5, processFile.getCount());
+    }
+
+    @Test
+    void fingerprintFollowsCommits() throws IOException, GitAPIException {
+        final var parser = new GitParseCatalog<Step>(remote.toUri().toString(), "main", List.of(), mirrors, false);
+        parser.setFileVisitor(new CountingProcessFile());
+        final var fingerprint = parser.fingerprint();
+        Assertions.assertNotNull(fingerprint);
+        Assertions.assertEquals(fingerprint, parser.fingerprint());
+
+        write("kamelets/a.yaml", "a2");
+        commit("second");
+        Assertions.assertNotEquals(fingerprint, parser.fingerprint());
+    }
+
+    private List<Step> parse(final CountingProcessFile processFile, final List<String> paths) {
+        final var parser = new GitParseCatalog<Step>(remote.toUri().toString(), "main", paths, mirrors, false);
+        parser.setFileVisitor(processFile);
+        return parser.parse().join();
+    }
+
+    private boolean mirrorHas(final ObjectId commit) throws IOException {
+        try (var dirs = Files.list(mirrors)) {
+            for (var dir : dirs.toList()) {
+                try (var repository = new FileRepositoryBuilder().setGitDir(dir.toFile()).build()) {
+                    if (repository.getObjectDatabase().has(commit)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<String> ids(final List<Step> steps) {
+        return steps.stream().map(Step::getId).sorted().toList();
+    }
+
+    private void write(final String path, final String content) throws IOException {
+        final var file = remote.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private RevCommit commit(final String message) throws GitAPIException {
+        git.add().addFilepattern(".").call();
+        git.add().addFilepattern(".").setUpdate(true).call();
+        return git.commit().setMessage(message).setAuthor("test", "test@kaoto.io").setCommitter("test", "test@kaoto.io")
+                .call();
+    }
+
+    /*
+     * Each file is a step with its content as identifier.
+     */
+    private static class CountingProcessFile extends YamlProcessFile<Step> {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        protected List<Step> parseInputStream(final Reader reader) {
+            count.incrementAndGet();
+            try {
+                final var step = new Step();
+                step.setId(IOUtils.toString(reader));
+                return List.of(step);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public int getCount() {
+            return count.get();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.model.step.Step;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+class JarParseCatalogTest {
+
+    private static final int ENTRIES = 300;
+
+    private Path zip;
+
+    @BeforeEach
+    void createZip() throws IOException {
+        zip = Files.createTempFile("kaoto-jar-test-", ".zip");
+        try (var out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            for (int i = 0; i < ENTRIES; i++) {
+                out.putNextEntry(new ZipEntry("steps/step-" + i + ".yaml"));
+                out.write(("step-" + i).getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+            out.putNextEntry(new ZipEntry("README.md"));
+            out.write("not a step".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+    }
+
+    @AfterEach
+    void removeZip() throws IOException {
+        Files.deleteIfExists(zip);
+    }
+
+    @Test
+    void parseLocalFile() {
+        final var parser = new JarParseCatalog<Step>(zip.toUri().toString());
+        parser.setFileVisitor(new IdProcessFile());
+
+        final var steps = parser.parse().join();
+        Assertions.assertEquals(ENTRIES, steps.size());
+
+        steps.sort(Comparator.comparing(Step::getId));
+        Assertions.assertEquals("step-0", steps.get(0).getId());
+        Assertions.assertNotNull(parser.fingerprint());
+    }
+
+    @Test
+    void fingerprintFollowsTheFile() throws IOException {
+        final var parser = new JarParseCatalog<Step>(zip.toUri().toString());
+        parser.setFileVisitor(new IdProcessFile());
+        final var fingerprint = parser.fingerprint();
+        Assertions.assertEquals(fingerprint, parser.fingerprint());
+
+        Files.setLastModifiedTime(zip, FileTime.from(Instant.now().plusSeconds(60)));
+        Assertions.assertNotEquals(fingerprint, parser.fingerprint());
+    }
+
+    @Test
+    void missingFile() throws IOException {
+        Files.delete(zip);
+        final var parser = new JarParseCatalog<Step>(zip.toUri().toString());
+        parser.setFileVisitor(new IdProcessFile());
+
+        Assertions.assertTrue(parser.parse().join().isEmpty());
+    }
+
+    /*
+     * Each file is a step with its content as identifier.
+     */
+    private static class IdProcessFile extends YamlProcessFile<Step> {
+        @Override
+        protected List<Step> parseInputStream(final Reader reader) {
+            try {
+                final var step = new Step();
+                step.setId(IOUtils.toString(reader));
+                return List.of(step);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
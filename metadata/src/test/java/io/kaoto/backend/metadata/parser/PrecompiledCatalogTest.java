@@ -0,0 +1,72 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.model.parameter.Parameter;
+import io.kaoto.backend.model.parameter.StringParameter;
+import io.kaoto.backend.model.step.Step;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+class PrecompiledCatalogTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("kaoto-precompiled-test-");
+    }
+
+    @AfterEach
+    void removeDirectory() throws IOException {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Test
+    void loadPrecompiled() throws IOException {
+        final var parameter = new StringParameter("param", "Param", "description", "default", null);
+        parameter.setPath(true);
+        parameter.setPathOrder(1);
+        final var parameters = new LinkedList<Parameter>();
+        parameters.add(parameter);
+        final var step = new Step("id-1", "connector", "icon", parameters);
+        step.setKind("Kamelet");
+
+        PrecompiledCatalog.write(directory, Step.class,
+                Map.of(PrecompiledCatalog.key("Kamelet", "resource://kamelets.jar"), List.of(step)));
+
+        try (var classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+            final var precompiled = PrecompiledCatalog.load(Step.class, classLoader);
+            Assertions.assertFalse(precompiled.isEmpty());
+            Assertions.assertNull(precompiled.getParser("Kamelet", "resource://other.jar"));
+            Assertions.assertNull(precompiled.getParser("all", "resource://kamelets.jar"));
+
+            final var parser = precompiled.getParser("kamelet", "resource://kamelets.jar");
+            Assertions.assertNotNull(parser);
+            final var steps = parser.parse().join();
+            Assertions.assertEquals(1, steps.size());
+            Assertions.assertEquals("id-1", steps.get(0).getId());
+            Assertions.assertEquals("Kamelet", steps.get(0).getKind());
+            Assertions.assertEquals(1, steps.get(0).getParameters().get(0).getPathOrder());
+        }
+    }
+
+    @Test
+    void noPrecompiledCatalog() throws IOException {
+        try (var classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+            final var precompiled = PrecompiledCatalog.load(Step.class, classLoader);
+            Assertions.assertTrue(precompiled.isEmpty());
+            Assertions.assertNull(precompiled.getParser("all", "resource://kamelets.jar"));
+        }
+    }
+}
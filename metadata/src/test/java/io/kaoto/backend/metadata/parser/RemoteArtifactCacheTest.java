@@ -0,0 +1,207 @@
+package io.kaoto.backend.metadata.parser;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.kaoto.backend.model.step.Step;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+class RemoteArtifactCacheTest {
+
+    private Path directory;
+    private HttpServer server;
+    private String url;
+    private volatile byte[] content;
+    private volatile String etag;
+    private volatile CountDownLatch slow = new CountDownLatch(0);
+    private final List<Integer> responses = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void start() throws IOException {
+        directory = Files.createTempDirectory("kaoto-artifacts-test-");
+        content = zip("v1");
+        etag = "\"v1\"";
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/catalog.zip", this::serve);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/catalog.zip";
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        server.stop(0);
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Test
+    void revalidate() throws IOException {
+        final var cache = new RemoteArtifactCache(directory);
+
+        final var first = cache.fetch(url);
+        Assertions.assertTrue(first.modified());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(first.file()));
+
+        final var second = cache.fetch(url);
+        Assertions.assertFalse(second.modified());
+        Assertions.assertEquals(first.digest(), second.digest());
+        Assertions.assertEquals(List.of(200, 304), responses);
+
+        content = zip("v2");
+        etag = "\"v2\"";
+        final var third = cache.fetch(url);
+        Assertions.assertTrue(third.modified());
+        Assertions.assertNotEquals(first.digest(), third.digest());
+        Assertions.assertFalse(Files.exists(first.file()));
+    }
+
+    @Test
+    void resumeDownload() throws IOException {
+        final var cache = new RemoteArtifactCache(directory);
+        final var key = Fingerprint.of(url);
+        final var half = content.length / 2;
+        Files.write(directory.resolve(key + ".part"), Arrays.copyOf(content, half));
+        Files.writeString(directory.resolve(key + ".properties"), "part.etag=" + etag.replace("\"", "\\\"") + "\n");
+
+        final var artifact = cache.fetch(url);
+        Assertions.assertEquals(List.of(206), responses);
+        Assertions.assertArrayEquals(content, Files.readAllBytes(artifact.file()));
+        Assertions.assertFalse(Files.exists(directory.resolve(key + ".part")));
+    }
+
+    @Test
+    void sameFingerprintWhenNotModified() {
+        final var cache = new RemoteArtifactCache(directory);
+
+        final var parser = new JarParseCatalog<Step>(url, cache);
+        parser.setFileVisitor(new NameProcessFile());
+        final var fingerprint = parser.fingerprint();
+        Assertions.assertNotNull(fingerprint);
+        Assertions.assertEquals("v1", parser.parse().join().get(0).getName());
+
+        final var again = new JarParseCatalog<Step>(url, cache);
+        again.setFileVisitor(new NameProcessFile());
+        Assertions.assertEquals(fingerprint, again.fingerprint());
+        Assertions.assertEquals(List.of(200, 304), responses);
+    }
+
+    @Test
+    void downloadsDontWaitForOtherArtifacts() throws Exception {
+        final var cache = new RemoteArtifactCache(directory);
+        slow = new CountDownLatch(1);
+
+        final var first = CompletableFuture.supplyAsync(() -> fetch(cache, url + "?slow"));
+        final var second = CompletableFuture.supplyAsync(() -> fetch(cache, url + "?slow"));
+        //a different artifact is fetched while the slow one is still downloading
+        Assertions.assertNotNull(CompletableFuture.supplyAsync(() -> fetch(cache, url + "?fast"))
+                .get(10, TimeUnit.SECONDS));
+
+        slow.countDown();
+        Assertions.assertEquals(first.get(10, TimeUnit.SECONDS).file(), second.get(10, TimeUnit.SECONDS).file());
+        Assertions.assertEquals(List.of(200, 200), responses);
+    }
+
+    @Test
+    void removeLeastRecentlyUsed() throws IOException {
+        final var cache = new RemoteArtifactCache(directory, content.length + 1);
+        final var first = cache.fetch(url + "?first");
+
+        content = zip("second");
+        etag = "\"second\"";
+        final var second = cache.fetch(url + "?second");
+
+        Assertions.assertFalse(Files.exists(first.file()));
+        Assertions.assertTrue(Files.exists(second.file()));
+
+        //it is downloaded again when asked for
+        Assertions.assertTrue(Files.exists(cache.fetch(url + "?first").file()));
+    }
+
+    private static RemoteArtifactCache.Artifact fetch(final RemoteArtifactCache cache, final String url) {
+        try {
+            return cache.fetch(url);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void serve(final HttpExchange exchange) throws IOException {
+        if ("slow".equals(exchange.getRequestURI().getQuery())) {
+            try {
+                slow.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exchange.getResponseHeaders().add("ETag", etag);
+        final var range = exchange.getRequestHeaders().getFirst("Range");
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            respond(exchange, 304, null);
+        } else if (range != null && etag.equals(exchange.getRequestHeaders().getFirst("If-Range"))) {
+            final var start = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+            exchange.getResponseHeaders().add("Content-Range",
+                    "bytes " + start + "-" + (content.length - 1) + "/" + content.length);
+            respond(exchange, 206, Arrays.copyOfRange(content, start, content.length));
+        } else {
+            respond(exchange, 200, content);
+        }
+    }
+
+    private void respond(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        responses.add(status);
+        exchange.sendResponseHeaders(status, body == null ? -1 : body.length);
+        if (body != null) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    private static byte[] zip(final String name) throws IOException {
+        final var out = new ByteArrayOutputStream();
+        try (var zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("step.yaml"));
+            zip.write(name.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return out.toByteArray();
+    }
+
+    /*
+     * Each file is a step with its content as name.
+     */
+    private static class NameProcessFile extends YamlProcessFile<Step> {
+        @Override
+        protected List<Step> parseInputStream(final Reader reader) {
+            try {
+                final var step = new Step();
+                step.setName(IOUtils.toString(reader));
+                step.setId(step.getName());
+                return List.of(step);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
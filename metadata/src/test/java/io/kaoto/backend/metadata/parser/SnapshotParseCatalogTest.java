@@ -0,0 +1,130 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.model.parameter.Parameter;
+import io.kaoto.backend.model.parameter.StringParameter;
+import io.kaoto.backend.model.step.Step;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SnapshotParseCatalogTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("kaoto-snapshot-test-");
+    }
+
+    @AfterEach
+    void removeDirectory() throws IOException {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Test
+    void reuseSnapshot() {
+        final var source = new CountingParseCatalog("v1");
+
+        List<Step> parsed = new SnapshotParseCatalog<>(source, Step.class, directory, "test").parse().join();
+        Assertions.assertEquals(1, source.getCount());
+
+        final var snapshotCatalog = new SnapshotParseCatalog<>(source, Step.class, directory, "test");
+        List<Step> loaded = snapshotCatalog.parse().join();
+        Assertions.assertEquals(1, source.getCount());
+        Assertions.assertNotNull(snapshotCatalog.getSnapshot());
+        Assertions.assertTrue(Files.exists(snapshotCatalog.getSnapshot()));
+
+        Assertions.assertEquals(parsed.size(), loaded.size());
+        final var step = loaded.get(0);
+        Assertions.assertEquals("id-1", step.getId());
+        Assertions.assertEquals("connector", step.getName());
+        Assertions.assertEquals("Kamelet", step.getKind());
+        Assertions.assertEquals(Step.START, step.getType());
+        final var parameter = step.getParameters().getFirst();
+        Assertions.assertTrue(parameter instanceof StringParameter);
+        Assertions.assertEquals("param", parameter.getId());
+        Assertions.assertEquals("default", parameter.getDefaultValue());
+        Assertions.assertEquals(3, parameter.getPathOrder());
+        Assertions.assertEquals("/", parameter.getPathSeparator());
+    }
+
+    @Test
+    void changedSource() {
+        final var source = new CountingParseCatalog("v1");
+        final var snapshotCatalog = new SnapshotParseCatalog<>(source, Step.class, directory, "test");
+        snapshotCatalog.parse().join();
+        final var oldSnapshot = snapshotCatalog.getSnapshot();
+
+        source.setFingerprint("v2");
+        snapshotCatalog.parse().join();
+        Assertions.assertEquals(2, source.getCount());
+        Assertions.assertNotEquals(oldSnapshot, snapshotCatalog.getSnapshot());
+
+        SnapshotParseCatalog.cleanUp(directory, Step.class, List.of(snapshotCatalog.getSnapshot()));
+        Assertions.assertFalse(Files.exists(oldSnapshot));
+        Assertions.assertTrue(Files.exists(snapshotCatalog.getSnapshot()));
+    }
+
+    @Test
+    void noFingerprint() {
+        final var source = new CountingParseCatalog(null);
+        final var snapshotCatalog = new SnapshotParseCatalog<>(source, Step.class, directory, "test");
+        snapshotCatalog.parse().join();
+        snapshotCatalog.parse().join();
+        Assertions.assertEquals(2, source.getCount());
+        Assertions.assertNull(snapshotCatalog.getSnapshot());
+    }
+
+    private static class CountingParseCatalog implements ParseCatalog<Step> {
+        private final AtomicInteger count = new AtomicInteger();
+        private String fingerprint;
+
+        CountingParseCatalog(final String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public CompletableFuture<List<Step>> parse() {
+            count.incrementAndGet();
+            final var parameter = new StringParameter("param", "Param", "description", "default", null);
+            parameter.setPath(true);
+            parameter.setPathOrder(3);
+            parameter.setPathSeparator("/");
+            final var parameters = new LinkedList<Parameter>();
+            parameters.add(parameter);
+            final var step = new Step("id-1", "connector", "icon", parameters);
+            step.setKind("Kamelet");
+            step.setType(Step.START);
+            return CompletableFuture.completedFuture(List.of(step));
+        }
+
+        @Override
+        public void setFileVisitor(final ProcessFile<Step> fileVisitor) {
+            //not needed
+        }
+
+        @Override
+        public String fingerprint() {
+            return fingerprint;
+        }
+
+        public void setFingerprint(final String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public int getCount() {
+            return count.get();
+        }
+    }
+}
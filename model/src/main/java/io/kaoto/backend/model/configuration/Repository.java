@@ -21,6 +21,7 @@ public interface Repository {
         String url();
         @WithDefault("main")
         String tag();
+        Optional<List<String>> paths();
         @WithDefault("false")
         @WithName("if-no-cluster")
         boolean ifNoCluster();
@@ -0,0 +1,15 @@
+package io.kaoto.backend.model.deployment;
+
+/**
+ * 🐱miniclass DeploymentEvent (Deployment)
+ *
+ * 🐱section
+ * Something that happened to a deployment: it appeared, its status changed
+ * or it was removed. On removal, the deployment is how it was last seen.
+ */
+public record DeploymentEvent(Action action, Deployment deployment) {
+
+    public enum Action {
+        ADDED, MODIFIED, DELETED
+    }
+}
@@ -0,0 +1,13 @@
+package io.kaoto.backend.model.deployment;
+
+import java.util.List;
+
+/**
+ * 🐱miniclass DeploymentPage (Deployment)
+ *
+ * 🐱section
+ * Some of the deployments on a namespace. Next is the token to ask for the
+ * following page, null if this is the last one.
+ */
+public record DeploymentPage(List<Deployment> items, String next) {
+}
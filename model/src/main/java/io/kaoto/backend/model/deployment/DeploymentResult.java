@@ -0,0 +1,26 @@
+package io.kaoto.backend.model.deployment;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 🐱miniclass DeploymentResult (Deployment)
+ *
+ * 🐱section
+ * What happened to one of the resources of a bulk operation. The index is
+ * its position on the request, as results are sent as soon as they are
+ * ready and don't keep the order of the request.
+ *
+ * There is only an error if the outcome is FAILED.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DeploymentResult(long index, String name, String type, Outcome outcome, String error) {
+
+    public enum Outcome {
+        CREATED, UPDATED, DELETED, FAILED
+    }
+
+    public static DeploymentResult failed(final long index, final String name, final String type,
+                                          final String error) {
+        return new DeploymentResult(index, name, type, Outcome.FAILED, error);
+    }
+}
@@ -47,6 +47,9 @@ public class Step extends Metadata {
     @JsonProperty("UUID")
     private String uuid;
 
+    //When true, parameters are still shared with the step this was cloned from
+    private boolean sharedParameters = false;
+
     public Step() {
         setType(MIDDLE);
         setKind("UNKNOWN");
@@ -94,14 +97,27 @@ public class Step extends Metadata {
      * 🐱property parameters: List[Parameter]
      *
      * List of configurable parameters for this step.
+     * If this step is a clone, the parameters are copied the first time
+     * they are accessed, so the original step is never modified.
      *
      */
     public LinkedList<Parameter> getParameters() {
+        if (sharedParameters) {
+            final var copy = new LinkedList<Parameter>();
+            if (parameters != null) {
+                for (var p : parameters) {
+                    copy.add(p.clone());
+                }
+            }
+            this.parameters = copy;
+            this.sharedParameters = false;
+        }
         return parameters;
     }
 
     public void setParameters(final LinkedList<Parameter> parameters) {
         this.parameters = parameters;
+        this.sharedParameters = false;
     }
 
     /*
@@ -229,7 +245,11 @@ public class Step extends Metadata {
      *
      */
     public String getStepId() {
-        var p = this.getParameters().stream()
+        if (this.parameters == null) {
+            return null;
+        }
+        //Reading doesn't need the copy of shared parameters
+        var p = this.parameters.stream()
                 .filter(parameter -> parameter.getId().equalsIgnoreCase("step-id-kaoto"))
                 .findAny();
         if (p.isPresent() && p.get().getValue() != null) {
@@ -279,7 +299,7 @@ public class Step extends Metadata {
             return false;
         }
 
-        if (!Objects.equals(this.getParameters(), step.getParameters())) {
+        if (!Objects.equals(this.parameters, step.parameters)) {
             return false;
         }
         return getTitle() != null
@@ -296,17 +316,14 @@ public class Step extends Metadata {
         return result;
     }
 
+    /*
+     * Cloning is cheap: parameters are only copied if the clone accesses them.
+     * Summary listings never do, so they don't allocate any parameter.
+     */
     @Override
     public Step clone() {
         Step step = (Step) super.clone();
-
-        step.setParameters(new LinkedList<>());
-        if (parameters != null) {
-            for (var p : parameters) {
-                step.getParameters().add(p.clone());
-            }
-        }
-
+        step.sharedParameters = true;
         return step;
     }
 
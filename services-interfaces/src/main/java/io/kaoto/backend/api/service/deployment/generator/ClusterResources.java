@@ -0,0 +1,47 @@
+package io.kaoto.backend.api.service.deployment.generator;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.CustomResource;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 🐱miniclass ClusterResources (DeploymentGeneratorService)
+ *
+ * 🐱section
+ * What is running on the cluster, as seen by the backend. Reads may be
+ * served from a local copy kept in sync with the cluster, so they are
+ * cheap, but they may be slightly behind it.
+ */
+public interface ClusterResources {
+
+    /*
+     * 🐱method list: CustomResource[]
+     * 🐱param type: Class
+     * 🐱param namespace: String
+     *
+     * All the resources of this type in the namespace.
+     */
+    <T extends CustomResource> Collection<T> list(Class<T> type, String namespace);
+
+    /*
+     * 🐱method get: CustomResource
+     * 🐱param type: Class
+     * 🐱param namespace: String
+     * 🐱param name: String
+     *
+     * The resource of this type with this name in the namespace, if any.
+     */
+    <T extends CustomResource> Optional<T> get(Class<T> type, String namespace, String name);
+
+    /*
+     * 🐱method pods: Pod[]
+     * 🐱param namespace: String
+     * 🐱param integration: String
+     *
+     * Pods running the integration with this name, the ones labeled with
+     * camel.apache.org/integration.
+     */
+    Collection<Pod> pods(String namespace, String integration);
+}
@@ -8,9 +8,11 @@ import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.extension.annotations.WithSpan;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -58,6 +60,19 @@ public interface DeploymentGeneratorService {
     String parse(List<Step> steps, Map<String, Object> metadata,
                  List<Parameter> parameters);
 
+    /*
+     * 🐱method parse: String
+     * 🐱param generation: Generation
+     *
+     * Same as parse, when other generators are working on the same steps.
+     * Generators that build something from the catalog should share it
+     * through the generation.
+     */
+    @WithSpan
+    default String parse(Generation generation) {
+        return parse(generation.getSteps(), generation.getMetadata(), generation.getParameters());
+    }
+
     /*
      * 🐱method parse: CustomResource
      * 🐱param input: String
@@ -76,6 +91,18 @@ public interface DeploymentGeneratorService {
     @WithSpan
     boolean appliesTo(List<Step> steps);
 
+    /*
+     * 🐱method appliesTo: boolean
+     * 🐱param generation: Generation
+     *
+     * Check if the parser applies to the steps of the generation. By default,
+     * if it supports all the kinds of steps found.
+     */
+    @WithSpan
+    default boolean appliesTo(Generation generation) {
+        return getKinds().containsAll(generation.getKinds());
+    }
+
     /*
      * 🐱method getStatus: CustomResource
      *
@@ -122,6 +149,83 @@ public interface DeploymentGeneratorService {
     @WithSpan
     Pod getPod(String namespace, String name, KubernetesClient kclient);
 
+    /*
+     * 🐱method getResources: Deployment[]
+     * 🐱param namespace: String
+     * 🐱param resources: ClusterResources
+     *
+     * Same as getResources, reading what is on the cluster from the given
+     * resources instead of asking the cluster for it.
+     */
+    @WithSpan
+    default Collection<? extends Deployment> getResources(String namespace, ClusterResources resources) {
+        List<Deployment> res = new ArrayList<>();
+        for (var type : supportedCustomResources()) {
+            for (CustomResource cr : resources.list(type, namespace)) {
+                if (isDeployment(cr)) {
+                    res.add(new Deployment(cr, getStatus(cr)));
+                }
+            }
+        }
+        return res;
+    }
+
+    /*
+     * 🐱method getResource: Deployment
+     * 🐱param namespace: String
+     * 🐱param name: String
+     * 🐱param resources: ClusterResources
+     *
+     * The resource with this name, if it is one of ours.
+     */
+    @WithSpan
+    default Optional<Deployment> getResource(String namespace, String name, ClusterResources resources) {
+        for (var type : supportedCustomResources()) {
+            final Optional<? extends CustomResource> cr = resources.get(type, namespace, name);
+            if (cr.isPresent() && isDeployment(cr.get())) {
+                return Optional.of(new Deployment(cr.get(), getStatus(cr.get())));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /*
+     * 🐱method getPod: Pod
+     * 🐱param namespace: String
+     * 🐱param name: String
+     * 🐱param resources: ClusterResources
+     *
+     * Same as getPod, reading what is on the cluster from the given
+     * resources. By default, the running pod labeled with the name of the
+     * resource.
+     */
+    @WithSpan
+    default Pod getPod(String namespace, String name, ClusterResources resources) {
+        if (getResource(namespace, name, resources).isEmpty()) {
+            return null;
+        }
+        for (Pod pod : resources.pods(namespace, name)) {
+            final var status = pod.getStatus();
+            if (status != null && status.getPhase() != null
+                    && (status.getPhase().equalsIgnoreCase("Running")
+                    || status.getPhase().equalsIgnoreCase("Succeeded"))) {
+                return pod;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * 🐱method isDeployment: boolean
+     * 🐱param cr: CustomResource
+     *
+     * Whether this resource, of one of the supported types, is listed as a
+     * deployment. Resources created by other resources shouldn't be.
+     */
+    default boolean isDeployment(CustomResource cr) {
+        return true;
+    }
+
     /*
      * 🐱method filterCatalog: List[Step]
      * 🐱param previousStep: String
@@ -0,0 +1,96 @@
+package io.kaoto.backend.api.service.deployment.generator;
+
+import io.kaoto.backend.model.parameter.Parameter;
+import io.kaoto.backend.model.step.Step;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 🐱miniclass Generation (DeploymentGeneratorService)
+ *
+ * 🐱section
+ * Steps that several generators turn into their own DSL at the same time.
+ *
+ * What is derived from the steps is computed once and shared by all the
+ * generators: the kinds of the steps, to know which generators apply, and
+ * anything a generator stores with shared(), like the flow built from the
+ * catalog. Steps must not be modified while generating.
+ */
+public final class Generation {
+
+    private final List<Step> steps;
+    private final Map<String, Object> metadata;
+    private final List<Parameter> parameters;
+    private final Set<String> kinds;
+    private final Map<String, CompletableFuture<Object>> shared = new ConcurrentHashMap<>();
+
+    public Generation(final List<Step> steps, final Map<String, Object> metadata,
+                      final List<Parameter> parameters) {
+        this.steps = steps;
+        this.metadata = metadata;
+        this.parameters = parameters;
+
+        final Set<String> found = new HashSet<>();
+        for (Step step : steps) {
+            if (step != null) {
+                found.add(step.getKind() == null ? null : step.getKind().toUpperCase(Locale.ROOT));
+            }
+        }
+        this.kinds = Collections.unmodifiableSet(found);
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public Map<String, Object> getMetadata() {
+        return metadata;
+    }
+
+    public List<Parameter> getParameters() {
+        return parameters;
+    }
+
+    /*
+     * 🐱property kinds: String[]
+     *
+     * Kinds of the steps, in upper case. Null if a step has no kind.
+     */
+    public Set<String> getKinds() {
+        return kinds;
+    }
+
+    /*
+     * 🐱method shared: Object
+     * 🐱param key: String
+     * 🐱param compute: Supplier
+     *
+     * Returns what is stored with this key. The first generator asking for
+     * it computes it, the rest wait for it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T shared(final String key, final Supplier<T> compute) {
+        final var created = new CompletableFuture<Object>();
+        final var existing = shared.putIfAbsent(key, created);
+        if (existing != null) {
+            return (T) existing.join();
+        }
+        try {
+            final T value = Objects.requireNonNull(compute.get());
+            created.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.kaoto.backend.api.service.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🐱class Serialization
+ *
+ * Mappers shared by all the DSL parsers and generators. They are configured
+ * once and must not be reconfigured, so they can be used from any thread.
+ *
+ * Readers are kept by type: the first one created for a type resolves its
+ * deserializer, the next ones reuse it.
+ */
+public final class Serialization {
+
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final Map<JavaType, ObjectReader> YAML_READERS = new ConcurrentHashMap<>();
+
+    private Serialization() {
+    }
+
+    /*
+     * 🐱method yaml : ObjectMapper
+     *
+     * YAML mapper that ignores unknown properties.
+     */
+    public static ObjectMapper yaml() {
+        return YAML;
+    }
+
+    /*
+     * 🐱method json : ObjectMapper
+     *
+     * JSON mapper with the default configuration.
+     */
+    public static ObjectMapper json() {
+        return JSON;
+    }
+
+    /*
+     * 🐱method yamlReader : ObjectReader
+     * 🐱param type: Class
+     *
+     * Reader of YAML documents of the given type.
+     */
+    public static ObjectReader yamlReader(final Class<?> type) {
+        return yamlReader(YAML.constructType(type));
+    }
+
+    /*
+     * 🐱method yamlReader : ObjectReader
+     * 🐱param type: TypeReference
+     *
+     * Reader of YAML documents of the given generic type.
+     */
+    public static ObjectReader yamlReader(final TypeReference<?> type) {
+        return yamlReader(YAML.constructType(type));
+    }
+
+    private static ObjectReader yamlReader(final JavaType type) {
+        return YAML_READERS.computeIfAbsent(type, YAML::readerFor);
+    }
+
+    /*
+     * 🐱method readYaml : Object
+     * 🐱param input: String
+     * 🐱param type: Class
+     *
+     * Reads the YAML document as the given type.
+     */
+    public static <T> T readYaml(final String input, final Class<T> type) throws JsonProcessingException {
+        return yamlReader(type).readValue(input);
+    }
+
+    /*
+     * 🐱method readYaml : Object
+     * 🐱param tree: JsonNode
+     * 🐱param type: Class
+     *
+     * Converts a YAML document already read as a tree to the given type.
+     */
+    public static <T> T readYaml(final JsonNode tree, final Class<T> type) throws IOException {
+        return yamlReader(type).readValue(tree);
+    }
+
+    /*
+     * 🐱method readYamlTree : JsonNode
+     * 🐱param input: String
+     *
+     * Reads the YAML document as a generic tree, so we can find out what it
+     * is before converting it to the right type. Empty documents are a
+     * missing node.
+     */
+    public static JsonNode readYamlTree(final String input) throws JsonProcessingException {
+        final var tree = YAML.readTree(input);
+        return tree == null ? MissingNode.getInstance() : tree;
+    }
+}
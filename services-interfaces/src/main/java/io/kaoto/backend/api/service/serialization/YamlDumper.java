@@ -0,0 +1,129 @@
+package io.kaoto.backend.api.service.serialization;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 🐱class YamlDumper
+ *
+ * Writes objects as YAML with a given Representer. Neither Yaml nor the
+ * representers are thread safe and representers are expensive to build,
+ * so each dump borrows an instance from a pool and gives it back after.
+ *
+ * The pool creates new instances when all of them are in use, but it
+ * only keeps as many as processors available.
+ *
+ * Objects can also be represented as plain maps and lists, to hand them
+ * to something that isn't going to read YAML anyway.
+ */
+public class YamlDumper {
+
+    //what reading the dumped YAML back would construct anyway
+    private static final Set<Tag> PLAIN_SCALARS =
+            Set.of(Tag.STR, Tag.INT, Tag.FLOAT, Tag.BOOL, Tag.NULL, Tag.TIMESTAMP, Tag.BINARY);
+
+    private final Supplier<? extends Representer> representer;
+    private final BlockingQueue<Yaml> pool;
+
+    public YamlDumper(final Supplier<? extends Representer> representer) {
+        this(representer, Runtime.getRuntime().availableProcessors());
+    }
+
+    public YamlDumper(final Supplier<? extends Representer> representer, final int size) {
+        this.representer = representer;
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, size));
+    }
+
+    /*
+     * 🐱method dumpAsMap : String
+     * 🐱param data: Object
+     *
+     * YAML of the object, represented as a map.
+     */
+    public String dumpAsMap(final Object data) {
+        return use(yaml -> yaml.dumpAsMap(data));
+    }
+
+    /*
+     * 🐱method dumpAs : String
+     * 🐱param data: Object
+     * 🐱param rootTag: Tag
+     * 🐱param flowStyle: FlowStyle
+     *
+     * YAML of the object, with the given root tag and flow style.
+     */
+    public String dumpAs(final Object data, final Tag rootTag, final DumperOptions.FlowStyle flowStyle) {
+        return use(yaml -> yaml.dumpAs(data, rootTag, flowStyle));
+    }
+
+    /*
+     * 🐱method asTree : Object
+     * 🐱param data: Object
+     *
+     * The object as maps, lists and scalars, the same we would get dumping
+     * it as a map and reading the YAML back, but without writing it.
+     */
+    public Object asTree(final Object data) {
+        final var node = use(yaml -> yaml.represent(data));
+        untag(node, Collections.newSetFromMap(new IdentityHashMap<>()));
+        return new TreeConstructor().construct(node);
+    }
+
+    /*
+     * Class tags are dropped, so nothing but plain maps and lists are built.
+     */
+    private static void untag(final Node node, final Set<Node> seen) {
+        if (!seen.add(node)) {
+            return;
+        }
+        if (node instanceof MappingNode mapping) {
+            mapping.setTag(Tag.MAP);
+            for (NodeTuple tuple : mapping.getValue()) {
+                untag(tuple.getKeyNode(), seen);
+                untag(tuple.getValueNode(), seen);
+            }
+        } else if (node instanceof SequenceNode sequence) {
+            sequence.setTag(Tag.SEQ);
+            sequence.getValue().forEach(item -> untag(item, seen));
+        } else if (!PLAIN_SCALARS.contains(node.getTag())) {
+            node.setTag(Tag.STR);
+        }
+    }
+
+    private <R> R use(final Function<Yaml, R> dumper) {
+        var yaml = pool.poll();
+        if (yaml == null) {
+            yaml = new Yaml(representer.get());
+        }
+        //a failed dump may leave state on the representer, such an instance throws here and is never given back
+        final var res = dumper.apply(yaml);
+        pool.offer(yaml);
+        return res;
+    }
+
+    private static final class TreeConstructor extends SafeConstructor {
+        TreeConstructor() {
+            super(new LoaderOptions());
+        }
+
+        Object construct(final Node node) {
+            return constructDocument(node);
+        }
+    }
+}
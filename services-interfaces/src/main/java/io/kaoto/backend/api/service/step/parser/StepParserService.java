@@ -1,11 +1,21 @@
 package io.kaoto.backend.api.service.step.parser;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.kaoto.backend.api.service.serialization.Serialization;
 import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.extension.annotations.WithSpan;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 🐱class StepParserService
@@ -49,15 +59,115 @@ public interface StepParserService<T extends Step> {
     @WithSpan
     boolean appliesTo(String yaml);
 
+    /*
+     * 🐱method parse: ParseResult
+     * 🐱param yaml: JsonNode
+     *
+     * Same as deepParse, but with the YAML already read as a tree, so it
+     * doesn't have to be read again. Parsers should override it, by default
+     * the tree is written back to YAML.
+     */
+    @WithSpan
+    default ParseResult<T> deepParse(JsonNode yaml) {
+        return deepParse(write(yaml));
+    }
+
+    /*
+     * 🐱method appliesTo: boolean
+     * 🐱param yaml: JsonNode
+     *
+     * Check if this parser knows how to parse the provided tree. It should
+     * only look at its shape (apiVersion, kind,...) without converting it.
+     */
+    @WithSpan
+    default boolean appliesTo(JsonNode yaml) {
+        return appliesTo(write(yaml));
+    }
+
+    /*
+     * 🐱method streamParse: Stream[ParseResult]
+     * 🐱param yaml: Reader
+     *
+     * Parses the YAML lazily, one result for each flow found. Flows are only
+     * read when the stream asks for them, so stopping early (findFirst,
+     * limit,...) doesn't read the rest of the document and memory doesn't
+     * grow with the number of flows.
+     *
+     * Closing the stream closes the reader. By default, the whole document
+     * is read as one single flow.
+     */
+    @WithSpan
+    default Stream<ParseResult<T>> streamParse(Reader yaml) {
+        try {
+            final var input = new StringWriter();
+            yaml.transferTo(input);
+            return Stream.of(deepParse(input.toString())).onClose(() -> close(yaml));
+        } catch (IOException e) {
+            close(yaml);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * 🐱method deepParse: Optional[ParseResult]
+     * 🐱param yaml: Reader
+     * 🐱param id: String
+     *
+     * Parses only the flow with the given identifier, if there is one.
+     */
+    @WithSpan
+    default Optional<ParseResult<T>> deepParse(Reader yaml, String id) {
+        try (var flows = streamParse(yaml)) {
+            return flows.filter(flow -> Objects.equals(id, flow.getId())).findFirst();
+        }
+    }
+
+    /*
+     * 🐱method forBatch: StepParserService
+     *
+     * Parser to use on a batch of documents, possibly parsed concurrently.
+     * Parsers that look up steps on the catalog may return an instance that
+     * shares those lookups among all the documents of the batch.
+     */
+    default StepParserService<T> forBatch() {
+        return this;
+    }
+
+    private static void close(final Reader yaml) {
+        try {
+            yaml.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String write(final JsonNode yaml) {
+        try {
+            return Serialization.yaml().writeValueAsString(yaml);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Wrong format provided.", e);
+        }
+    }
+
     /**
      * 🐱miniclass ParseResult (StepParserService)
      *
+     * The id identifies the flow, on languages that may have more than one.
      */
     class ParseResult<T> {
+        private String id;
         private List<T> steps;
         private List<Parameter> parameters;
         private Map<String, Object> metadata;
 
+        public String getId() {
+            return id;
+        }
+
+        public void setId(final String id) {
+            this.id = id;
+        }
+
         public List<T> getSteps() {
             return steps;
         }
@@ -88,6 +198,8 @@ public interface StepParserService<T extends Step> {
             if (this == o) return true;
             if (!(o instanceof ParseResult<?> that)) return false;
 
+            if (getId() != null ? !getId().equals(that.getId()) : that.getId() != null) return false;
+
             if (getSteps() != null ? !getSteps().equals(that.getSteps()) : that.getSteps() != null) return false;
             if (getParameters() != null ? !getParameters().equals(that.getParameters()) : that.getParameters() != null)
                 return false;
@@ -96,7 +208,8 @@ public interface StepParserService<T extends Step> {
 
         @Override
         public int hashCode() {
-            int result = getSteps() != null ? getSteps().hashCode() : 0;
+            int result = getId() != null ? getId().hashCode() : 0;
+            result = 31 * result + (getSteps() != null ? getSteps().hashCode() : 0);
             result = 31 * result + (getParameters() != null ? getParameters().hashCode() : 0);
             result = 31 * result + (getMetadata() != null ? getMetadata().hashCode() : 0);
             return result;